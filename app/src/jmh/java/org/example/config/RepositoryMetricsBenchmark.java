@@ -0,0 +1,109 @@
+package org.example.config;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aopalliance.intercept.MethodInvocation;
+import org.example.repository.AccountTransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost that {@link RepositoryMetrics} adds to a repository call, on the happy path with its meters
+ * already registered: the call itself is a stub returning 20 rows, so {@code instrumented} minus
+ * {@code direct} is the overhead. Recorded into the Prometheus registry the application exports,
+ * outside a request and from inside a mapped request.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=RepositoryMetricsBenchmark
+ * ./gradlew jmh -Pjmh.includes=RepositoryMetricsBenchmark -Pjmh.threads=8
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RepositoryMetricsBenchmark {
+
+    private static final List<Object> ROWS = List.copyOf(Collections.nCopies(20, new Object()));
+
+    @Param({"false", "true"})
+    public boolean inRequest;
+
+    private RepositoryMetrics.Interceptor interceptor;
+    private MethodInvocation invocation;
+
+    @Setup
+    public void setUp() throws Exception {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        interceptor = new RepositoryMetrics.Interceptor("AccountTransactionRepository", () -> registry);
+        invocation = new StubInvocation(AccountTransactionRepository.class.getMethod("findAll"));
+        if (inRequest) {
+            // Only getAttribute is called on the request
+            HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletRequest.class},
+                    (proxy, method, args) -> "getAttribute".equals(method.getName())
+                            && HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE.equals(args[0])
+                            ? "/api/accounts/{accountId}/transactions/last" : null);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Object direct() throws Throwable {
+        return invocation.proceed();
+    }
+
+    @Benchmark
+    public Object instrumented() throws Throwable {
+        return interceptor.invoke(invocation);
+    }
+
+    private record StubInvocation(Method method) implements MethodInvocation {
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object proceed() {
+            return ROWS;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+    }
+}
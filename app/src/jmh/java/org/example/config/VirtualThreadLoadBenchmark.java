@@ -0,0 +1,176 @@
+package org.example.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of 1,000 concurrent slow requests against an embedded Tomcat, run on the platform-thread
+ * pool Tomcat uses by default and on virtual threads as with the {@code virtual-threads} profile.
+ * <p>
+ * Every request takes a connection from a pool sized like the Hikari pool and holds it for the
+ * duration of a slow query, as a blocking {@code JpaRepository} call does. With {@code pinned} the
+ * query runs inside a block synchronized on the connection, like the socket reads of MySQL
+ * Connector/J 8, which keeps the virtual thread on its carrier. Throughput is reported in requests
+ * per second: platform threads stop at 200 concurrent queries, virtual threads at the pool size,
+ * and pinned virtual threads at the number of carrier threads.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=VirtualThreadLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+
+    // Tomcat's default server.tomcat.threads.max
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String requestThreads;
+
+    /**
+     * Size of the connection pool, the limit on concurrent queries.
+     */
+    @Param({"100", "500"})
+    public int poolSize;
+
+    @Param({"false", "true"})
+    public boolean pinned;
+
+    @Param({"50"})
+    public long queryMillis;
+
+    private Tomcat tomcat;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LifecycleException {
+        BlockingQueue<Object> connections = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            connections.add(new Object());
+        }
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("tomcat").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        connector.setProperty("maxConnections", String.valueOf(CONCURRENT_REQUESTS * 2));
+        connector.setProperty("acceptCount", String.valueOf(CONCURRENT_REQUESTS));
+        if ("virtual".equals(requestThreads)) {
+            connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+        } else {
+            connector.setProperty("maxThreads", String.valueOf(PLATFORM_THREADS));
+        }
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "slowQuery", new SlowQueryServlet(connections, pinned, queryMillis));
+        context.addServletMappingDecoded("/slow", "slowQuery");
+        tomcat.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + connector.getLocalPort() + "/slow")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws LifecycleException {
+        clientExecutor.close();
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int concurrentSlowRequests() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int succeeded = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == HttpServletResponse.SC_OK) {
+                succeeded++;
+            }
+        }
+        if (succeeded != CONCURRENT_REQUESTS) {
+            throw new IllegalStateException((CONCURRENT_REQUESTS - succeeded) + " requests failed");
+        }
+        return succeeded;
+    }
+
+    /**
+     * Holds a pooled connection while a slow query runs.
+     */
+    private static final class SlowQueryServlet extends HttpServlet {
+        private final BlockingQueue<Object> connections;
+        private final boolean pinned;
+        private final long queryMillis;
+
+        private SlowQueryServlet(BlockingQueue<Object> connections, boolean pinned, long queryMillis) {
+            this.connections = connections;
+            this.pinned = pinned;
+            this.queryMillis = queryMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            try {
+                Object connection = connections.take();
+                try {
+                    if (pinned) {
+                        synchronized (connection) {
+                            Thread.sleep(queryMillis);
+                        }
+                    } else {
+                        Thread.sleep(queryMillis);
+                    }
+                } finally {
+                    connections.put(connection);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+            resp.setStatus(HttpServletResponse.SC_OK);
+        }
+    }
+}
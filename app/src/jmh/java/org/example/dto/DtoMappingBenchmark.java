@@ -0,0 +1,100 @@
+package org.example.dto;
+
+import org.example.model.Account;
+import org.example.model.AccountTransaction;
+import org.example.model.CreditCard;
+import org.example.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning lists of loaded entities into the DTOs the read endpoints return: the field copy
+ * of {@code new CreditCardDTO(CreditCard)} and of the transaction DTO constructors the JPQL
+ * projections call once per row.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=DtoMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    /**
+     * Number of entities mapped per call: a page, a long history and an export-sized range.
+     */
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private List<Transaction> transactions;
+    private List<AccountTransaction> accountTransactions;
+    private List<CreditCard> creditCards;
+
+    @Setup
+    public void setUp() {
+        CreditCard card = new CreditCard("4321", "John Doe", "12/30", "Credit", true,
+                new BigDecimal("5000.00"), new BigDecimal("3500.00"), "user123");
+        Account account = new Account("1234567890", "Current", new BigDecimal("5000.00"), "user123",
+                LocalDateTime.of(2022, 1, 1, 9, 0));
+        transactions = new ArrayList<>(size);
+        accountTransactions = new ArrayList<>(size);
+        creditCards = new ArrayList<>(size);
+        long start = new Date().getTime();
+        for (int i = 0; i < size; i++) {
+            Date date = new Date(start - i * 60_000L);
+            String type = i % 3 == 0 ? "CREDIT" : "CHARGE";
+            BigDecimal amount = BigDecimal.valueOf(1000 + i, 2);
+
+            Transaction transaction = new Transaction(date, amount, "Purchase " + i, type, card);
+            transaction.setId((long) i);
+            transactions.add(transaction);
+
+            AccountTransaction accountTransaction = new AccountTransaction(date, amount, "Movement " + i, type, account);
+            accountTransaction.setId((long) i);
+            accountTransaction.setRunningBalance(amount.multiply(BigDecimal.TEN));
+            accountTransactions.add(accountTransaction);
+
+            CreditCard creditCard = new CreditCard(String.format("%04d", i % 10_000), "Owner " + i, "12/30", "Credit",
+                    true, new BigDecimal("5000.00"), amount, "user" + i);
+            creditCard.setId((long) i);
+            creditCards.add(creditCard);
+        }
+    }
+
+    @Benchmark
+    public List<TransactionDTO> mapTransactions() {
+        List<TransactionDTO> dtos = new ArrayList<>(transactions.size());
+        for (Transaction t : transactions) {
+            dtos.add(new TransactionDTO(t.getId(), t.getTransactionDate(), t.getAmount(), t.getDescription(),
+                    t.getType()));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<AccountTransactionDTO> mapAccountTransactions() {
+        List<AccountTransactionDTO> dtos = new ArrayList<>(accountTransactions.size());
+        for (AccountTransaction t : accountTransactions) {
+            dtos.add(new AccountTransactionDTO(t.getId(), t.getTransactionDate(), t.getAmount(), t.getDescription(),
+                    t.getType(), t.getRunningBalance()));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<CreditCardDTO> mapCreditCards() {
+        return creditCards.stream().map(CreditCardDTO::new).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.io.CountingOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing lists of transaction DTOs as a JSON response body, with the object mapper set up
+ * as Spring Boot sets it up: dates as ISO-8601 strings and {@code indented} following
+ * {@code spring.jackson.serialization.indent_output}. The same transactions are also written with an
+ * {@link Instant} in place of the {@link Date} field, to compare the two date serializers.
+ * <p>
+ * Output goes to a byte-counting sink, as it goes to the response stream, so the cost of building a
+ * {@code byte[]} is not measured.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=JsonSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    /**
+     * Number of transactions per response: a page, a long history and an export-sized range.
+     */
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean indented;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionDTO> transactions;
+    private List<AccountTransactionDTO> accountTransactions;
+    private List<InstantTransactionDTO> instantTransactions;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .indentOutput(indented)
+                .build();
+        transactions = new ArrayList<>(size);
+        accountTransactions = new ArrayList<>(size);
+        instantTransactions = new ArrayList<>(size);
+        long start = new Date().getTime();
+        for (int i = 0; i < size; i++) {
+            Date date = new Date(start - i * 60_000L);
+            String type = i % 3 == 0 ? "CREDIT" : "CHARGE";
+            BigDecimal amount = BigDecimal.valueOf(1000 + i, 2);
+            transactions.add(new TransactionDTO((long) i, date, amount, "Purchase " + i, type));
+            accountTransactions.add(new AccountTransactionDTO((long) i, date, amount, "Movement " + i, type,
+                    amount.multiply(BigDecimal.TEN)));
+            instantTransactions.add(new InstantTransactionDTO((long) i, date.toInstant(), amount, "Purchase " + i, type));
+        }
+    }
+
+    @Benchmark
+    public long writeTransactions() throws IOException {
+        return write(transactions);
+    }
+
+    @Benchmark
+    public long writeAccountTransactions() throws IOException {
+        return write(accountTransactions);
+    }
+
+    @Benchmark
+    public long writeTransactionsWithInstant() throws IOException {
+        return write(instantTransactions);
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    private long write(Object body) throws IOException {
+        CountingOutputStream out = new CountingOutputStream(OutputStream.nullOutputStream());
+        objectMapper.writeValue(out, body);
+        return out.getCount();
+    }
+
+    /**
+     * {@link TransactionDTO} with a {@code java.time} date.
+     */
+    public record InstantTransactionDTO(Long id, Instant date, BigDecimal amount, String description, String type) {
+    }
+}
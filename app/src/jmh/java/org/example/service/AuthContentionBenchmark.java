@@ -0,0 +1,78 @@
+package org.example.service;
+
+import org.example.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of login, validate and logout under contention, with the shared and the striped
+ * token ID generator. A login storm after an incident is every client issuing a token at once,
+ * so the shared {@code SecureRandom} is measured against per-thread stripes of DRBG instances.
+ * <p>
+ * The thread count is set per run; compare 1 to 64 threads, and add the GC profiler for the bytes
+ * allocated per operation ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * for t in 1 4 16 64; do
+ *   ./gradlew jmh -Pjmh.includes=AuthContentionBenchmark -Pjmh.threads=$t -Pjmh.profilers=gc \
+ *       -Pjmh.resultsFile=build/results/jmh/auth-$t.json
+ * done
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthContentionBenchmark {
+
+    private static final int ISSUED_TOKENS = 10_000;
+
+    @Param({TokenIdGenerator.SHARED, TokenIdGenerator.STRIPED})
+    public String tokenIdRandom;
+
+    private AuthService authService;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+        authService = new AuthService(secret, Duration.ofHours(1), TokenIdGenerator.forName(tokenIdRandom),
+                Clock.systemUTC());
+        tokens = new String[ISSUED_TOKENS];
+        for (int i = 0; i < ISSUED_TOKENS; i++) {
+            tokens[i] = authService.generateToken(new User("user" + i, "password", String.valueOf(10_000_000 + i)));
+        }
+    }
+
+    /**
+     * The work of {@code POST /api/auth/login}: check the credentials and issue a token.
+     */
+    @Benchmark
+    public String login() {
+        User user = authService.authenticate("15.413.217-1", "AiPuedaexeeb0ei");
+        return authService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validate() {
+        return authService.validateToken(tokens[ThreadLocalRandom.current().nextInt(ISSUED_TOKENS)]);
+    }
+
+    /**
+     * Revokes one of a fixed set of tokens, so after warmup most calls overwrite a deny-list entry.
+     */
+    @Benchmark
+    public void logout() {
+        authService.invalidateToken(tokens[ThreadLocalRandom.current().nextInt(ISSUED_TOKENS)]);
+    }
+}
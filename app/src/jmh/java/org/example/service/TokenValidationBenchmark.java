@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.example.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating a signed token against the previous map lookup of a random UUID token,
+ * the work done on every {@code /api/auth/validate} call.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TokenValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class TokenValidationBenchmark {
+
+    /**
+     * Number of live tokens; the map lookup gets slower as the session map grows, the signed token does not.
+     */
+    @Param({"1000", "100000"})
+    public int activeTokens;
+
+    private AuthService authService;
+    private String[] signedTokens;
+    private Map<String, String> sessionMap;
+    private String[] sessionTokens;
+
+    @Setup
+    public void setUp() {
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+        authService = new AuthService(secret, Duration.ofHours(1));
+        signedTokens = new String[activeTokens];
+        sessionMap = new ConcurrentHashMap<>();
+        sessionTokens = new String[activeTokens];
+        for (int i = 0; i < activeTokens; i++) {
+            String ownerId = String.valueOf(10_000_000 + i);
+            signedTokens[i] = authService.generateToken(new User("user" + i, "password", ownerId));
+            sessionTokens[i] = UUID.randomUUID().toString();
+            sessionMap.put(sessionTokens[i], ownerId);
+        }
+    }
+
+    @Benchmark
+    public String validateSignedToken() {
+        return authService.validateToken(signedTokens[ThreadLocalRandom.current().nextInt(activeTokens)]);
+    }
+
+    @Benchmark
+    public String lookUpSessionToken() {
+        return sessionMap.get(sessionTokens[ThreadLocalRandom.current().nextInt(activeTokens)]);
+    }
+
+    @Benchmark
+    public String rejectForgedToken() {
+        String token = signedTokens[ThreadLocalRandom.current().nextInt(activeTokens)];
+        return authService.validateToken("A" + token.substring(1));
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.loadtest;
+
+import org.example.model.User;
+import org.example.service.AuthService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the real endpoints of the running application at fixed rates and checks their latency
+ * percentiles against the stored baseline, failing if a scenario has no baseline yet.
+ * Run with {@code ./gradlew loadTest}.
+ * <p>
+ * The application starts on an embedded H2 database filled by the {@code seed} profile, so hot
+ * cards with thousands of transactions sit next to a long tail of quiet ones. Each scenario is
+ * warmed up and then measured on its own, at a rate fixed here so runs stay comparable.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"seed", "loadtest"})
+public class ApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final String USERNAME = "15.413.217-1";
+    private static final String PASSWORD = "AiPuedaexeeb0ei";
+
+    private static final String BASELINE_COMMENT = """
+            p50, p99 and p99.9 latency in milliseconds of each load-test scenario.
+            Recorded on the machine that runs ./gradlew loadTest with -PloadTest.updateBaseline;
+            only compare runs from the same machine.""";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthService authService;
+
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("loadTest.warmup", 5));
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadTest.duration", 20));
+    private final double tolerance = Double.parseDouble(System.getProperty("loadTest.tolerance", "0.25"));
+    private final double slackMillis = Double.parseDouble(System.getProperty("loadTest.slackMillis", "1"));
+
+    private final Map<String, String> tokens = new HashMap<>();
+    private List<Target> cards;
+    private List<Target> accounts;
+
+    /**
+     * A card or account with transactions, and its owner.
+     */
+    private record Target(long id, String ownerId) {
+    }
+
+    private record Scenario(String name, int ratePerSecond, Set<Integer> expectedStatuses,
+                            Function<SplittableRandom, HttpRequest> requests) {
+    }
+
+    @Before
+    public void setUp() {
+        cards = jdbcTemplate.query("SELECT c.id, c.owner_id FROM credit_cards c "
+                        + "WHERE EXISTS (SELECT 1 FROM transactions t WHERE t.credit_card_id = c.id)",
+                (rs, rowNum) -> new Target(rs.getLong(1), rs.getString(2)));
+        accounts = jdbcTemplate.query("SELECT a.id, a.owner_id FROM accounts a "
+                        + "WHERE EXISTS (SELECT 1 FROM account_transactions t WHERE t.account_id = a.id)",
+                (rs, rowNum) -> new Target(rs.getLong(1), rs.getString(2)));
+        assertFalse("the seed profile generated no card transactions", cards.isEmpty());
+        assertFalse("the seed profile generated no account transactions", accounts.isEmpty());
+        // Tokens of the seeded owners, who have no credentials to log in with
+        for (Target target : cards) {
+            tokens.computeIfAbsent(target.ownerId(), this::issueToken);
+        }
+        for (Target target : accounts) {
+            tokens.computeIfAbsent(target.ownerId(), this::issueToken);
+        }
+    }
+
+    @Test
+    public void testLatencyWithinBaseline() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        FixedRateLoad load = new FixedRateLoad(client);
+        Map<String, Double> measured = new TreeMap<>();
+        List<String> failures = new ArrayList<>();
+
+        log.info(String.format(Locale.ROOT, "%-20s %8s %10s %10s %10s %10s %7s",
+                "scenario", "requests", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+        for (Scenario scenario : scenarios()) {
+            SplittableRandom random = new SplittableRandom(42);
+            load.run(scenario.ratePerSecond(), warmup, scenario.requests(), scenario.expectedStatuses(), random);
+            FixedRateLoad.Run run = load.run(scenario.ratePerSecond(), duration, scenario.requests(),
+                    scenario.expectedStatuses(), random);
+
+            Map<String, Double> percentiles = LatencyBaseline.percentiles(scenario.name(), run.latencies());
+            measured.putAll(percentiles);
+            log.info(String.format(Locale.ROOT, "%-20s %8d %10.3f %10.3f %10.3f %10.3f %7d", scenario.name(),
+                    run.latencies().getTotalCount(), percentiles.get(scenario.name() + ".p50"),
+                    percentiles.get(scenario.name() + ".p99"), percentiles.get(scenario.name() + ".p999"),
+                    run.latencies().getMaxValue() / 1000.0, run.errors()));
+            if (run.errors() > 0) {
+                failures.add(scenario.name() + ": " + run.errors() + " requests failed");
+            }
+        }
+
+        LatencyBaseline.write(Path.of(System.getProperty("loadTest.resultsFile", "build/results/load-test/latency.properties")),
+                BASELINE_COMMENT, measured);
+        Path baselineFile = Path.of(System.getProperty("loadTest.baselineFile", "src/loadTest/latency-baseline.properties"));
+        if (Boolean.getBoolean("loadTest.updateBaseline")) {
+            LatencyBaseline.write(baselineFile, BASELINE_COMMENT, measured);
+            log.info("Recorded a new latency baseline in {}", baselineFile);
+        } else {
+            failures.addAll(LatencyBaseline.regressions(LatencyBaseline.read(baselineFile), measured, tolerance,
+                    slackMillis));
+        }
+        assertTrue("Load test failed:\n" + String.join("\n", failures), failures.isEmpty());
+    }
+
+    private List<Scenario> scenarios() {
+        String startDate = LocalDate.now().minusMonths(3).toString();
+        String endDate = LocalDate.now().toString();
+        List<String> issuedTokens = new ArrayList<>(tokens.values());
+        return List.of(
+                new Scenario("login", 200, Set.of(200), random -> HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build()),
+                new Scenario("validate", 500, Set.of(200), random -> HttpRequest.newBuilder(uri("/api/auth/validate?token="
+                                + URLEncoder.encode(pick(random, issuedTokens), StandardCharsets.UTF_8)))
+                        .build()),
+                new Scenario("account-last-n", 200, Set.of(200), random -> {
+                    Target account = pick(random, accounts);
+                    return authorized(account.ownerId(), "/api/accounts/" + account.id() + "/transactions/last?count=20");
+                }),
+                // A quiet card can have nothing in the range
+                new Scenario("card-date-range", 100, Set.of(200, 404), random -> {
+                    Target card = pick(random, cards);
+                    return authorized(card.ownerId(), "/api/transactions/client/" + card.ownerId() + "/card/"
+                            + card.id() + "/daterange?startDate=" + startDate + "&endDate=" + endDate);
+                }),
+                new Scenario("client-transactions", 20, Set.of(200), random -> {
+                    Target card = pick(random, cards);
+                    return authorized(card.ownerId(), "/api/transactions/client/" + card.ownerId());
+                }));
+    }
+
+    private HttpRequest authorized(String ownerId, String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + tokens.get(ownerId)).build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String issueToken(String ownerId) {
+        return authService.generateToken(new User("load-test", "", ownerId));
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
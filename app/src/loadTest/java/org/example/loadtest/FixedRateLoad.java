@@ -0,0 +1,87 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Sends requests at a fixed rate, open loop: each request goes out at its scheduled time whether or
+ * not the earlier ones have been answered, as independent clients would send them. Latency is
+ * measured from the scheduled time, not from the actual send, so a stall is charged to every request
+ * that queued up behind it instead of hiding them (no coordinated omission).
+ */
+final class FixedRateLoad {
+
+    // Latencies are recorded in microseconds, up to a minute, to three significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+
+    FixedRateLoad(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Latencies of one run, and the number of requests answered with an unexpected status or not at all.
+     */
+    record Run(Histogram latencies, long errors) {
+    }
+
+    /**
+     * Send requests at a fixed rate for a duration and wait for all of them to be answered.
+     *
+     * @param ratePerSecond requests sent per second
+     * @param duration how long to send for
+     * @param requests builds each request; called from the sending thread only
+     * @param expectedStatuses statuses that count as answered
+     * @param random passed to {@code requests} to choose the target of each request
+     * @return the latencies and errors of the run
+     */
+    Run run(int ratePerSecond, Duration duration, Function<SplittableRandom, HttpRequest> requests,
+            Set<Integer> expectedStatuses, SplittableRandom random) {
+        Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong errors = new AtomicLong();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long count = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        // Closing the executor waits for the requests still in flight
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long scheduled = start + i * intervalNanos;
+                HttpRequest request = requests.apply(random);
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.execute(() -> {
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (!expectedStatuses.contains(status)) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        errors.incrementAndGet();
+                    }
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                    latencies.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                });
+            }
+        }
+        return new Run(latencies, errors.get());
+    }
+}
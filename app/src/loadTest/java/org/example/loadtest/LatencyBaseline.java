@@ -0,0 +1,96 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Latency percentiles of the load-test scenarios, in milliseconds, stored as properties such as
+ * {@code account-last-n.p99=4.210}.
+ * <p>
+ * A measured percentile regresses when it exceeds its baseline by more than the relative tolerance
+ * plus a fixed slack; the slack keeps sub-millisecond percentiles from failing on scheduling noise.
+ * A measured percentile without a baseline fails too, so the gate never passes without checking.
+ */
+final class LatencyBaseline {
+
+    private static final String[] NAMES = {"p50", "p99", "p999"};
+    private static final double[] PERCENTILES = {50.0, 99.0, 99.9};
+
+    private LatencyBaseline() {
+    }
+
+    /**
+     * Get the p50, p99 and p99.9 of a run in milliseconds, keyed {@code <scenario>.<percentile>}.
+     */
+    static Map<String, Double> percentiles(String scenario, Histogram latencies) {
+        Map<String, Double> values = new TreeMap<>();
+        for (int i = 0; i < NAMES.length; i++) {
+            values.put(scenario + '.' + NAMES[i], latencies.getValueAtPercentile(PERCENTILES[i]) / 1000.0);
+        }
+        return values;
+    }
+
+    /**
+     * Read stored percentiles.
+     *
+     * @return the percentiles by key, empty if the file does not exist
+     */
+    static Map<String, Double> read(Path file) throws IOException {
+        Map<String, Double> values = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return values;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, Double.parseDouble(properties.getProperty(key)));
+        }
+        return values;
+    }
+
+    /**
+     * Write percentiles sorted by key, after a comment.
+     */
+    static void write(Path file, String comment, Map<String, Double> values) throws IOException {
+        List<String> lines = new ArrayList<>();
+        comment.lines().forEach(line -> lines.add("# " + line));
+        new TreeMap<>(values).forEach((key, value) -> lines.add(key + '=' + String.format(Locale.ROOT, "%.3f", value)));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines);
+    }
+
+    /**
+     * Compare measured percentiles with the baseline.
+     *
+     * @param tolerance allowed increase as a fraction of the baseline
+     * @param slackMillis allowed increase on top of the tolerance
+     * @return a description of each regressed or unrecorded percentile, empty if none regressed
+     */
+    static List<String> regressions(Map<String, Double> baseline, Map<String, Double> measured, double tolerance,
+                                    double slackMillis) {
+        List<String> regressions = new ArrayList<>();
+        new TreeMap<>(measured).forEach((key, value) -> {
+            Double expected = baseline.get(key);
+            if (expected == null) {
+                regressions.add(key + ": no baseline, record one with -PloadTest.updateBaseline");
+            } else if (value > expected * (1 + tolerance) + slackMillis) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.3f ms, baseline %.3f ms", key, value, expected));
+            }
+        });
+        return regressions;
+    }
+}
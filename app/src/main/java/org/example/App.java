@@ -6,10 +6,17 @@ package org.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class App {
     public static void main(String[] args) {
-        SpringApplication.run(App.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(App.class, args);
+        // The seed profile writes its data in a runner; stop once it is done if asked to
+        if (context.getEnvironment().getProperty("app.seed.exit", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
@@ -0,0 +1,176 @@
+package org.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.service.AuthService;
+import org.example.service.OwnershipService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servlet filter that authenticates API requests and checks that they only touch the caller's own data.
+ * <p>
+ * Every request under {@code /api}, except login, validation and logout themselves, must carry an
+ * {@code Authorization: Bearer <token>} header with a token issued by {@link AuthService}. The owner
+ * the token was issued to is stored in the {@link #OWNER_ID_ATTRIBUTE} request attribute.
+ * <p>
+ * If the path addresses an owner, card, account or transaction, the owner of that resource must be the
+ * caller, otherwise the request is rejected with 403. Owners are resolved through {@link OwnershipService},
+ * which caches them, so the check usually costs no query. Paths whose IDs do not parse or whose resource
+ * does not exist are passed on, so the controller answers them with its usual 400 or 404.
+ * <p>
+ * Operator paths act on every customer's data at once and are only open to the owner IDs listed in
+ * {@code app.auth.operator-owner-ids}; every other caller gets 403.
+ */
+@Component
+public class AuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the owner ID of the authenticated caller.
+     */
+    public static final String OWNER_ID_ATTRIBUTE = "org.example.authenticatedOwnerId";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Paths that address a resource, most specific first; the first match is checked.
+     * The variable names say what each segment identifies.
+     */
+    private static final List<PathPattern> OWNED_PATHS = parse(
+            "/api/cards/owner/{ownerId}",
+            "/api/accounts/owner/{ownerId}",
+            "/api/transactions/client/{ownerId}/card/{cardId}/**",
+            "/api/transactions/client/{ownerId}/**",
+            "/api/clients/{ownerId}/**",
+            "/api/transactions/card/{cardId}/**",
+            "/api/transactions/{transactionId}",
+            "/api/cards/{cardId}/**",
+            "/api/accounts/{accountId}/**");
+
+    /**
+     * Paths that are not about the caller's own data.
+     */
+    private static final List<PathPattern> OPERATOR_PATHS = parse(
+            "/api/statements/**",
+            "/api/cache/**",
+            "/api/auth/stats");
+
+    private final AuthService authService;
+    private final OwnershipService ownershipService;
+    private final Set<String> operatorOwnerIds;
+
+    @Autowired
+    public AuthenticationFilter(AuthService authService, OwnershipService ownershipService,
+                                @Value("${app.auth.operator-owner-ids:}") String[] operatorOwnerIds) {
+        this.authService = authService;
+        this.ownershipService = ownershipService;
+        this.operatorOwnerIds = Arrays.stream(operatorOwnerIds).map(String::trim).filter(id -> !id.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = pathWithinApplication(request);
+        return !path.startsWith("/api/")
+                || path.startsWith("/api/auth/") && !isOperatorPath(path)
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String ownerId = header != null && header.startsWith(BEARER_PREFIX)
+                ? authService.validateToken(header.substring(BEARER_PREFIX.length()).trim())
+                : null;
+        if (ownerId == null) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        String path = pathWithinApplication(request);
+        if (isOperatorPath(path) ? !operatorOwnerIds.contains(ownerId) : !ownsRequestedResource(ownerId, path)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        request.setAttribute(OWNER_ID_ATTRIBUTE, ownerId);
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Check every resource the path addresses against the caller.
+     *
+     * @return false if any addressed resource exists and belongs to someone else
+     */
+    private boolean ownsRequestedResource(String ownerId, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : OWNED_PATHS) {
+            PathPattern.PathMatchInfo match = pattern.matchAndExtract(container);
+            if (match == null) {
+                continue;
+            }
+            for (Map.Entry<String, String> variable : match.getUriVariables().entrySet()) {
+                Optional<String> owner = ownerOf(variable.getKey(), variable.getValue());
+                if (owner.isPresent() && !owner.get().equals(ownerId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return true;
+    }
+
+    private static boolean isOperatorPath(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        return OPERATOR_PATHS.stream().anyMatch(pattern -> pattern.matches(container));
+    }
+
+    private Optional<String> ownerOf(String variable, String value) {
+        if ("ownerId".equals(variable)) {
+            return Optional.of(value);
+        }
+        Long id;
+        try {
+            id = Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        switch (variable) {
+            case "cardId":
+                return ownershipService.getCardOwner(id);
+            case "accountId":
+                return ownershipService.getAccountOwner(id);
+            case "transactionId":
+                return ownershipService.getTransactionOwner(id);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static List<PathPattern> parse(String... patterns) {
+        return Arrays.stream(patterns).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+}
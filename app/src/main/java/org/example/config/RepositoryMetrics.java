@@ -0,0 +1,196 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Times every call of the repositories named in {@code app.metrics.repositories} and records the
+ * rows it returned, per repository method and per endpoint whose request made the call.
+ * <ul>
+ *   <li>{@code repository.invocations}: timer with a percentile histogram, tagged {@code repository},
+ *   {@code method}, {@code endpoint} and {@code outcome} ({@code success} or the exception class).</li>
+ *   <li>{@code repository.rows}: rows in the returned list, page, slice, optional or entity. Streams
+ *   are read after the call returns and counts and updates return no rows, so those are not recorded.</li>
+ * </ul>
+ * The endpoint is the request mapping pattern, such as {@code /api/accounts/{accountId}/transactions/last}.
+ * Calls made during a request before it is mapped, such as the ownership lookups of
+ * {@link AuthenticationFilter}, are tagged {@code unmapped}, and calls made outside a request thread,
+ * including the parallel queries of the client overview, {@code none}.
+ * <p>
+ * The meters of each method and endpoint are looked up once and kept, so a successful call costs two
+ * clock reads, a request attribute read, two map lookups and two histogram updates.
+ */
+@Component
+public class RepositoryMetrics implements BeanPostProcessor {
+
+    static final String INVOCATIONS = "repository.invocations";
+    static final String ROWS = "repository.rows";
+    static final String NO_ENDPOINT = "none";
+    static final String UNMAPPED_ENDPOINT = "unmapped";
+    static final String SUCCESS = "success";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Set<String> repositories;
+
+    /**
+     * The registry is resolved on the first call; taking it here would create it before the
+     * post-processors that configure it.
+     */
+    @Autowired
+    public RepositoryMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${app.metrics.repositories:TransactionRepository,AccountTransactionRepository,"
+                                     + "CreditCardRepository,AccountRepository,MessageRepository}") String[] repositories) {
+        this.meterRegistry = meterRegistry;
+        this.repositories = Arrays.stream(repositories).map(String::trim).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Add the timing interceptor to the proxy of each configured repository as it is created.
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> {
+                        String repository = information.getRepositoryInterface().getSimpleName();
+                        if (repositories.contains(repository)) {
+                            proxyFactory.addAdvice(new Interceptor(repository, meterRegistry::getObject));
+                        }
+                    }));
+        }
+        return bean;
+    }
+
+    /**
+     * Number of rows in a repository method result.
+     *
+     * @return the row count, or -1 if the result has no row count
+     */
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        } else if (result instanceof Iterable<?> || result instanceof AutoCloseable
+                || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+
+    /**
+     * Timer and row summary of one repository method called from one endpoint.
+     */
+    private record Meters(Timer timer, DistributionSummary rows) {
+    }
+
+    /**
+     * Records the calls of one repository.
+     */
+    static final class Interceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final Supplier<MeterRegistry> meterRegistry;
+        private final ConcurrentMap<Method, ConcurrentMap<String, Meters>> meters = new ConcurrentHashMap<>();
+
+        Interceptor(String repository, Supplier<MeterRegistry> meterRegistry) {
+            this.repository = repository;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String endpoint = endpoint();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                timer(invocation.getMethod(), endpoint, e.getClass().getSimpleName())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Meters methodMeters = meters(invocation.getMethod(), endpoint);
+            methodMeters.timer().record(elapsed, TimeUnit.NANOSECONDS);
+            long rows = rows(result);
+            if (rows >= 0) {
+                methodMeters.rows().record(rows);
+            }
+            return result;
+        }
+
+        private Meters meters(Method method, String endpoint) {
+            ConcurrentMap<String, Meters> byEndpoint = meters.get(method);
+            if (byEndpoint == null) {
+                byEndpoint = meters.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+            }
+            Meters endpointMeters = byEndpoint.get(endpoint);
+            if (endpointMeters == null) {
+                endpointMeters = byEndpoint.computeIfAbsent(endpoint, e -> new Meters(
+                        timer(method, e, SUCCESS),
+                        DistributionSummary.builder(ROWS)
+                                .description("Rows returned by repository calls")
+                                .baseUnit("rows")
+                                .tags(tags(method, e))
+                                .publishPercentileHistogram()
+                                .maximumExpectedValue(1_000_000.0)
+                                .register(meterRegistry.get())));
+            }
+            return endpointMeters;
+        }
+
+        private Timer timer(Method method, String endpoint, String outcome) {
+            return Timer.builder(INVOCATIONS)
+                    .description("Duration of repository calls")
+                    .tags(tags(method, endpoint))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry.get());
+        }
+
+        private Tags tags(Method method, String endpoint) {
+            return Tags.of("repository", repository, "method", method.getName(), "endpoint", endpoint);
+        }
+
+        private static String endpoint() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes == null) {
+                return NO_ENDPOINT;
+            }
+            Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                    RequestAttributes.SCOPE_REQUEST);
+            return pattern instanceof String endpoint ? endpoint : UNMAPPED_ENDPOINT;
+        }
+    }
+}
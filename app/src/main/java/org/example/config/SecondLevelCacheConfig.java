@@ -0,0 +1,83 @@
+package org.example.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Configuration of the Hibernate second-level cache.
+ * <p>
+ * Credit cards and accounts are read far more often than they change, so their entities and the
+ * results of the {@code findByOwnerId} finders are cached in bounded Caffeine caches. Writes made
+ * through JPA keep the cache consistent on their own; code that changes these tables with plain
+ * JDBC must evict the affected entities.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CREDIT_CARD_REGION = "creditCards";
+    public static final String ACCOUNT_REGION = "accounts";
+    public static final String CREDIT_CARDS_BY_OWNER_REGION = "creditCardsByOwner";
+    public static final String ACCOUNTS_BY_OWNER_REGION = "accountsByOwner";
+
+    /**
+     * Create the cache regions with their size bounds and TTLs.
+     *
+     * @return the JCache manager Hibernate keeps its regions in
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.entity.max-size:10000}") long entityMaxSize,
+            @Value("${app.cache.entity.ttl:PT10M}") Duration entityTtl,
+            @Value("${app.cache.query.max-size:2000}") long queryMaxSize,
+            @Value("${app.cache.query.ttl:PT5M}") Duration queryTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+
+        createRegion(cacheManager, CREDIT_CARD_REGION, bounded(entityMaxSize, entityTtl));
+        createRegion(cacheManager, ACCOUNT_REGION, bounded(entityMaxSize, entityTtl));
+        createRegion(cacheManager, CREDIT_CARDS_BY_OWNER_REGION, bounded(queryMaxSize, queryTtl));
+        createRegion(cacheManager, ACCOUNTS_BY_OWNER_REGION, bounded(queryMaxSize, queryTtl));
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(queryMaxSize, queryTtl));
+        // Table modification times must outlive every cached query result, so this region is never evicted
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    /**
+     * Hand the configured cache manager to Hibernate's JCache region factory.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name,
+                                     CaffeineConfiguration<Object, Object> configuration) {
+        // The provider's default manager is shared, so a region may survive from an earlier context
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread.
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block keeps its carrier thread, and
+ * there is only one carrier per core, so a handful of pinned JDBC calls stalls every request. The
+ * MySQL driver and parts of Hibernate still synchronize around blocking calls. While virtual threads
+ * are enabled this listens to the JFR {@code jdk.VirtualThreadPinned} event and counts every pinning
+ * site, attributed to the MySQL driver, Hibernate or our own code. A new site is logged with its
+ * stack trace when it is first seen, and all sites are summarized when the application stops.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Code a pinning site is attributed to, in order of precedence.
+     */
+    public enum Source {
+        MYSQL_DRIVER("com.mysql."),
+        HIBERNATE("org.hibernate."),
+        APPLICATION("org.example."),
+        OTHER("");
+
+        private final String packagePrefix;
+
+        Source(String packagePrefix) {
+            this.packagePrefix = packagePrefix;
+        }
+    }
+
+    /**
+     * How often a virtual thread was pinned at one site, and for how long.
+     *
+     * @param source the code the site is attributed to
+     * @param frame the innermost frame of that code, as {@code class.method:line}
+     * @param count number of pinned events
+     * @param total time pinned, summed over all events
+     * @param max longest single pinned event
+     */
+    public record PinningSite(Source source, String frame, long count, Duration total, Duration max) {
+    }
+
+    private final Duration threshold;
+    private final int maxSites;
+    private final ConcurrentMap<String, SiteCounters> sites = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private RecordingStream recording;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-threshold:PT0.02S}") Duration threshold,
+            @Value("${app.virtual-threads.max-pinning-sites:200}") int maxSites) {
+        this.threshold = threshold;
+        this.maxSites = maxSites;
+    }
+
+    /**
+     * Start listening to pinned events that last longer than the threshold.
+     */
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Stop listening and log every pinning site seen, most frequent first.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+        for (PinningSite site : getPinningSites()) {
+            log.info("Pinned {} times ({} ms total, {} ms max) in {} at {}", site.count(), site.total().toMillis(),
+                    site.max().toMillis(), site.source(), site.frame());
+        }
+        if (dropped.sum() > 0) {
+            log.info("{} pinned events at further sites were not counted", dropped.sum());
+        }
+    }
+
+    /**
+     * Get the pinning sites seen so far.
+     *
+     * @return one snapshot per site, most frequent first
+     */
+    public List<PinningSite> getPinningSites() {
+        return sites.values().stream()
+                .map(SiteCounters::snapshot)
+                .sorted(Comparator.comparingLong(PinningSite::count).reversed())
+                .toList();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .toList();
+        record(frames, event.getDuration());
+    }
+
+    /**
+     * Count one pinned event.
+     *
+     * @param frames the stack of the pinned thread, innermost frame first
+     * @param duration how long the thread was pinned
+     */
+    void record(List<String> frames, Duration duration) {
+        Source source = sourceOf(frames);
+        String frame = frames.stream()
+                .filter(f -> f.startsWith(source.packagePrefix))
+                .findFirst()
+                .orElse("<unknown>");
+        String key = source + " " + frame;
+        SiteCounters counters = sites.get(key);
+        if (counters == null) {
+            if (sites.size() >= maxSites) {
+                dropped.increment();
+                return;
+            }
+            SiteCounters created = new SiteCounters(source, frame);
+            counters = sites.putIfAbsent(key, created);
+            if (counters == null) {
+                counters = created;
+                log.warn("Virtual thread pinned for {} ms in {} at {}:\n\t{}", duration.toMillis(), source, frame,
+                        String.join("\n\t", frames));
+            }
+        }
+        counters.add(duration);
+    }
+
+    static Source sourceOf(List<String> frames) {
+        for (Source source : Source.values()) {
+            if (source != Source.OTHER && frames.stream().anyMatch(frame -> frame.startsWith(source.packagePrefix))) {
+                return source;
+            }
+        }
+        return Source.OTHER;
+    }
+
+    /**
+     * Counters of one pinning site.
+     */
+    private static final class SiteCounters {
+        private final Source source;
+        private final String frame;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private SiteCounters(Source source, String frame) {
+            this.source = source;
+            this.frame = frame;
+        }
+
+        private void add(Duration duration) {
+            long nanos = duration.toNanos();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private PinningSite snapshot() {
+            return new PinningSite(source, frame, count.sum(), Duration.ofNanos(totalNanos.sum()),
+                    Duration.ofNanos(maxNanos.get()));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -9,16 +10,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.dto.AccountDTO;
 import org.example.dto.AccountTransactionDTO;
+import org.example.dto.SpendingSummary;
 import org.example.model.Account;
 import org.example.model.AccountTransaction;
 import org.example.service.AccountService;
 import org.example.service.AccountTransactionService;
+import org.example.service.OwnerResponseCache;
+import org.example.service.ResourceVersions;
+import org.example.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST controller that provides endpoints for account operations.
@@ -28,41 +42,99 @@ import java.util.List;
 @SecurityRequirement(name = "bearer-key")
 @RestController
 @RequestMapping("/api/accounts")
-public class AccountController extends BaseController<Account, Long, AccountService> {
+public class AccountController extends BaseController<Account, Long, AccountService, AccountDTO> {
 
     private final AccountTransactionService accountTransactionService;
+    private final OwnerResponseCache ownerResponseCache;
+    private final ResourceVersions resourceVersions;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AccountController(AccountService accountService, AccountTransactionService accountTransactionService) {
+    public AccountController(AccountService accountService, AccountTransactionService accountTransactionService,
+                             OwnerResponseCache ownerResponseCache, ResourceVersions resourceVersions,
+                             ObjectMapper objectMapper) {
         super(accountService);
         this.accountTransactionService = accountTransactionService;
+        this.ownerResponseCache = ownerResponseCache;
+        this.resourceVersions = resourceVersions;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get all accounts for a specific owner ID.
+     * The serialized list is cached per owner until one of the owner's accounts or
+     * account transactions changes. A request whose If-None-Match matches the current ETag is
+     * answered with 304 without loading the list.
      * 
      * @param ownerId the ID number of the account owner
-     * @return list of accounts owned by the specified ID
+     * @param request the current request, checked for If-None-Match
+     * @return JSON list of accounts owned by the specified ID
      */
     @Operation(summary = "Get accounts by owner ID", description = "Retrieves all accounts belonging to the specified owner")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Accounts found", 
-                content = @Content(array = @ArraySchema(schema = @Schema(implementation = Account.class)))),
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = AccountDTO.class)))),
         @ApiResponse(responseCode = "404", description = "No accounts found for owner", content = @Content)
     })
-    @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<List<Account>> getAccountsByOwnerId(
-            @Parameter(description = "ID of the owner") @PathVariable String ownerId) {
-        List<Account> accounts = service.getAccountsByOwnerId(ownerId);
-        if (accounts.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    @GetMapping(value = "/owner/{ownerId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAccountsByOwnerId(
+            @Parameter(description = "ID of the owner") @PathVariable String ownerId, WebRequest request) {
+        String etag = resourceVersions.ownerAccountsTag(ownerId);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return ResponseEntity.ok(accounts);
+        return accountList(ownerId, etag);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> getByOwnerId(String ownerId) {
+        return accountList(ownerId, resourceVersions.ownerAccountsTag(ownerId));
+    }
+
+    private ResponseEntity<byte[]> accountList(String ownerId, String etag) {
+        return ownerResponseCache.getAccountList(ownerId, () -> service.getAccountDTOsByOwnerId(ownerId))
+                .map(body -> ResponseEntity.ok().eTag(etag).body(body))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Override
+    protected AccountDTO toSummary(Account account) {
+        return new AccountDTO(account);
     }
 
     @Override
-    public ResponseEntity<List<Account>> getByOwnerId(String ownerId) {
-        return getAccountsByOwnerId(ownerId);
+    protected String ownerIdOf(Account account) {
+        return account.getOwnerId();
+    }
+
+    /**
+     * Get a specific account by its ID with the requested expansions.
+     * Without {@code include} the plain summary is returned by {@link #getById}.
+     *
+     * @param id the account ID
+     * @param include the expansions to add; only {@code recentTransactions} is supported
+     * @param limit the number of recent transactions to include (clamped to 1..100, default 20)
+     * @return the account summary if found, or 400 if an unsupported expansion was requested
+     */
+    @GetMapping(value = "/{id}", params = "include")
+    public ResponseEntity<AccountDTO> getByIdWithIncludes(
+            @PathVariable Long id,
+            @RequestParam List<String> include,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!isSupported(include, INCLUDE_RECENT_TRANSACTIONS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return service.getById(id)
+                .map(account -> {
+                    AccountDTO summary = toSummary(account);
+                    if (include.contains(INCLUDE_RECENT_TRANSACTIONS)) {
+                        int count = Math.max(1, Math.min(limit, TransactionService.MAX_PAGE_SIZE));
+                        summary.setRecentTransactions(
+                                accountTransactionService.getLastTransactionDTOsByAccountId(id, count));
+                    }
+                    return ResponseEntity.ok(summary);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // The following methods are inherited from BaseController:
@@ -92,22 +164,93 @@ public class AccountController extends BaseController<Account, Long, AccountServ
     
     /**
      * Get the last N transactions for an account.
+     * A request whose If-None-Match matches the account's current ETag is answered with 304
+     * without reading the transactions.
      * 
      * @param accountId the account ID
      * @param count the number of transactions to retrieve (default 20)
+     * @param request the current request, checked for If-None-Match
      * @return list of the last N transactions for the specified account
      */
     @GetMapping("/{accountId}/transactions/last")
     public ResponseEntity<List<AccountTransactionDTO>> getLastTransactionsByAccountId(
             @PathVariable Long accountId,
-            @RequestParam(defaultValue = "20") int count) {
+            @RequestParam(defaultValue = "20") int count,
+            WebRequest request) {
+        String etag = resourceVersions.accountTag(accountId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<AccountTransactionDTO> transactions = accountTransactionService.getLastTransactionDTOsByAccountId(accountId, count);
         if (transactions.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok().eTag(etag).body(transactions);
     }
     
+    /**
+     * Export the transactions of an account within a date range, oldest first.
+     * Rows are streamed from the database straight into the response as newline-delimited
+     * JSON or CSV, so memory use stays constant however many transactions the range holds.
+     *
+     * @param accountId the account ID
+     * @param startDate the start date for filtering transactions
+     * @param endDate the end date for filtering transactions
+     * @param format the export format, {@code ndjson} (default) or {@code csv}
+     * @param response the HTTP response the transactions are streamed to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/{accountId}/transactions/export")
+    public void exportTransactionsByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") Date startDate,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") Date endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        Optional<TransactionExportWriter.Format> exportFormat = TransactionExportWriter.Format.fromParameter(format);
+        if (exportFormat.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        TransactionExportWriter<AccountTransactionDTO> writer = new TransactionExportWriter<>(response, objectMapper,
+                exportFormat.get(), "account-" + accountId + "-transactions",
+                dto -> new Object[]{dto.getId(), dto.getDate(), dto.getAmount(), dto.getDescription(), dto.getType()});
+        accountTransactionService.streamTransactionDTOsByAccountIdAndDateRange(accountId, startDate, endDate, writer);
+        if (!writer.isStarted()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Summarize the transactions of an account by day or month and type.
+     * Answered from pre-aggregated daily rollups, so the cost depends on the number of days
+     * in the range, not on the number of transactions.
+     *
+     * @param accountId the account ID
+     * @param startDate first day of the range
+     * @param endDate last day of the range, inclusive
+     * @param groupBy the period to group by, {@code day} (default) or {@code month}
+     * @return count and total per period and type, oldest first
+     */
+    @GetMapping("/{accountId}/transactions/summary")
+    public ResponseEntity<List<SpendingSummary>> getSpendingSummary(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(defaultValue = "day") String groupBy) {
+        Optional<SpendingSummary.Period> period = SpendingSummary.Period.fromParameter(groupBy);
+        if (period.isEmpty() || endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<SpendingSummary> summaries = accountTransactionService.getSpendingSummaryByAccountId(accountId, startDate, endDate, period.get());
+        if (summaries.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(summaries);
+    }
+
     /**
      * Get transactions for an account by type (CHARGE or CREDIT).
      * 
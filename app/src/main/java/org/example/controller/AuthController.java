@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import org.example.dto.AuthRequest;
 import org.example.dto.AuthResponse;
+import org.example.dto.TokenStats;
 import org.example.model.User;
 import org.example.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -112,4 +113,19 @@ public class AuthController {
         authService.invalidateToken(token);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Get the token validation counters and the size of the revocation deny-list.
+     * 
+     * @return snapshot of the token metrics
+     */
+    @Operation(summary = "Token statistics", description = "Returns token validation counters and the deny-list size")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token statistics",
+                content = @Content(schema = @Schema(implementation = TokenStats.class)))
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TokenStats> getTokenStats() {
+        return ResponseEntity.ok(authService.getTokenStats());
+    }
 }
@@ -7,25 +7,43 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.example.config.AuthenticationFilter;
 import org.example.model.BaseEntity;
 import org.example.service.BaseService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+import java.util.Objects;
+
 
 /**
  * Base controller with common REST endpoints
+ * <p>
+ * Entities are returned as their summary representation, which leaves out collections that
+ * grow with the entity's age, such as its transactions.
+ * <p>
+ * Entities are created and updated only for the authenticated caller: a body naming another owner
+ * is rejected with 403, so an entity can neither be created for nor handed over to someone else.
  *
  * @param <T> Entity type that extends BaseEntity
  * @param <ID> Type of the entity's ID
  * @param <S> Service type that implements BaseService
+ * @param <D> Summary type returned for the entity
  */
-public abstract class BaseController<T extends BaseEntity, ID, S extends BaseService<T, ID>> {
+public abstract class BaseController<T extends BaseEntity, ID, S extends BaseService<T, ID>, D> {
+
+    /**
+     * Value of the {@code include} request parameter that adds the most recent transactions to a summary.
+     */
+    public static final String INCLUDE_RECENT_TRANSACTIONS = "recentTransactions";
 
     protected final S service;
 
@@ -37,7 +55,7 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
      * Get a specific entity by its ID.
      *
      * @param id the entity ID
-     * @return the entity if found
+     * @return the summary of the entity if found
      */
     @Operation(
         summary = "Get an entity by ID", 
@@ -49,9 +67,10 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
         @ApiResponse(responseCode = "404", description = "Entity not found", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<T> getById(
+    public ResponseEntity<D> getById(
             @Parameter(description = "ID of the entity to retrieve") @PathVariable ID id) {
         return service.getById(id)
+                .map(this::toSummary)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -60,7 +79,8 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
      * Create a new entity.
      *
      * @param entity the entity to create
-     * @return the created entity
+     * @param callerId the owner ID of the authenticated caller
+     * @return the summary of the created entity, or 403 if the entity names another owner
      */
     @Operation(
         summary = "Create a new entity", 
@@ -68,13 +88,19 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
         security = @SecurityRequirement(name = "bearer-key"))
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Entity created successfully",
-                content = @Content(schema = @Schema(implementation = BaseEntity.class)))
+                content = @Content(schema = @Schema(implementation = BaseEntity.class))),
+        @ApiResponse(responseCode = "403", description = "Entity names another owner", content = @Content)
     })
     @PostMapping
-    public ResponseEntity<T> create(
-            @Parameter(description = "Entity to create", required = true) @RequestBody T entity) {
+    public ResponseEntity<D> create(
+            @Parameter(description = "Entity to create", required = true) @RequestBody T entity,
+            @Parameter(hidden = true) @RequestAttribute(name = AuthenticationFilter.OWNER_ID_ATTRIBUTE, required = false)
+            String callerId) {
+        if (!Objects.equals(ownerIdOf(entity), callerId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         T savedEntity = service.save(entity);
-        return ResponseEntity.ok(savedEntity);
+        return ResponseEntity.ok(toSummary(savedEntity));
     }
 
     /**
@@ -82,7 +108,8 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
      *
      * @param id the ID of the entity to update
      * @param entity the updated entity details
-     * @return the updated entity if found
+     * @param callerId the owner ID of the authenticated caller
+     * @return the summary of the updated entity if found, or 403 if the details name another owner
      */
     @Operation(
         summary = "Update an entity", 
@@ -91,13 +118,20 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Entity updated successfully",
                 content = @Content(schema = @Schema(implementation = BaseEntity.class))),
+        @ApiResponse(responseCode = "403", description = "Updated entity names another owner", content = @Content),
         @ApiResponse(responseCode = "404", description = "Entity not found", content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<T> update(
+    public ResponseEntity<D> update(
             @Parameter(description = "ID of the entity to update") @PathVariable ID id, 
-            @Parameter(description = "Updated entity information", required = true) @RequestBody T entity) {
+            @Parameter(description = "Updated entity information", required = true) @RequestBody T entity,
+            @Parameter(hidden = true) @RequestAttribute(name = AuthenticationFilter.OWNER_ID_ATTRIBUTE, required = false)
+            String callerId) {
+        if (!Objects.equals(ownerIdOf(entity), callerId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         return service.update(id, entity)
+                .map(this::toSummary)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -140,4 +174,32 @@ public abstract class BaseController<T extends BaseEntity, ID, S extends BaseSer
     })
     public abstract ResponseEntity<?> getByOwnerId(
             @Parameter(description = "ID of the owner to retrieve entities for") String ownerId);
+
+    /**
+     * Convert an entity to the representation returned by the endpoints of this controller.
+     * Must not touch lazily loaded collections.
+     *
+     * @param entity the entity
+     * @return its summary
+     */
+    protected abstract D toSummary(T entity);
+
+    /**
+     * Get the owner an entity in a request body names.
+     *
+     * @param entity the entity
+     * @return its owner ID
+     */
+    protected abstract String ownerIdOf(T entity);
+
+    /**
+     * Check that every requested expansion is supported.
+     *
+     * @param include the values of the {@code include} request parameter
+     * @param supported the expansions this endpoint supports
+     * @return true if no unsupported expansion was requested
+     */
+    protected static boolean isSupported(List<String> include, String... supported) {
+        return List.of(supported).containsAll(include);
+    }
 }
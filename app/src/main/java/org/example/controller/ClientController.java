@@ -0,0 +1,46 @@
+package org.example.controller;
+
+import org.example.dto.ClientOverview;
+import org.example.service.ClientOverviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller that provides the aggregated views of a client.
+ */
+@RestController
+@RequestMapping("/api/clients")
+public class ClientController {
+
+    private final ClientOverviewService clientOverviewService;
+
+    @Autowired
+    public ClientController(ClientOverviewService clientOverviewService) {
+        this.clientOverviewService = clientOverviewService;
+    }
+
+    /**
+     * Get the cards, accounts, balances and last transactions of a client in one response.
+     * Parts that could not be loaded in time are listed in {@code unavailable} and the rest is
+     * still returned with 200.
+     *
+     * @param clientId the ID number of the client
+     * @param count the number of recent transactions per card and account (default 5)
+     * @return the client overview, or 404 if the client has no cards and no accounts
+     */
+    @GetMapping("/{clientId}/overview")
+    public ResponseEntity<ClientOverview> getOverview(
+            @PathVariable String clientId,
+            @RequestParam(defaultValue = "5") int count) {
+        ClientOverview overview = clientOverviewService.getOverview(clientId, count);
+        if (overview.isComplete() && overview.getCards().isEmpty() && overview.getAccounts().isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(overview);
+    }
+}
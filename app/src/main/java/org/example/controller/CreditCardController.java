@@ -3,12 +3,17 @@ package org.example.controller;
 import org.example.dto.CreditCardDTO;
 import org.example.model.CreditCard;
 import org.example.model.Transaction;
+import org.example.service.ChargeDeclinedException;
 import org.example.service.CreditCardService;
+import org.example.service.OwnerResponseCache;
+import org.example.service.ResourceVersions;
 import org.example.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Date;
 import java.util.List;
@@ -18,54 +23,114 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/cards")
-public class CreditCardController extends BaseController<CreditCard, Long, CreditCardService> {
+public class CreditCardController extends BaseController<CreditCard, Long, CreditCardService, CreditCardDTO> {
 
     private final TransactionService transactionService;
+    private final OwnerResponseCache ownerResponseCache;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public CreditCardController(CreditCardService creditCardService, TransactionService transactionService) {
+    public CreditCardController(CreditCardService creditCardService, TransactionService transactionService,
+                                OwnerResponseCache ownerResponseCache, ResourceVersions resourceVersions) {
         super(creditCardService);
         this.transactionService = transactionService;
+        this.ownerResponseCache = ownerResponseCache;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Get all credit cards for a specific owner ID.
-     * This endpoint returns cards without their transactions.
+     * This endpoint returns cards without their transactions. The serialized list is
+     * cached per owner until one of the owner's cards changes. A request whose If-None-Match
+     * matches the current ETag is answered with 304 without loading the list.
      * 
      * @param ownerId the ID number of the card owner
-     * @return list of credit cards owned by the specified ID (without transactions)
+     * @param request the current request, checked for If-None-Match
+     * @return JSON list of credit cards owned by the specified ID (without transactions)
      */
-    @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<List<CreditCardDTO>> getCardsByOwnerId(@PathVariable String ownerId) {
-        List<CreditCardDTO> cardDTOs = service.getCardDTOsByOwnerId(ownerId);
-        if (cardDTOs.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    @GetMapping(value = "/owner/{ownerId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCardsByOwnerId(@PathVariable String ownerId, WebRequest request) {
+        String etag = resourceVersions.ownerCardsTag(ownerId);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return ResponseEntity.ok(cardDTOs);
+        return cardList(ownerId, etag);
     }
 
     @Override
-    public ResponseEntity<List<CreditCardDTO>> getByOwnerId(String ownerId) {
-        return getCardsByOwnerId(ownerId);
+    public ResponseEntity<byte[]> getByOwnerId(String ownerId) {
+        return cardList(ownerId, resourceVersions.ownerCardsTag(ownerId));
+    }
+
+    private ResponseEntity<byte[]> cardList(String ownerId, String etag) {
+        return ownerResponseCache.getCardList(ownerId, () -> service.getCardDTOsByOwnerId(ownerId))
+                .map(body -> ResponseEntity.ok().eTag(etag).body(body))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * Get a specific credit card by its ID (with DTO transformation).
      * This endpoint returns a card without its transactions.
      * This method overrides the BaseController.getById to return a DTO instead of an entity.
+     * A request whose If-None-Match matches the card's current ETag is answered with 304
+     * without reading the card.
      * 
      * @param id the credit card ID
+     * @param request the current request, checked for If-None-Match
      * @return the credit card DTO if found (without transactions)
      */
     @GetMapping("/{id}/dto")
-    public ResponseEntity<CreditCardDTO> getCardDTOById(@PathVariable Long id) {
+    public ResponseEntity<CreditCardDTO> getCardDTOById(@PathVariable Long id, WebRequest request) {
+        String etag = resourceVersions.cardTag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return service.getCardDTOById(id)
-                .map(ResponseEntity::ok)
+                .map(dto -> ResponseEntity.ok().eTag(etag).body(dto))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Override
+    protected CreditCardDTO toSummary(CreditCard creditCard) {
+        return new CreditCardDTO(creditCard);
+    }
+
+    @Override
+    protected String ownerIdOf(CreditCard creditCard) {
+        return creditCard.getOwnerId();
+    }
+
+    /**
+     * Get a specific credit card by its ID with the requested expansions.
+     * Without {@code include} the plain summary is returned by {@link #getById}.
+     *
+     * @param id the credit card ID
+     * @param include the expansions to add; only {@code recentTransactions} is supported
+     * @param limit the number of recent transactions to include (clamped to 1..100, default 20)
+     * @return the credit card summary if found, or 400 if an unsupported expansion was requested
+     */
+    @GetMapping(value = "/{id}", params = "include")
+    public ResponseEntity<CreditCardDTO> getByIdWithIncludes(
+            @PathVariable Long id,
+            @RequestParam List<String> include,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!isSupported(include, INCLUDE_RECENT_TRANSACTIONS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return service.getById(id)
+                .map(creditCard -> {
+                    CreditCardDTO summary = toSummary(creditCard);
+                    if (include.contains(INCLUDE_RECENT_TRANSACTIONS)) {
+                        summary.setRecentTransactions(
+                                transactionService.getTransactionPageByCreditCardId(id, limit, null).getTransactions());
+                    }
+                    return ResponseEntity.ok(summary);
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // The following methods are inherited from BaseController:
-    // getById (returns entity), create, update, delete
+    // getById (returns the DTO), create, update, delete
     
     /**
      * Get all transactions for a specific credit card.
@@ -130,15 +195,19 @@ public class CreditCardController extends BaseController<CreditCard, Long, Credi
      *
      * @param cardId the ID of the credit card
      * @param transaction the transaction to add
-     * @return the added transaction if the card exists
+     * @return the added transaction if the card exists, or 422 if the card declined it
      */
     @PostMapping("/{cardId}/transactions")
     public ResponseEntity<Transaction> addTransaction(
             @PathVariable Long cardId,
             @RequestBody Transaction transaction) {
         
-        return transactionService.saveTransaction(transaction, cardId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        try {
+            return transactionService.saveTransaction(transaction, cardId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (ChargeDeclinedException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
     }
 }
@@ -0,0 +1,71 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows to an HTTP response as a JSON array while they are being read,
+ * so a large result never has to be collected in memory first.
+ * The response is only started when the first row arrives; if nothing was written
+ * the caller is still free to send a different status such as 404.
+ * The array is only closed by {@link #finish()}, once every row has been read: if reading
+ * fails part-way the body is left incomplete, so the failure reaches the client as a broken
+ * response rather than as a shorter, well-formed array.
+ *
+ * @param <T> type of the rows being written
+ */
+class JsonArrayResponseWriter<T> implements Consumer<T> {
+
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private SequenceWriter sequenceWriter;
+
+    JsonArrayResponseWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+        this.response = response;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            if (sequenceWriter == null) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                // Let the servlet buffer decide when to flush instead of flushing after every row
+                sequenceWriter = objectMapper.writer()
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                        .writeValuesAsArray(response.getOutputStream());
+            }
+            sequenceWriter.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return true if at least one row has been written
+     */
+    boolean isStarted() {
+        return sequenceWriter != null;
+    }
+
+    /**
+     * Close the array after the last row. Call only once all rows have been read successfully.
+     *
+     * @throws IOException if writing the response fails
+     */
+    void finish() throws IOException {
+        if (sequenceWriter != null) {
+            sequenceWriter.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.controller;
+
+import org.example.dto.StatementDTO;
+import org.example.model.StatementRun;
+import org.example.service.StatementClosingJob;
+import org.example.service.StatementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * REST controller that provides endpoints for credit card statements and the job that closes them.
+ */
+@RestController
+@RequestMapping("/api")
+public class StatementController {
+
+    private final StatementService statementService;
+    private final StatementClosingJob statementClosingJob;
+
+    @Autowired
+    public StatementController(StatementService statementService, StatementClosingJob statementClosingJob) {
+        this.statementService = statementService;
+        this.statementClosingJob = statementClosingJob;
+    }
+
+    /**
+     * Get the closed statements of a credit card, newest first.
+     *
+     * @param cardId the ID of the credit card
+     * @return the card's statements
+     */
+    @GetMapping("/cards/{cardId}/statements")
+    public ResponseEntity<List<StatementDTO>> getStatements(@PathVariable Long cardId) {
+        List<StatementDTO> statements = statementService.getStatements(cardId);
+        if (statements.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(statements);
+    }
+
+    /**
+     * Get the statement of a credit card for one month.
+     *
+     * @param cardId the ID of the credit card
+     * @param period the month, as {@code yyyy-MM}
+     * @return the statement, or 404 if the month is not closed
+     */
+    @GetMapping("/cards/{cardId}/statements/{period}")
+    public ResponseEntity<StatementDTO> getStatement(@PathVariable Long cardId, @PathVariable YearMonth period) {
+        return statementService.getStatement(cardId, period)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Start closing the statements of every card for a month, or resume its unfinished run.
+     * The run continues in the background; poll the returned location for its progress.
+     *
+     * @param period the month to close, as {@code yyyy-MM}; the previous month if omitted
+     * @return 202 with the location of the run
+     */
+    @PostMapping("/statements/runs")
+    public ResponseEntity<Void> closeStatements(@RequestParam(required = false) YearMonth period) {
+        YearMonth month = period == null ? YearMonth.now().minusMonths(1) : period;
+        if (!month.isBefore(YearMonth.now())) {
+            // The month must be over before it can be closed
+            return ResponseEntity.badRequest().build();
+        }
+        statementClosingJob.startClosing(month);
+        return ResponseEntity.accepted().location(URI.create("/api/statements/runs/" + month)).build();
+    }
+
+    /**
+     * Get the progress and throughput of the closing run of a month.
+     *
+     * @param period the month, as {@code yyyy-MM}
+     * @return the run, or 404 if the month was never closed
+     */
+    @GetMapping("/statements/runs/{period}")
+    public ResponseEntity<StatementRun> getRun(@PathVariable YearMonth period) {
+        return statementClosingJob.getRun(period)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,15 +1,32 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.config.AuthenticationFilter;
+import org.example.dto.SpendingSummary;
+import org.example.dto.TransactionCursor;
 import org.example.dto.TransactionDTO;
+import org.example.dto.TransactionImportResult;
+import org.example.dto.TransactionImportRow;
+import org.example.dto.TransactionPage;
 import org.example.model.Transaction;
+import org.example.service.ChargeDeclinedException;
+import org.example.service.TransactionImportService;
 import org.example.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST controller that provides endpoints for credit card transaction operations.
@@ -18,41 +35,134 @@ import java.util.List;
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    /**
+     * Media type of newline-delimited JSON, one transaction per line.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionImportService transactionImportService,
+                                 ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Get all transactions for a specific credit card.
+     * Get one page of transactions for a specific credit card, newest first.
+     * Pages are addressed by an opaque cursor rather than an offset; pass the
+     * {@code nextCursor} of a response as {@code after} to fetch the following page.
      * 
      * @param creditCardId the ID of the credit card
-     * @return list of transactions for the specified credit card
+     * @param limit the maximum number of transactions per page (default 20, max 100)
+     * @param after the cursor returned by the previous page, omitted for the first page
+     * @return the page of transactions and the cursor for the next page
      */
     @GetMapping("/card/{creditCardId}")
-    public ResponseEntity<List<Transaction>> getTransactionsByCreditCardId(@PathVariable Long creditCardId) {
-        List<Transaction> transactions = transactionService.getTransactionsByCreditCardId(creditCardId);
-        if (transactions.isEmpty()) {
+    public ResponseEntity<TransactionPage> getTransactionsByCreditCardId(
+            @PathVariable Long creditCardId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String after) {
+        TransactionCursor cursor;
+        try {
+            cursor = after == null ? null : TransactionCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TransactionPage page = transactionService.getTransactionPageByCreditCardId(creditCardId, limit, cursor);
+        if (page.getTransactions().isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok(page);
     }
     
     /**
      * Get all transactions for a specific client account.
+     * The rows come from a single query over all of the client's cards and are written
+     * to the response as they are read, without building the whole list in memory.
      * 
      * @param clientId the ID of the client account
-     * @return list of transactions for the specified client account
+     * @param response the HTTP response the JSON array is streamed to
+     * @throws IOException if writing the response fails
      */
     @GetMapping("/client/{clientId}")
-    public ResponseEntity<List<TransactionDTO>> getTransactionsByClientId(@PathVariable String clientId) {
-        List<TransactionDTO> transactions = transactionService.getTransactionsByClientId(clientId);
-        if (transactions.isEmpty()) {
+    public void getTransactionsByClientId(@PathVariable String clientId, HttpServletResponse response)
+            throws IOException {
+        JsonArrayResponseWriter<TransactionDTO> writer = new JsonArrayResponseWriter<>(response, objectMapper);
+        transactionService.streamTransactionsByClientId(clientId, writer);
+        if (!writer.isStarted()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Export the transactions of a credit card within a date range, oldest first.
+     * Rows are streamed from the database straight into the response as newline-delimited
+     * JSON or CSV, so memory use stays constant however many transactions the range holds.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param startDate the start date for filtering transactions
+     * @param endDate the end date for filtering transactions
+     * @param format the export format, {@code ndjson} (default) or {@code csv}
+     * @param response the HTTP response the transactions are streamed to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/card/{creditCardId}/export")
+    public void exportTransactionsByDateRange(
+            @PathVariable Long creditCardId,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") Date startDate,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") Date endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        Optional<TransactionExportWriter.Format> exportFormat = TransactionExportWriter.Format.fromParameter(format);
+        if (exportFormat.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        TransactionExportWriter<TransactionDTO> writer = new TransactionExportWriter<>(response, objectMapper,
+                exportFormat.get(), "card-" + creditCardId + "-transactions",
+                dto -> new Object[]{dto.getId(), dto.getDate(), dto.getAmount(), dto.getDescription(), dto.getType()});
+        transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(creditCardId, startDate, endDate, writer);
+        if (!writer.isStarted()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Summarize the transactions of a credit card by day or month and type.
+     * Answered from pre-aggregated daily rollups, so the cost depends on the number of days
+     * in the range, not on the number of transactions.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param startDate first day of the range
+     * @param endDate last day of the range, inclusive
+     * @param groupBy the period to group by, {@code day} (default) or {@code month}
+     * @return count and total per period and type, oldest first
+     */
+    @GetMapping("/card/{creditCardId}/summary")
+    public ResponseEntity<List<SpendingSummary>> getSpendingSummary(
+            @PathVariable Long creditCardId,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(defaultValue = "day") String groupBy) {
+        Optional<SpendingSummary.Period> period = SpendingSummary.Period.fromParameter(groupBy);
+        if (period.isEmpty() || endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<SpendingSummary> summaries = transactionService.getSpendingSummaryByCreditCardId(creditCardId, startDate, endDate, period.get());
+        if (summaries.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok(summaries);
     }
 
     /**
@@ -94,7 +204,7 @@ public class TransactionController {
             @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") Date startDate,
             @RequestParam @DateTimeFormat(pattern="yyyy-MM-dd") Date endDate) {
         
-        // First verify if the card belongs to the client
+        // AuthenticationFilter has verified that the client is the caller and owns the card
         List<TransactionDTO> transactions = transactionService.getTransactionDTOsByCreditCardIdAndDateRange(
                 creditCardId, startDate, endDate);
         
@@ -138,7 +248,7 @@ public class TransactionController {
             @PathVariable Long creditCardId, 
             @PathVariable String type) {
         
-        // First verify if the card belongs to the client
+        // AuthenticationFilter has verified that the client is the caller and owns the card
         List<TransactionDTO> transactions = transactionService.getTransactionDTOsByCreditCardIdAndType(creditCardId, type);
         
         if (transactions.isEmpty()) {
@@ -165,16 +275,42 @@ public class TransactionController {
      * 
      * @param creditCardId the ID of the credit card
      * @param transaction the transaction to create
-     * @return the created transaction
+     * @return the created transaction, or 422 if the card declined it
      */
     @PostMapping("/card/{creditCardId}")
     public ResponseEntity<Transaction> createTransaction(
             @PathVariable Long creditCardId, 
             @RequestBody Transaction transaction) {
         
-        return transactionService.saveTransaction(transaction, creditCardId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        try {
+            return transactionService.saveTransaction(transaction, creditCardId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (ChargeDeclinedException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
+    }
+
+    /**
+     * Import many transactions, for any number of the caller's credit cards, in one request.
+     * The body is either a JSON array or newline-delimited JSON (one object per line);
+     * rows are parsed as they arrive and inserted in JDBC batches. Rows for cards of
+     * other owners are rejected.
+     * 
+     * @param request the HTTP request whose body holds the rows
+     * @return the accept/reject result of every row and the import throughput
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<TransactionImportResult> importTransactions(HttpServletRequest request) throws IOException {
+        String ownerId = (String) request.getAttribute(AuthenticationFilter.OWNER_ID_ATTRIBUTE);
+        if (ownerId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try (MappingIterator<TransactionImportRow> rows = objectMapper.readerFor(TransactionImportRow.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(transactionImportService.importTransactions(ownerId, rows));
+        }
     }
 
     /**
@@ -0,0 +1,180 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes transaction rows to an HTTP response as newline-delimited JSON or CSV while they are
+ * being read, so an export of any size is written with the same, small amount of memory.
+ * As with {@link JsonArrayResponseWriter}, the response is only started when the first row
+ * arrives; if nothing was written the caller is still free to send a different status.
+ * Neither format marks its own end, so buffered rows are only flushed by {@link #finish()} once
+ * every row has been read. If reading fails part-way the exception is left to propagate and
+ * the container aborts the response, instead of ending a truncated export as if it were complete.
+ *
+ * @param <T> type of the transaction rows being written
+ */
+class TransactionExportWriter<T> implements Consumer<T> {
+
+    /**
+     * Supported export formats, selected with the {@code format} request parameter.
+     */
+    enum Format {
+        NDJSON(TransactionController.APPLICATION_NDJSON_VALUE, "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /**
+         * @param parameter the requested format, case-insensitive
+         * @return the format, or empty optional if it is not supported
+         */
+        static Optional<Format> fromParameter(String parameter) {
+            for (Format format : values()) {
+                if (format.extension.equals(parameter.toLowerCase(Locale.ROOT))) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    static final String CSV_HEADER = "id,date,amount,description,type";
+
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private final Format format;
+    private final String fileName;
+    private final Function<T, Object[]> csvColumns;
+    private JsonGenerator jsonGenerator;
+    private ObjectWriter rowWriter;
+    private Writer csvWriter;
+
+    /**
+     * @param response the HTTP response the rows are written to
+     * @param objectMapper the mapper used for NDJSON rows
+     * @param format the export format
+     * @param fileName the suggested download name, without extension
+     * @param csvColumns extracts the values of the {@link #CSV_HEADER} columns from a row
+     */
+    TransactionExportWriter(HttpServletResponse response, ObjectMapper objectMapper, Format format,
+                            String fileName, Function<T, Object[]> csvColumns) {
+        this.response = response;
+        this.objectMapper = objectMapper;
+        this.format = format;
+        this.fileName = fileName;
+        this.csvColumns = csvColumns;
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            if (!isStarted()) {
+                start();
+            }
+            if (format == Format.NDJSON) {
+                rowWriter.writeValue(jsonGenerator, row);
+                jsonGenerator.writeRaw('\n');
+            } else {
+                writeCsvLine(csvColumns.apply(row));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return true if at least one row has been written
+     */
+    boolean isStarted() {
+        return jsonGenerator != null || csvWriter != null;
+    }
+
+    private void start() throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format.contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName + "." + format.extension)
+                .build()
+                .toString());
+        if (format == Format.NDJSON) {
+            jsonGenerator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            // One row per line: no indentation and no separator besides the newline
+            jsonGenerator.setRootValueSeparator(null);
+            rowWriter = objectMapper.writer()
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        } else {
+            csvWriter = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            csvWriter.write(CSV_HEADER);
+            csvWriter.write("\r\n");
+        }
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csvWriter.write(',');
+            }
+            csvWriter.write(toCsvField(values[i]));
+        }
+        csvWriter.write("\r\n");
+    }
+
+    static String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime()).toString();
+        }
+        if (value instanceof BigDecimal amount) {
+            return amount.toPlainString();
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Flush and end the export after the last row. Call only once all rows have been read successfully.
+     *
+     * @throws IOException if writing the response fails
+     */
+    void finish() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.close();
+        }
+        if (csvWriter != null) {
+            csvWriter.close();
+        }
+    }
+}
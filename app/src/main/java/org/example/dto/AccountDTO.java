@@ -0,0 +1,95 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.model.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for Account without transactions.
+ */
+public class AccountDTO {
+    private Long id;
+    private String accountNumber;
+    private String accountType;
+    private BigDecimal balance;
+    private String ownerId;
+    private LocalDateTime creationDate;
+
+    // Only present when requested with ?include=recentTransactions
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AccountTransactionDTO> recentTransactions;
+
+    // Default constructor
+    public AccountDTO() {
+    }
+
+    // Constructor from Account entity
+    public AccountDTO(Account account) {
+        this.id = account.getId();
+        this.accountNumber = account.getAccountNumber();
+        this.accountType = account.getAccountType();
+        this.balance = account.getBalance();
+        this.ownerId = account.getOwnerId();
+        this.creationDate = account.getCreationDate();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public List<AccountTransactionDTO> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<AccountTransactionDTO> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+}
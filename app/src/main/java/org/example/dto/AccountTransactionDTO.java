@@ -13,6 +13,7 @@ public class AccountTransactionDTO {
     private BigDecimal amount;
     private String description;
     private String type; // CHARGE or CREDIT
+    private BigDecimal runningBalance;
     
     // Default constructor
     public AccountTransactionDTO() {
@@ -26,6 +27,13 @@ public class AccountTransactionDTO {
         this.description = description;
         this.type = type;
     }
+
+    // Constructor with the balance after the transaction
+    public AccountTransactionDTO(Long id, Date date, BigDecimal amount, String description, String type,
+                                 BigDecimal runningBalance) {
+        this(id, date, amount, description, type);
+        this.runningBalance = runningBalance;
+    }
     
     // Getters and setters
     public Long getId() {
@@ -67,4 +75,12 @@ public class AccountTransactionDTO {
     public void setType(String type) {
         this.type = type;
     }
+    
+    public BigDecimal getRunningBalance() {
+        return runningBalance;
+    }
+    
+    public void setRunningBalance(BigDecimal runningBalance) {
+        this.runningBalance = runningBalance;
+    }
 }
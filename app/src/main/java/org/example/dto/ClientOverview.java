@@ -0,0 +1,107 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the home screen shows for a client: cards, accounts, their balances and the
+ * most recent transactions of each card and account.
+ * <p>
+ * The parts are loaded independently. A part that could not be loaded in time is left out and
+ * named in {@code unavailable} ({@code "cards"}, {@code "accounts"}, {@code "card:<id>"} or
+ * {@code "account:<id>"}), so the rest can still be shown.
+ */
+public class ClientOverview {
+    private String ownerId;
+    private List<CreditCardDTO> cards = new ArrayList<>();
+    private List<AccountDTO> accounts = new ArrayList<>();
+    private BigDecimal totalCardBalance = BigDecimal.ZERO;
+    private BigDecimal totalAccountBalance = BigDecimal.ZERO;
+    private Map<Long, List<TransactionDTO>> cardTransactions = new LinkedHashMap<>();
+    private Map<Long, List<AccountTransactionDTO>> accountTransactions = new LinkedHashMap<>();
+    private List<String> unavailable = new ArrayList<>();
+
+    // Default constructor
+    public ClientOverview() {
+    }
+
+    // Constructor with parameters
+    public ClientOverview(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * @return true if every part of the overview was loaded
+     */
+    public boolean isComplete() {
+        return unavailable.isEmpty();
+    }
+
+    // Getters and setters
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public List<CreditCardDTO> getCards() {
+        return cards;
+    }
+
+    public void setCards(List<CreditCardDTO> cards) {
+        this.cards = cards;
+    }
+
+    public List<AccountDTO> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountDTO> accounts) {
+        this.accounts = accounts;
+    }
+
+    public BigDecimal getTotalCardBalance() {
+        return totalCardBalance;
+    }
+
+    public void setTotalCardBalance(BigDecimal totalCardBalance) {
+        this.totalCardBalance = totalCardBalance;
+    }
+
+    public BigDecimal getTotalAccountBalance() {
+        return totalAccountBalance;
+    }
+
+    public void setTotalAccountBalance(BigDecimal totalAccountBalance) {
+        this.totalAccountBalance = totalAccountBalance;
+    }
+
+    public Map<Long, List<TransactionDTO>> getCardTransactions() {
+        return cardTransactions;
+    }
+
+    public void setCardTransactions(Map<Long, List<TransactionDTO>> cardTransactions) {
+        this.cardTransactions = cardTransactions;
+    }
+
+    public Map<Long, List<AccountTransactionDTO>> getAccountTransactions() {
+        return accountTransactions;
+    }
+
+    public void setAccountTransactions(Map<Long, List<AccountTransactionDTO>> accountTransactions) {
+        this.accountTransactions = accountTransactions;
+    }
+
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+
+    public void setUnavailable(List<String> unavailable) {
+        this.unavailable = unavailable;
+    }
+}
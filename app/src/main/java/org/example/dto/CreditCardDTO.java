@@ -1,8 +1,10 @@
 package org.example.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.example.model.CreditCard;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Data Transfer Object for CreditCard without transactions.
@@ -18,6 +20,10 @@ public class CreditCardDTO {
     private BigDecimal balance;
     private String ownerId;
 
+    // Only present when requested with ?include=recentTransactions
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TransactionDTO> recentTransactions;
+
     // Default constructor
     public CreditCardDTO() {
     }
@@ -107,4 +113,12 @@ public class CreditCardDTO {
     public void setOwnerId(String ownerId) {
         this.ownerId = ownerId;
     }
+
+    public List<TransactionDTO> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<TransactionDTO> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
 }
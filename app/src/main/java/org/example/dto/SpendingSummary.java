@@ -0,0 +1,95 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Data Transfer Object for the number and total of the transactions of one type in one period.
+ */
+public class SpendingSummary {
+
+    /**
+     * Length of the periods a summary is grouped by.
+     */
+    public enum Period {
+        DAY,
+        MONTH;
+
+        /**
+         * Get the period a day falls in, as {@code yyyy-MM-dd} for days and {@code yyyy-MM} for months.
+         *
+         * @param date the day
+         * @return the label of its period
+         */
+        public String labelOf(LocalDate date) {
+            return this == DAY ? date.toString() : date.toString().substring(0, 7);
+        }
+
+        /**
+         * Get the period named by a request parameter.
+         *
+         * @param parameter the requested period, {@code day} or {@code month}, case-insensitive
+         * @return the period, or empty optional if it is not supported
+         */
+        public static Optional<Period> fromParameter(String parameter) {
+            for (Period period : values()) {
+                if (period.name().equals(parameter.toUpperCase(Locale.ROOT))) {
+                    return Optional.of(period);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private String period;
+    private String type; // CHARGE or CREDIT
+    private long count;
+    private BigDecimal total;
+
+    // Default constructor
+    public SpendingSummary() {
+    }
+
+    // Constructor with parameters
+    public SpendingSummary(String period, String type, long count, BigDecimal total) {
+        this.period = period;
+        this.type = type;
+        this.count = count;
+        this.total = total;
+    }
+
+    // Getters and setters
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
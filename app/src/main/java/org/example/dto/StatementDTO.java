@@ -0,0 +1,133 @@
+package org.example.dto;
+
+import org.example.model.Statement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Data Transfer Object for the monthly statement of a credit card.
+ */
+public class StatementDTO {
+    private Long creditCardId;
+    private YearMonth period;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal openingBalance;
+    private BigDecimal totalCharges;
+    private long chargeCount;
+    private BigDecimal totalCredits;
+    private long creditCount;
+    private BigDecimal closingBalance;
+    private LocalDateTime closedAt;
+
+    // Default constructor
+    public StatementDTO() {
+    }
+
+    // Constructor from Statement entity
+    public StatementDTO(Statement statement) {
+        this.creditCardId = statement.getCreditCardId();
+        this.period = YearMonth.from(statement.getPeriodStart());
+        this.periodStart = statement.getPeriodStart();
+        this.periodEnd = statement.getPeriodEnd();
+        this.openingBalance = statement.getOpeningBalance();
+        this.totalCharges = statement.getTotalCharges();
+        this.chargeCount = statement.getChargeCount();
+        this.totalCredits = statement.getTotalCredits();
+        this.creditCount = statement.getCreditCount();
+        this.closingBalance = statement.getClosingBalance();
+        this.closedAt = statement.getClosedAt();
+    }
+
+    // Getters and setters
+    public Long getCreditCardId() {
+        return creditCardId;
+    }
+
+    public void setCreditCardId(Long creditCardId) {
+        this.creditCardId = creditCardId;
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(YearMonth period) {
+        this.period = period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
+    public BigDecimal getTotalCharges() {
+        return totalCharges;
+    }
+
+    public void setTotalCharges(BigDecimal totalCharges) {
+        this.totalCharges = totalCharges;
+    }
+
+    public long getChargeCount() {
+        return chargeCount;
+    }
+
+    public void setChargeCount(long chargeCount) {
+        this.chargeCount = chargeCount;
+    }
+
+    public BigDecimal getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(BigDecimal totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    public long getCreditCount() {
+        return creditCount;
+    }
+
+    public void setCreditCount(long creditCount) {
+        this.creditCount = creditCount;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+
+    public void setClosingBalance(BigDecimal closingBalance) {
+        this.closingBalance = closingBalance;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.dto;
+
+/**
+ * Snapshot of the token validation counters and the revocation deny-list size.
+ */
+public class TokenStats {
+    private long acceptedCount;
+    private long rejectedCount;
+    private long expiredCount;
+    private long revokedCount;
+    private long denyListSize;
+    private long maxDenyListSize;
+    private long denyListEvictedCount;
+    private long ttlSeconds;
+
+    // Default constructor
+    public TokenStats() {
+    }
+
+    // Constructor with parameters
+    public TokenStats(long acceptedCount, long rejectedCount, long expiredCount, long revokedCount,
+                      long denyListSize, long maxDenyListSize, long denyListEvictedCount, long ttlSeconds) {
+        this.acceptedCount = acceptedCount;
+        this.rejectedCount = rejectedCount;
+        this.expiredCount = expiredCount;
+        this.revokedCount = revokedCount;
+        this.denyListSize = denyListSize;
+        this.maxDenyListSize = maxDenyListSize;
+        this.denyListEvictedCount = denyListEvictedCount;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    // Getters and setters
+
+    /**
+     * @return number of validations that returned an owner
+     */
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public void setAcceptedCount(long acceptedCount) {
+        this.acceptedCount = acceptedCount;
+    }
+
+    /**
+     * @return number of validations of malformed tokens or tokens with a wrong signature
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * @return number of validations of correctly signed tokens past their expiry
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public void setExpiredCount(long expiredCount) {
+        this.expiredCount = expiredCount;
+    }
+
+    /**
+     * @return number of validations of tokens revoked by logout
+     */
+    public long getRevokedCount() {
+        return revokedCount;
+    }
+
+    public void setRevokedCount(long revokedCount) {
+        this.revokedCount = revokedCount;
+    }
+
+    /**
+     * @return number of revoked tokens currently on the deny-list
+     */
+    public long getDenyListSize() {
+        return denyListSize;
+    }
+
+    public void setDenyListSize(long denyListSize) {
+        this.denyListSize = denyListSize;
+    }
+
+    /**
+     * @return number of revoked tokens the deny-list holds before it drops the oldest
+     */
+    public long getMaxDenyListSize() {
+        return maxDenyListSize;
+    }
+
+    public void setMaxDenyListSize(long maxDenyListSize) {
+        this.maxDenyListSize = maxDenyListSize;
+    }
+
+    /**
+     * @return number of revocations dropped from a full deny-list before their tokens expired
+     */
+    public long getDenyListEvictedCount() {
+        return denyListEvictedCount;
+    }
+
+    public void setDenyListEvictedCount(long denyListEvictedCount) {
+        this.denyListEvictedCount = denyListEvictedCount;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque keyset cursor over the (transactionDate, id) ordering of transactions.
+ * Clients receive it as a URL-safe string and pass it back unchanged to fetch the next page.
+ * The date is kept to the nanosecond: transaction dates are stored with microseconds, and a
+ * cursor cut to milliseconds would skip rows that fall later in the same millisecond.
+ */
+public class TransactionCursor {
+    private static final char SEPARATOR = ':';
+
+    private final Instant transactionDate;
+    private final Long id;
+
+    // Constructor with parameters
+    public TransactionCursor(Date transactionDate, Long id) {
+        // Dates read from the database are Timestamps, whose toInstant() keeps the sub-millisecond part
+        this(transactionDate.toInstant(), id);
+    }
+
+    private TransactionCursor(Instant transactionDate, Long id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+
+    /**
+     * Build the cursor that points just past the given row.
+     *
+     * @param transaction the last row of the current page
+     * @return cursor positioned after that row
+     */
+    public static TransactionCursor after(TransactionDTO transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getId());
+    }
+
+    /**
+     * Encode this cursor as an opaque URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = transactionDate.getEpochSecond() + String.valueOf(SEPARATOR) + transactionDate.getNano()
+                + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            long epochSecond = Long.parseLong(parts[0]);
+            int nanos = Integer.parseInt(parts[1]);
+            if (nanos < 0 || nanos > 999_999_999) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            long id = Long.parseLong(parts[2]);
+            return new TransactionCursor(Instant.ofEpochSecond(epochSecond, nanos), id);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 decoding errors are both IllegalArgumentExceptions
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    // Getters
+    // A Timestamp, so the seek predicate is bound with the sub-millisecond part
+    public Date getTransactionDate() {
+        return Timestamp.from(transactionDate);
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
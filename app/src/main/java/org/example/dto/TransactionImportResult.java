@@ -0,0 +1,126 @@
+package org.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk transaction import: per-row status plus throughput figures.
+ */
+public class TransactionImportResult {
+    private int accepted;
+    private int rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<RowResult> rows = new ArrayList<>();
+
+    /**
+     * Status of a single submitted row, identified by its zero-based position in the request.
+     */
+    public static class RowResult {
+        private int index;
+        private boolean accepted;
+        private String reason;
+
+        // Default constructor
+        public RowResult() {
+        }
+
+        // Constructor with parameters
+        public RowResult(int index, boolean accepted, String reason) {
+            this.index = index;
+            this.accepted = accepted;
+            this.reason = reason;
+        }
+
+        // Getters and setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public boolean isAccepted() {
+            return accepted;
+        }
+
+        public void setAccepted(boolean accepted) {
+            this.accepted = accepted;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    // Default constructor
+    public TransactionImportResult() {
+    }
+
+    /**
+     * Record that a row was written.
+     *
+     * @param index position of the row in the request
+     */
+    public void accept(int index) {
+        rows.add(new RowResult(index, true, null));
+        accepted++;
+    }
+
+    /**
+     * Record that a row was not written.
+     *
+     * @param index position of the row in the request
+     * @param reason why the row was rejected
+     */
+    public void reject(int index, String reason) {
+        rows.add(new RowResult(index, false, reason));
+        rejected++;
+    }
+
+    // Getters and setters
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowResult> rows) {
+        this.rows = rows;
+    }
+}
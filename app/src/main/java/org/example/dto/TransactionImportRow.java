@@ -0,0 +1,69 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * One credit card transaction submitted to the bulk import endpoint.
+ */
+public class TransactionImportRow {
+    private Long creditCardId;
+    private Date transactionDate;
+    private BigDecimal amount;
+    private String description;
+    private String type; // CHARGE or CREDIT
+
+    // Default constructor
+    public TransactionImportRow() {
+    }
+
+    // Constructor with parameters
+    public TransactionImportRow(Long creditCardId, Date transactionDate, BigDecimal amount, String description, String type) {
+        this.creditCardId = creditCardId;
+        this.transactionDate = transactionDate;
+        this.amount = amount;
+        this.description = description;
+        this.type = type;
+    }
+
+    // Getters and setters
+    public Long getCreditCardId() {
+        return creditCardId;
+    }
+
+    public void setCreditCardId(Long creditCardId) {
+        this.creditCardId = creditCardId;
+    }
+
+    public Date getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(Date transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated transaction listing.
+ * The next cursor is null when there are no more rows.
+ */
+public class TransactionPage {
+    private List<TransactionDTO> transactions = new ArrayList<>();
+    private String nextCursor;
+
+    // Default constructor
+    public TransactionPage() {
+    }
+
+    // Constructor with parameters
+    public TransactionPage(List<TransactionDTO> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and setters
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,11 +1,16 @@
 package org.example.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.example.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,7 +20,9 @@ import java.util.List;
  * Entity class representing a bank account.
  */
 @Entity
-@Table(name = "accounts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ACCOUNT_REGION)
+@Table(name = "accounts", indexes = @Index(name = "idx_accounts_owner_id", columnList = "owner_id"))
 public class Account extends BaseEntity {
 
     @Column(nullable = false, unique = true)
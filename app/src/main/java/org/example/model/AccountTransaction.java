@@ -1,8 +1,11 @@
 package org.example.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import java.math.BigDecimal;
@@ -12,14 +15,21 @@ import java.util.Date;
  * Entity class representing an account transaction.
  */
 @Entity
-@Table(name = "account_transactions")
+@Table(name = "account_transactions", indexes = {
+    @Index(name = "idx_account_transactions_account_date", columnList = "account_id, transaction_date, id"),
+    @Index(name = "idx_account_transactions_account_type_date", columnList = "account_id, type, transaction_date, id")
+})
 public class AccountTransaction extends BaseTransaction {
 
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
 
+    // Net of the account's movements up to and including this one, in date order
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal runningBalance = BigDecimal.ZERO;
+
     // Default constructor
     public AccountTransaction() {
     }
@@ -40,4 +50,12 @@ public class AccountTransaction extends BaseTransaction {
     public void setAccount(Account account) {
         this.account = account;
     }
+
+    public BigDecimal getRunningBalance() {
+        return runningBalance;
+    }
+
+    public void setRunningBalance(BigDecimal runningBalance) {
+        this.runningBalance = runningBalance;
+    }
 }
\ No newline at end of file
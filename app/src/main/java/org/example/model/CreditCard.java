@@ -1,11 +1,17 @@
 package org.example.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.FetchType;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.example.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,7 +20,9 @@ import java.util.List;
  * Entity class representing a credit card.
  */
 @Entity
-@Table(name = "credit_cards")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CREDIT_CARD_REGION)
+@Table(name = "credit_cards", indexes = @Index(name = "idx_credit_cards_owner_id", columnList = "owner_id"))
 public class CreditCard extends BaseEntity {
 
     @Column(nullable = false)
@@ -41,6 +49,7 @@ public class CreditCard extends BaseEntity {
     @Column(nullable = false)
     private String ownerId; // ID number of the card owner
     
+    @JsonManagedReference
     @OneToMany(mappedBy = "creditCard", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transaction> transactions = new ArrayList<>();
 
@@ -0,0 +1,118 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity class representing the number and sum of the transactions of one card or account,
+ * of one type, on one day.
+ * Rows are kept up to date by every insert and delete of a transaction, so spending over
+ * any date range is read from at most one row per day and type.
+ */
+@Entity
+@IdClass(DailyRollupId.class)
+@Table(name = "daily_rollups")
+public class DailyRollup {
+
+    /**
+     * Entity type of the rollups of credit card transactions.
+     */
+    public static final String CARD = "CARD";
+
+    /**
+     * Entity type of the rollups of account transactions.
+     */
+    public static final String ACCOUNT = "ACCOUNT";
+
+    // Key columns are declared in primary key order: entity, day, type
+    @Id
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Id
+    @Column(name = "entity_type", length = 16)
+    private String entityType; // CARD or ACCOUNT
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Id
+    @Column(length = 16)
+    private String type; // CHARGE or CREDIT
+
+    @Column(name = "txn_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "amount_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountSum;
+
+    // Default constructor
+    public DailyRollup() {
+    }
+
+    // Constructor with parameters
+    public DailyRollup(Long entityId, String entityType, LocalDate rollupDate, String type,
+                       long transactionCount, BigDecimal amountSum) {
+        this.entityId = entityId;
+        this.entityType = entityType;
+        this.rollupDate = rollupDate;
+        this.type = type;
+        this.transactionCount = transactionCount;
+        this.amountSum = amountSum;
+    }
+
+    // Getters and setters
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getAmountSum() {
+        return amountSum;
+    }
+
+    public void setAmountSum(BigDecimal amountSum) {
+        this.amountSum = amountSum;
+    }
+}
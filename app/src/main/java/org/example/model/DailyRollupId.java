@@ -0,0 +1,66 @@
+package org.example.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Primary key of a {@link DailyRollup}.
+ */
+public class DailyRollupId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long entityId;
+    private String entityType;
+    private LocalDate rollupDate;
+    private String type;
+
+    // Default constructor
+    public DailyRollupId() {
+    }
+
+    // Constructor with parameters
+    public DailyRollupId(Long entityId, String entityType, LocalDate rollupDate, String type) {
+        this.entityId = entityId;
+        this.entityType = entityType;
+        this.rollupDate = rollupDate;
+        this.type = type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DailyRollupId)) {
+            return false;
+        }
+        DailyRollupId that = (DailyRollupId) o;
+        return Objects.equals(entityId, that.entityId)
+                && Objects.equals(entityType, that.entityType)
+                && Objects.equals(rollupDate, that.rollupDate)
+                && Objects.equals(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityId, entityType, rollupDate, type);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the closed monthly statement of a credit card.
+ * Balances are the amount owed from transactions: charges minus credits. The closing balance
+ * of one statement is the opening balance of the next, so a statement never needs the card's
+ * history before its own period.
+ */
+@Entity
+@Table(name = "statements", uniqueConstraints =
+        @UniqueConstraint(name = "uk_statements_card_period", columnNames = {"credit_card_id", "period_start"}))
+public class Statement extends BaseEntity {
+
+    @Column(name = "credit_card_id", nullable = false)
+    private Long creditCardId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd; // inclusive
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCharges;
+
+    @Column(nullable = false)
+    private long chargeCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCredits;
+
+    @Column(nullable = false)
+    private long creditCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false)
+    private LocalDateTime closedAt;
+
+    // Default constructor
+    public Statement() {
+    }
+
+    // Constructor with parameters
+    public Statement(Long creditCardId, LocalDate periodStart, LocalDate periodEnd, BigDecimal openingBalance) {
+        this.creditCardId = creditCardId;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.openingBalance = openingBalance;
+        this.totalCharges = BigDecimal.ZERO;
+        this.totalCredits = BigDecimal.ZERO;
+        this.closingBalance = openingBalance;
+    }
+
+    // Getters and setters
+    public Long getCreditCardId() {
+        return creditCardId;
+    }
+
+    public void setCreditCardId(Long creditCardId) {
+        this.creditCardId = creditCardId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
+    public BigDecimal getTotalCharges() {
+        return totalCharges;
+    }
+
+    public void setTotalCharges(BigDecimal totalCharges) {
+        this.totalCharges = totalCharges;
+    }
+
+    public long getChargeCount() {
+        return chargeCount;
+    }
+
+    public void setChargeCount(long chargeCount) {
+        this.chargeCount = chargeCount;
+    }
+
+    public BigDecimal getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(BigDecimal totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    public long getCreditCount() {
+        return creditCount;
+    }
+
+    public void setCreditCount(long creditCount) {
+        this.creditCount = creditCount;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+
+    public void setClosingBalance(BigDecimal closingBalance) {
+        this.closingBalance = closingBalance;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+}
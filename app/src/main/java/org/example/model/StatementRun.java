@@ -0,0 +1,130 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing one run of the statement closing job for a billing period.
+ * Cards are closed in ascending ID order and the last card of every finished chunk is
+ * recorded, so a run that stops halfway resumes after that card.
+ */
+@Entity
+@Table(name = "statement_runs", indexes = @Index(name = "idx_statement_runs_status", columnList = "status"))
+public class StatementRun extends BaseEntity {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Column(name = "period_start", nullable = false, unique = true)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 16)
+    private String status; // RUNNING, COMPLETED or FAILED
+
+    @Column(nullable = false)
+    private long lastCardId;
+
+    @Column(nullable = false)
+    private long cardsClosed;
+
+    @Column(nullable = false)
+    private long cardsSkipped;
+
+    @Column(nullable = false)
+    private long processingMillis;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    // Default constructor
+    public StatementRun() {
+    }
+
+    // Constructor with parameters
+    public StatementRun(LocalDate periodStart, LocalDateTime startedAt) {
+        this.periodStart = periodStart;
+        this.status = RUNNING;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Get the closing throughput of the run, over the time spent processing chunks.
+     *
+     * @return cards closed or skipped per second
+     */
+    public double getCardsPerSecond() {
+        return processingMillis == 0 ? 0 : (cardsClosed + cardsSkipped) * 1000.0 / processingMillis;
+    }
+
+    // Getters and setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getLastCardId() {
+        return lastCardId;
+    }
+
+    public void setLastCardId(long lastCardId) {
+        this.lastCardId = lastCardId;
+    }
+
+    public long getCardsClosed() {
+        return cardsClosed;
+    }
+
+    public void setCardsClosed(long cardsClosed) {
+        this.cardsClosed = cardsClosed;
+    }
+
+    public long getCardsSkipped() {
+        return cardsSkipped;
+    }
+
+    public void setCardsSkipped(long cardsSkipped) {
+        this.cardsSkipped = cardsSkipped;
+    }
+
+    public long getProcessingMillis() {
+        return processingMillis;
+    }
+
+    public void setProcessingMillis(long processingMillis) {
+        this.processingMillis = processingMillis;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
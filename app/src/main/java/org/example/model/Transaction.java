@@ -1,6 +1,9 @@
 package org.example.model;
 
+import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
@@ -11,10 +14,14 @@ import java.util.Date;
  * Entity class representing a credit card transaction.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_card_date", columnList = "credit_card_id, transaction_date, id"),
+    @Index(name = "idx_transactions_card_type_date", columnList = "credit_card_id, type, transaction_date, id")
+})
 public class Transaction extends BaseTransaction {
 
-    @ManyToOne
+    @JsonBackReference
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "credit_card_id", nullable = false)
     private CreditCard creditCard;
 
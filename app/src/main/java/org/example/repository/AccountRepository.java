@@ -1,18 +1,48 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.config.SecondLevelCacheConfig;
 import org.example.model.Account;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     /**
      * Find all accounts by owner ID.
+     * The result is kept in the second-level query cache until an account row changes.
      * 
      * @param ownerId the ID number of the account owner
      * @return list of accounts owned by the specified ID
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.ACCOUNTS_BY_OWNER_REGION)
+    })
     List<Account> findByOwnerId(String ownerId);
+
+    /**
+     * Find the owner of an account, without loading the account.
+     *
+     * @param id the account ID
+     * @return the ID number of the account owner, or empty optional if the account does not exist
+     */
+    @Query("SELECT a.ownerId FROM Account a WHERE a.id = :id")
+    Optional<String> findOwnerIdById(@Param("id") Long id);
+
+    /**
+     * Lock the row of an account until the end of the current transaction, without loading the account.
+     *
+     * @param id the account ID
+     * @return the account ID, or empty optional if the account does not exist
+     */
+    @Query(value = "SELECT id FROM accounts WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 }
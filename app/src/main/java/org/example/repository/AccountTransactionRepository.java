@@ -1,12 +1,21 @@
 package org.example.repository;
 
+import org.example.dto.AccountTransactionDTO;
 import org.example.model.AccountTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for AccountTransaction entities.
@@ -20,7 +29,8 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
      * @param accountId the account ID
      * @return list of transactions for the specified account
      */
-    List<AccountTransaction> findByAccountId(Long accountId);
+    @Query("SELECT t FROM AccountTransaction t WHERE t.account.id = :accountId")
+    List<AccountTransaction> findByAccountId(@Param("accountId") Long accountId);
     
     /**
      * Find transactions by account ID with pagination.
@@ -29,7 +39,8 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
      * @param pageable pagination information
      * @return list of transactions for the specified account with pagination
      */
-    List<AccountTransaction> findByAccountId(Long accountId, Pageable pageable);
+    @Query("SELECT t FROM AccountTransaction t WHERE t.account.id = :accountId")
+    List<AccountTransaction> findByAccountId(@Param("accountId") Long accountId, Pageable pageable);
     
     /**
      * Find transactions by account ID and a date range.
@@ -39,7 +50,11 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
      * @param endDate end date for the date range
      * @return list of transactions for the specified account within the date range
      */
-    List<AccountTransaction> findByAccountIdAndTransactionDateBetween(Long accountId, Date startDate, Date endDate);
+    @Query("SELECT t FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<AccountTransaction> findByAccountIdAndTransactionDateBetween(@Param("accountId") Long accountId,
+                                                                      @Param("startDate") Date startDate,
+                                                                      @Param("endDate") Date endDate);
     
     /**
      * Find transactions by account ID and type.
@@ -48,5 +63,110 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
      * @param type the transaction type (e.g., CHARGE or CREDIT)
      * @return list of transactions for the specified account and type
      */
-    List<AccountTransaction> findByAccountIdAndType(Long accountId, String type);
+    @Query("SELECT t FROM AccountTransaction t WHERE t.account.id = :accountId AND t.type = :type")
+    List<AccountTransaction> findByAccountIdAndType(@Param("accountId") Long accountId, @Param("type") String type);
+
+    /**
+     * Find transactions by account ID, selected straight into DTOs.
+     * No AccountTransaction or Account entity is instantiated or attached to the persistence context.
+     *
+     * @param accountId the account ID
+     * @return transaction DTOs for the specified account
+     */
+    @Query("SELECT new org.example.dto.AccountTransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type, " +
+           "t.runningBalance) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId")
+    List<AccountTransactionDTO> findDTOsByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Find the most recent transactions by account ID, newest first, selected straight into DTOs.
+     *
+     * @param accountId the account ID
+     * @param pageable page size of the result
+     * @return the most recent transaction DTOs for the specified account
+     */
+    @Query("SELECT new org.example.dto.AccountTransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type, " +
+           "t.runningBalance) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<AccountTransactionDTO> findLastDTOsByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    /**
+     * Find transactions by account ID and a date range, selected straight into DTOs.
+     *
+     * @param accountId the account ID
+     * @param startDate start date for the date range
+     * @param endDate end date for the date range
+     * @return transaction DTOs for the specified account within the date range
+     */
+    @Query("SELECT new org.example.dto.AccountTransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type, " +
+           "t.runningBalance) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<AccountTransactionDTO> findDTOsByAccountIdAndTransactionDateBetween(@Param("accountId") Long accountId,
+                                                                            @Param("startDate") Date startDate,
+                                                                            @Param("endDate") Date endDate);
+
+    /**
+     * Stream the transactions of an account within a date range, oldest first.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param accountId the account ID
+     * @param startDate start date for the date range
+     * @param endDate end date for the date range
+     * @return stream of transaction DTOs within the date range, ordered by date
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT new org.example.dto.AccountTransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type, " +
+           "t.runningBalance) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.transactionDate, t.id")
+    Stream<AccountTransactionDTO> streamDTOsByAccountIdAndTransactionDateBetween(@Param("accountId") Long accountId,
+                                                                                @Param("startDate") Date startDate,
+                                                                                @Param("endDate") Date endDate);
+
+    /**
+     * Find transactions by account ID and type, selected straight into DTOs.
+     *
+     * @param accountId the account ID
+     * @param type the transaction type (e.g., CHARGE or CREDIT)
+     * @return transaction DTOs for the specified account and type
+     */
+    @Query("SELECT new org.example.dto.AccountTransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type, " +
+           "t.runningBalance) " +
+           "FROM AccountTransaction t WHERE t.account.id = :accountId AND t.type = :type")
+    List<AccountTransactionDTO> findDTOsByAccountIdAndType(@Param("accountId") Long accountId,
+                                                           @Param("type") String type);
+
+    /**
+     * Find the running balances of an account up to a date, latest first.
+     * With a page of one, this is the balance before a new transaction dated {@code date}.
+     *
+     * @param accountId the account ID
+     * @param date the date of the new transaction
+     * @param pageable page size of the result
+     * @return the running balances of the transactions dated up to {@code date}
+     */
+    @Query("SELECT t.runningBalance FROM AccountTransaction t WHERE t.account.id = :accountId " +
+           "AND t.transactionDate <= :date ORDER BY t.transactionDate DESC, t.id DESC")
+    List<BigDecimal> findRunningBalancesUpTo(@Param("accountId") Long accountId, @Param("date") Date date,
+                                            Pageable pageable);
+
+    /**
+     * Add an amount to the running balance of every transaction of an account that comes after
+     * the given one in date order. Only a backdated insert or a delete has later transactions.
+     *
+     * @param accountId the account ID
+     * @param date the date of the inserted or deleted transaction
+     * @param id the ID of the inserted or deleted transaction
+     * @param delta the change to the balance, negative to subtract
+     * @return the number of transactions updated
+     */
+    @Modifying
+    @Query("UPDATE AccountTransaction t SET t.runningBalance = t.runningBalance + :delta " +
+           "WHERE t.account.id = :accountId " +
+           "AND (t.transactionDate > :date OR (t.transactionDate = :date AND t.id > :id))")
+    int addToRunningBalancesAfter(@Param("accountId") Long accountId, @Param("date") Date date, @Param("id") Long id,
+                                  @Param("delta") BigDecimal delta);
 }
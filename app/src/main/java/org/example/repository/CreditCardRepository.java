@@ -1,18 +1,62 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.config.SecondLevelCacheConfig;
 import org.example.model.CreditCard;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CreditCardRepository extends JpaRepository<CreditCard, Long> {
     /**
      * Find all credit cards by owner ID.
+     * The result is kept in the second-level query cache until a credit card row changes.
      * 
      * @param ownerId the ID number of the card owner
      * @return list of credit cards owned by the specified ID
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.CREDIT_CARDS_BY_OWNER_REGION)
+    })
     List<CreditCard> findByOwnerId(String ownerId);
+
+    /**
+     * Find which of the given credit card IDs exist and belong to an owner, without loading the cards.
+     *
+     * @param ownerId the ID number of the card owner
+     * @param ids the credit card IDs to check
+     * @return the subset of the IDs that belong to an existing card of the owner
+     */
+    @Query("SELECT c.id FROM CreditCard c WHERE c.ownerId = :ownerId AND c.id IN :ids")
+    List<Long> findOwnedIds(@Param("ownerId") String ownerId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the owner of a credit card, without loading the card.
+     *
+     * @param id the credit card ID
+     * @return the ID number of the card owner, or empty optional if the card does not exist
+     */
+    @Query("SELECT c.ownerId FROM CreditCard c WHERE c.id = :id")
+    Optional<String> findOwnerIdById(@Param("id") Long id);
+
+    /**
+     * Find the IDs of the cards after a given ID, in ascending order, read from the primary key.
+     * Used to walk all cards in chunks with a resumable cursor.
+     *
+     * @param afterId the last ID already processed, 0 to start from the first card
+     * @param pageable the chunk size
+     * @return the next card IDs
+     */
+    @Query("SELECT c.id FROM CreditCard c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
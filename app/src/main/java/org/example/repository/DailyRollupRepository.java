@@ -0,0 +1,105 @@
+package org.example.repository;
+
+import org.example.model.DailyRollup;
+import org.example.model.DailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for DailyRollup entities.
+ */
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, DailyRollupId> {
+
+    /**
+     * Find the rollups of a card or account within a range of days, read from the primary key.
+     *
+     * @param entityId the ID of the card or account
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param startDate first day of the range
+     * @param endDate last day of the range, inclusive
+     * @return rollups within the range, ordered by day and type
+     */
+    @Query("SELECT r FROM DailyRollup r WHERE r.entityId = :entityId AND r.entityType = :entityType " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate ORDER BY r.rollupDate, r.type")
+    List<DailyRollup> findByEntityAndDateRange(@Param("entityId") Long entityId,
+                                               @Param("entityType") String entityType,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * Add transactions to the rollup of one day, creating the row if it does not exist yet.
+     * A single upsert, so concurrent writers of the same day never lose an update.
+     * Pass a negative count and amount to remove transactions.
+     *
+     * @param entityId the ID of the card or account
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param rollupDate the day of the transactions
+     * @param type the transaction type (CHARGE or CREDIT)
+     * @param count the number of transactions to add
+     * @param amount the sum of their amounts
+     * @return the number of rows affected
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO daily_rollups (entity_id, entity_type, rollup_date, type, txn_count, amount_sum) " +
+           "VALUES (:entityId, :entityType, :rollupDate, :type, :count, :amount) " +
+           "ON DUPLICATE KEY UPDATE txn_count = txn_count + :count, amount_sum = amount_sum + :amount")
+    int addToRollup(@Param("entityId") Long entityId, @Param("entityType") String entityType,
+                    @Param("rollupDate") LocalDate rollupDate, @Param("type") String type,
+                    @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    /**
+     * Delete all rollups of one entity type, before they are rebuilt.
+     *
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM DailyRollup r WHERE r.entityType = :entityType")
+    int deleteByEntityType(@Param("entityType") String entityType);
+
+    /**
+     * Delete all rollups of one card or account, once it has been deleted.
+     *
+     * @param entityId the ID of the card or account
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM DailyRollup r WHERE r.entityId = :entityId AND r.entityType = :entityType")
+    int deleteByEntity(@Param("entityId") Long entityId, @Param("entityType") String entityType);
+
+    /**
+     * Rebuild the card rollups from the transactions table with a single INSERT ... SELECT.
+     * The day is the date part of the stored DATETIME, which the driver writes in the JVM time zone,
+     * the zone {@code DailyRollupService.dayOf} uses for incremental updates.
+     *
+     * @return the number of rollups created
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO daily_rollups (entity_id, entity_type, rollup_date, type, txn_count, amount_sum) " +
+           "SELECT credit_card_id, '" + DailyRollup.CARD + "', CAST(transaction_date AS DATE), type, COUNT(*), SUM(amount) " +
+           "FROM transactions GROUP BY credit_card_id, CAST(transaction_date AS DATE), type")
+    int backfillCardRollups();
+
+    /**
+     * Rebuild the account rollups from the account_transactions table with a single INSERT ... SELECT.
+     *
+     * @return the number of rollups created
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO daily_rollups (entity_id, entity_type, rollup_date, type, txn_count, amount_sum) " +
+           "SELECT account_id, '" + DailyRollup.ACCOUNT + "', CAST(transaction_date AS DATE), type, COUNT(*), SUM(amount) " +
+           "FROM account_transactions GROUP BY account_id, CAST(transaction_date AS DATE), type")
+    int backfillAccountRollups();
+}
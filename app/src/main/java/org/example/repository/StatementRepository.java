@@ -0,0 +1,66 @@
+package org.example.repository;
+
+import org.example.model.Statement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Statement entities.
+ * Every finder is served by the unique (credit_card_id, period_start) index.
+ */
+@Repository
+public interface StatementRepository extends JpaRepository<Statement, Long> {
+
+    /**
+     * Find the statements of a credit card, newest first.
+     *
+     * @param creditCardId the ID of the credit card
+     * @return the card's statements
+     */
+    List<Statement> findByCreditCardIdOrderByPeriodStartDesc(Long creditCardId);
+
+    /**
+     * Find the statement of a credit card for one billing period.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param periodStart the first day of the period
+     * @return the statement, or empty optional if the period is not closed
+     */
+    Optional<Statement> findByCreditCardIdAndPeriodStart(Long creditCardId, LocalDate periodStart);
+
+    /**
+     * Find the latest statement of a credit card before a billing period.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param periodStart the first day of the period
+     * @return the previous statement, or empty optional if the card has none
+     */
+    Optional<Statement> findFirstByCreditCardIdAndPeriodStartLessThanOrderByPeriodStartDesc(Long creditCardId,
+                                                                                             LocalDate periodStart);
+
+    /**
+     * Check whether a billing period of a credit card is already closed.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param periodStart the first day of the period
+     * @return true if the statement exists
+     */
+    boolean existsByCreditCardIdAndPeriodStart(Long creditCardId, LocalDate periodStart);
+
+    /**
+     * Delete all statements of a credit card, once it has been deleted.
+     *
+     * @param creditCardId the ID of the credit card
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Statement s WHERE s.creditCardId = :creditCardId")
+    int deleteByCreditCardId(@Param("creditCardId") Long creditCardId);
+}
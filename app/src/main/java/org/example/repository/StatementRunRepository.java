@@ -0,0 +1,32 @@
+package org.example.repository;
+
+import org.example.model.StatementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for StatementRun entities.
+ */
+@Repository
+public interface StatementRunRepository extends JpaRepository<StatementRun, Long> {
+
+    /**
+     * Find the closing run of a billing period.
+     *
+     * @param periodStart the first day of the period
+     * @return the run, or empty optional if the period was never closed
+     */
+    Optional<StatementRun> findByPeriodStart(LocalDate periodStart);
+
+    /**
+     * Find the runs in a status, such as the runs left RUNNING by a crash.
+     *
+     * @param status RUNNING, COMPLETED or FAILED
+     * @return the runs in that status
+     */
+    List<StatementRun> findByStatus(String status);
+}
@@ -1,21 +1,37 @@
 package org.example.repository;
 
+import org.example.dto.TransactionDTO;
+import jakarta.persistence.QueryHint;
 import org.example.model.Transaction;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    /**
+     * JDBC fetch size used by streaming queries, so rows are pulled from the server
+     * in chunks through a forward-only cursor instead of being buffered all at once.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     /**
      * Find all transactions for a specific credit card.
      * 
      * @param creditCardId the ID of the credit card
      * @return list of transactions for the specified credit card
      */
-    List<Transaction> findByCreditCardId(Long creditCardId);
+    @Query("SELECT t FROM Transaction t WHERE t.creditCard.id = :creditCardId")
+    List<Transaction> findByCreditCardId(@Param("creditCardId") Long creditCardId);
     
     /**
      * Find all transactions for a specific credit card within a date range.
@@ -25,7 +41,11 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @param endDate the end date for filtering transactions
      * @return list of transactions within the specified date range for the given credit card
      */
-    List<Transaction> findByCreditCardIdAndTransactionDateBetween(Long creditCardId, Date startDate, Date endDate);
+    @Query("SELECT t FROM Transaction t WHERE t.creditCard.id = :creditCardId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<Transaction> findByCreditCardIdAndTransactionDateBetween(@Param("creditCardId") Long creditCardId,
+                                                                  @Param("startDate") Date startDate,
+                                                                  @Param("endDate") Date endDate);
     
     /**
      * Find all transactions for a specific credit card by type (CHARGE/CREDIT).
@@ -34,5 +54,128 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @param type the type of transaction (CHARGE or CREDIT)
      * @return list of transactions of the specified type for the given credit card
      */
-    List<Transaction> findByCreditCardIdAndType(Long creditCardId, String type);
+    @Query("SELECT t FROM Transaction t WHERE t.creditCard.id = :creditCardId AND t.type = :type")
+    List<Transaction> findByCreditCardIdAndType(@Param("creditCardId") Long creditCardId, @Param("type") String type);
+
+    /**
+     * Find the first page of transactions for a credit card, newest first.
+     * Ordered by (transactionDate, id) so the last row can be used as a keyset cursor.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param pageable page size (the page number must be 0; offsets are never used)
+     * @return transaction DTOs for the first page
+     */
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.id = :creditCardId " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDTO> findPageByCreditCardId(@Param("creditCardId") Long creditCardId, Pageable pageable);
+
+    /**
+     * Find the page of transactions for a credit card that follows the given (transactionDate, id) cursor.
+     * The seek predicate lets the database start reading right after the cursor, so every page
+     * costs the same as the first one.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param afterDate transaction date of the last row already returned
+     * @param afterId ID of the last row already returned
+     * @param pageable page size (the page number must be 0; offsets are never used)
+     * @return transaction DTOs strictly older than the cursor
+     */
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.id = :creditCardId " +
+           "AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDTO> findPageByCreditCardIdAfter(@Param("creditCardId") Long creditCardId,
+                                                     @Param("afterDate") Date afterDate,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    /**
+     * Find all transactions for every credit card of an owner with a single joined query.
+     *
+     * @param ownerId the ID number of the card owner
+     * @return transaction DTOs for all of the owner's cards, grouped by card
+     */
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.ownerId = :ownerId " +
+           "ORDER BY t.creditCard.id, t.transactionDate, t.id")
+    List<TransactionDTO> findDTOsByOwnerId(@Param("ownerId") String ownerId);
+
+    /**
+     * Stream all transactions for every credit card of an owner with a single joined query.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param ownerId the ID number of the card owner
+     * @return stream of transaction DTOs for all of the owner's cards, grouped by card
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.ownerId = :ownerId " +
+           "ORDER BY t.creditCard.id, t.transactionDate, t.id")
+    Stream<TransactionDTO> streamDTOsByOwnerId(@Param("ownerId") String ownerId);
+
+    /**
+     * Find all transactions for a specific credit card, selected straight into DTOs.
+     * No Transaction or CreditCard entity is instantiated or attached to the persistence context.
+     *
+     * @param creditCardId the ID of the credit card
+     * @return transaction DTOs for the specified credit card
+     */
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.id = :creditCardId")
+    List<TransactionDTO> findDTOsByCreditCardId(@Param("creditCardId") Long creditCardId);
+
+    /**
+     * Find all transactions for a specific credit card within a date range, selected straight into DTOs.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param startDate the start date for filtering transactions
+     * @param endDate the end date for filtering transactions
+     * @return transaction DTOs within the specified date range for the given credit card
+     */
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.id = :creditCardId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<TransactionDTO> findDTOsByCreditCardIdAndTransactionDateBetween(@Param("creditCardId") Long creditCardId,
+                                                                        @Param("startDate") Date startDate,
+                                                                        @Param("endDate") Date endDate);
+
+    /**
+     * Stream the transactions of a credit card within a date range, oldest first.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param startDate the start date for filtering transactions
+     * @param endDate the end date for filtering transactions
+     * @return stream of transaction DTOs within the date range, ordered by date
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.id = :creditCardId " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionDTO> streamDTOsByCreditCardIdAndTransactionDateBetween(@Param("creditCardId") Long creditCardId,
+                                                                            @Param("startDate") Date startDate,
+                                                                            @Param("endDate") Date endDate);
+
+    /**
+     * Find all transactions for a specific credit card by type, selected straight into DTOs.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param type the type of transaction (CHARGE or CREDIT)
+     * @return transaction DTOs of the specified type for the given credit card
+     */
+    @Query("SELECT new org.example.dto.TransactionDTO(t.id, t.transactionDate, t.amount, t.description, t.type) " +
+           "FROM Transaction t WHERE t.creditCard.id = :creditCardId AND t.type = :type")
+    List<TransactionDTO> findDTOsByCreditCardIdAndType(@Param("creditCardId") Long creditCardId,
+                                                       @Param("type") String type);
+
+    /**
+     * Find the owner of the credit card a transaction belongs to, without loading either entity.
+     *
+     * @param id the transaction ID
+     * @return the ID number of the card owner, or empty optional if the transaction does not exist
+     */
+    @Query("SELECT t.creditCard.ownerId FROM Transaction t WHERE t.id = :id")
+    Optional<String> findOwnerIdById(@Param("id") Long id);
 }
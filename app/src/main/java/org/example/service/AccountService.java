@@ -1,19 +1,87 @@
 package org.example.service;
 
+import org.example.dto.AccountDTO;
 import org.example.model.Account;
+import org.example.model.DailyRollup;
 import org.example.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class AccountService extends GenericServiceImpl<Account, Long, AccountRepository> {
 
+    private final OwnershipService ownershipService;
+    private final OwnerResponseCache ownerResponseCache;
+    private final ResourceVersions resourceVersions;
+    private final DailyRollupService dailyRollupService;
+
     @Autowired
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, OwnershipService ownershipService,
+                          OwnerResponseCache ownerResponseCache, ResourceVersions resourceVersions, DailyRollupService dailyRollupService) {
         super(accountRepository);
+        this.ownershipService = ownershipService;
+        this.ownerResponseCache = ownerResponseCache;
+        this.resourceVersions = resourceVersions;
+        this.dailyRollupService = dailyRollupService;
+    }
+
+    /**
+     * Save a new account, bump its version and drop the cached account list of its owner.
+     *
+     * @param entity the account to save
+     * @return the saved account
+     */
+    @Override
+    public Account save(Account entity) {
+        Account saved = super.save(entity);
+        resourceVersions.accountChanged(saved.getId());
+        ownerResponseCache.evictAccounts(saved.getOwnerId());
+        return saved;
+    }
+
+    /**
+     * Update an existing account, bump its version and drop its cached owner and the cached
+     * account lists of the previous and the new owner.
+     *
+     * @param id the ID of the account to update
+     * @param updatedEntity the updated account details
+     * @return the updated account if found, or empty optional otherwise
+     */
+    @Override
+    public Optional<Account> update(Long id, Account updatedEntity) {
+        Optional<String> previousOwner = ownershipService.getAccountOwner(id);
+        Optional<Account> updated = super.update(id, updatedEntity);
+        updated.ifPresent(account -> {
+            resourceVersions.accountChanged(id);
+            ownershipService.evictAccount(id);
+            previousOwner.ifPresent(ownerResponseCache::evictAccounts);
+            ownerResponseCache.evictAccounts(account.getOwnerId());
+        });
+        return updated;
+    }
+
+    /**
+     * Delete an account with its transactions and daily rollups, bump its version and drop its
+     * cached owner and the cached account list of its owner.
+     *
+     * @param id the ID of the account to delete
+     * @return true if deleted, false if the account was not found
+     */
+    @Override
+    public boolean delete(Long id) {
+        Optional<String> owner = ownershipService.getAccountOwner(id);
+        boolean deleted = super.delete(id);
+        if (deleted) {
+            dailyRollupService.entityDeleted(DailyRollup.ACCOUNT, id);
+            resourceVersions.accountChanged(id);
+            ownershipService.evictAccount(id);
+            owner.ifPresent(ownerResponseCache::evictAccounts);
+        }
+        return deleted;
     }
 
     /**
@@ -26,6 +94,20 @@ public class AccountService extends GenericServiceImpl<Account, Long, AccountRep
         return repository.findByOwnerId(ownerId);
     }
 
+    /**
+     * Retrieve all account DTOs for a specific owner ID.
+     * This method doesn't include transactions.
+     *
+     * @param ownerId the ID number of the account owner
+     * @return list of account DTOs owned by the specified ID
+     */
+    public List<AccountDTO> getAccountDTOsByOwnerId(String ownerId) {
+        return repository.findByOwnerId(ownerId)
+                .stream()
+                .map(AccountDTO::new)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get a specific account by its ID.
      * Delegating to the parent method for backward compatibility.
@@ -1,19 +1,26 @@
 package org.example.service;
 
 import org.example.dto.AccountTransactionDTO;
+import org.example.dto.SpendingSummary;
 import org.example.model.Account;
 import org.example.model.AccountTransaction;
+import org.example.model.DailyRollup;
 import org.example.repository.AccountRepository;
 import org.example.repository.AccountTransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Service for account transaction operations.
@@ -22,27 +29,21 @@ import java.util.stream.Collectors;
 public class AccountTransactionService extends BaseTransactionService<AccountTransaction, Account, AccountTransactionRepository> {
 
     private final AccountRepository accountRepository;
+    private final OwnershipService ownershipService;
+    private final OwnerResponseCache ownerResponseCache;
+    private final ResourceVersions resourceVersions;
+    private final DailyRollupService dailyRollupService;
 
     @Autowired
-    public AccountTransactionService(AccountTransactionRepository accountTransactionRepository, AccountRepository accountRepository) {
+    public AccountTransactionService(AccountTransactionRepository accountTransactionRepository, AccountRepository accountRepository,
+                                     OwnershipService ownershipService, OwnerResponseCache ownerResponseCache,
+                                     ResourceVersions resourceVersions, DailyRollupService dailyRollupService) {
         super(accountTransactionRepository);
         this.accountRepository = accountRepository;
-    }
-
-    /**
-     * Convert AccountTransaction entity to AccountTransactionDTO.
-     *
-     * @param transaction the transaction entity
-     * @return transaction DTO
-     */
-    private AccountTransactionDTO convertToDTO(AccountTransaction transaction) {
-        return new AccountTransactionDTO(
-            transaction.getId(),
-            transaction.getTransactionDate(),
-            transaction.getAmount(),
-            transaction.getDescription(),
-            transaction.getType()
-        );
+        this.ownershipService = ownershipService;
+        this.ownerResponseCache = ownerResponseCache;
+        this.resourceVersions = resourceVersions;
+        this.dailyRollupService = dailyRollupService;
     }
 
     /**
@@ -112,46 +113,112 @@ public class AccountTransactionService extends BaseTransactionService<AccountTra
 
     /**
      * Save a new transaction.
+     * Only the new row is inserted: the account is checked and locked by primary key and attached
+     * as an uninitialized reference, so neither the account nor its transaction history is loaded.
+     * The running balance of the new row is the one of the transaction before it plus its own
+     * amount; a backdated transaction also moves the balances of the transactions after it. The
+     * daily rollup of the account is updated in the same transaction. Once the insert commits,
+     * the account version is bumped and the cached account list of the owner is dropped.
      *
      * @param transaction the transaction to save
      * @param accountId the ID of the account for this transaction
      * @return optional containing the saved transaction if successful
      */
     @Override
+    @Transactional
     public Optional<AccountTransaction> saveTransaction(AccountTransaction transaction, Long accountId) {
-        Optional<Account> accountOpt = accountRepository.findById(accountId);
-        
-        if (accountOpt.isPresent()) {
-            Account account = accountOpt.get();
-            account.addTransaction(transaction);
-            accountRepository.save(account);
-            return Optional.of(transaction);
+        // The lock keeps concurrent movements of the account from reading the same previous balance
+        if (accountRepository.lockById(accountId).isEmpty()) {
+            return Optional.empty();
         }
-        
-        return Optional.empty();
+
+        transaction.setAccount(accountRepository.getReferenceById(accountId));
+        BigDecimal change = balanceChange(transaction);
+        BigDecimal previousBalance = repository.findRunningBalancesUpTo(accountId, transaction.getTransactionDate(),
+                PageRequest.of(0, 1)).stream().findFirst().orElse(BigDecimal.ZERO);
+        transaction.setRunningBalance(previousBalance.add(change));
+        AccountTransaction saved = repository.save(transaction);
+        repository.addToRunningBalancesAfter(accountId, saved.getTransactionDate(), saved.getId(), change);
+        dailyRollupService.transactionAdded(DailyRollup.ACCOUNT, accountId, saved);
+        accountChangedAfterCommit(accountId);
+        return Optional.of(saved);
     }
 
     /**
-     * Delete a transaction by its ID.
-     * Delegating to parent method.
+     * Delete a transaction by its ID, take its amount out of the running balances of the
+     * transactions after it and remove it from the daily rollup of its account.
+     * Once the delete commits, the account version is bumped and the cached account list of
+     * the owner is dropped.
      *
      * @param id the ID of the transaction to delete
      * @return true if deleted successfully, false otherwise
      */
+    @Transactional
     public boolean deleteTransaction(Long id) {
-        return delete(id);
+        Optional<AccountTransaction> transaction = repository.findById(id);
+        if (transaction.isEmpty()) {
+            return false;
+        }
+        // The account is an uninitialized reference; reading its ID does not load it
+        Long accountId = transaction.get().getAccount().getId();
+        accountRepository.lockById(accountId);
+        repository.delete(transaction.get());
+        repository.addToRunningBalancesAfter(accountId, transaction.get().getTransactionDate(), id,
+                balanceChange(transaction.get()).negate());
+        dailyRollupService.transactionRemoved(DailyRollup.ACCOUNT, accountId, transaction.get());
+        accountChangedAfterCommit(accountId);
+        return true;
+    }
+
+    /**
+     * Summarize the transactions of an account by period and type.
+     * Read from the daily rollups, so the cost depends on the number of days in the range,
+     * not on the number of transactions.
+     *
+     * @param accountId the account ID
+     * @param startDate first day of the range
+     * @param endDate last day of the range, inclusive
+     * @param period the length of the periods to group by
+     * @return one summary per period and type that has transactions
+     */
+    public List<SpendingSummary> getSpendingSummaryByAccountId(Long accountId, LocalDate startDate, LocalDate endDate,
+                                                               SpendingSummary.Period period) {
+        return dailyRollupService.getSummary(DailyRollup.ACCOUNT, accountId, startDate, endDate, period);
+    }
+
+    private static BigDecimal balanceChange(AccountTransaction transaction) {
+        return "CREDIT".equals(transaction.getType()) ? transaction.getAmount() : transaction.getAmount().negate();
+    }
+
+    private void accountChangedAfterCommit(Long accountId) {
+        // Readers must not pick up the new version before they can see the change
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accountChanged(accountId);
+                }
+            });
+        } else {
+            accountChanged(accountId);
+        }
+    }
+
+    private void accountChanged(Long accountId) {
+        resourceVersions.accountChanged(accountId);
+        ownershipService.getAccountOwner(accountId).ifPresent(ownerResponseCache::evictAccounts);
     }
 
     /**
      * Get transactions for a specific account as DTOs.
+     * The DTOs are selected directly by the query, so no entity is loaded.
      *
      * @param accountId the account ID
      * @return list of transaction DTOs for the specified account
      */
+    @Transactional(readOnly = true)
     public List<AccountTransactionDTO> getTransactionDTOsByAccountId(Long accountId) {
-        return repository.findByAccountId(accountId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByAccountId(accountId);
     }
 
     /**
@@ -161,14 +228,9 @@ public class AccountTransactionService extends BaseTransactionService<AccountTra
      * @param count the number of transactions to retrieve
      * @return list of the last N transaction DTOs for the specified account
      */
+    @Transactional(readOnly = true)
     public List<AccountTransactionDTO> getLastTransactionDTOsByAccountId(Long accountId, int count) {
-        return repository.findByAccountId(
-                accountId,
-                PageRequest.of(0, count, Sort.by(Sort.Direction.DESC, "transactionDate"))
-            )
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return repository.findLastDTOsByAccountId(accountId, PageRequest.of(0, count));
     }
 
     /**
@@ -179,10 +241,27 @@ public class AccountTransactionService extends BaseTransactionService<AccountTra
      * @param endDate end date for the date range
      * @return list of transaction DTOs for the specified account within the date range
      */
+    @Transactional(readOnly = true)
     public List<AccountTransactionDTO> getTransactionDTOsByAccountIdAndDateRange(Long accountId, Date startDate, Date endDate) {
-        return repository.findByAccountIdAndTransactionDateBetween(accountId, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByAccountIdAndTransactionDateBetween(accountId, startDate, endDate);
+    }
+
+    /**
+     * Stream the transactions of an account within a date range as DTOs, oldest first.
+     * Rows are read through a forward-only cursor and handed to the consumer one at a time,
+     * so memory use does not depend on the size of the range.
+     *
+     * @param accountId the account ID
+     * @param startDate start date for the date range
+     * @param endDate end date for the date range
+     * @param consumer receives each transaction DTO as it is read
+     * @return the number of transactions streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactionDTOsByAccountIdAndDateRange(Long accountId, Date startDate, Date endDate,
+                                                            Consumer<AccountTransactionDTO> consumer) {
+        return forEachRow(repository.streamDTOsByAccountIdAndTransactionDateBetween(accountId, startDate, endDate),
+                consumer);
     }
 
     /**
@@ -192,9 +271,8 @@ public class AccountTransactionService extends BaseTransactionService<AccountTra
      * @param type the transaction type (e.g., CHARGE or CREDIT)
      * @return list of transaction DTOs for the specified account and type
      */
+    @Transactional(readOnly = true)
     public List<AccountTransactionDTO> getTransactionDTOsByAccountIdAndType(Long accountId, String type) {
-        return repository.findByAccountIdAndType(accountId, type).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByAccountIdAndType(accountId, type);
     }
 }
@@ -1,29 +1,140 @@
 package org.example.service;
 
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import org.example.dto.TokenStats;
 import org.example.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Base64;
-import java.util.Collections;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service for handling user authentication.
+ * <p>
+ * Tokens are self-contained and signed, so any node holding the same secret can validate them
+ * without shared session state. A token has the form
+ * {@code <ownerId>.<expiresAt>.<tokenId>.<signature>}: the base64url owner ID, the expiry in
+ * epoch seconds, a random token ID and the base64url HMAC-SHA256 of everything before the last dot.
+ * Revoked tokens are remembered by token ID on a deny-list only until they would have expired anyway.
+ * The deny-list holds at most {@code app.auth.max-revoked-tokens} entries; past the cap the oldest
+ * revocations are dropped, so those tokens are accepted again until they expire. Every dropped
+ * revocation is counted in {@link TokenStats} and logged, so a cap that is too small is noticed.
  */
 @Service
 public class AuthService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     // In a real application, this would be stored in a database
     private static final User VALID_USER = new User("15.413.217-1", "AiPuedaexeeb0ei", "12345678");
-    
-    // Simple in-memory token storage (in a real application, this would use a more robust solution)
-    private final Map<String, String> activeTokens = new ConcurrentHashMap<>();
-    
+
+    static final Duration DEFAULT_TOKEN_TTL = Duration.ofMinutes(30);
+    static final long DEFAULT_MAX_REVOKED_TOKENS = 100_000;
+    // Log the first dropped revocation and then every this many, so a full deny-list cannot flood the log
+    private static final long EVICTION_LOG_INTERVAL = 1_000;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final int TOKEN_ID_BYTES = 9;
+    // Base64url length of a 32 byte HMAC-SHA256 without padding
+    private static final int SIGNATURE_LENGTH = 43;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final TokenIdGenerator tokenIds;
+    // Mac instances are not thread-safe; each thread initializes its own once with the cached key
+    private final ThreadLocal<Mac> macs;
+    private final Duration tokenTtl;
+    private final Clock clock;
+    private final long maxRevokedTokens;
+    private final Cache<String, Boolean> revokedTokens;
+    private final LongAdder acceptedTokens = new LongAdder();
+    private final LongAdder rejectedTokens = new LongAdder();
+    private final LongAdder expiredTokens = new LongAdder();
+    private final LongAdder revokedTokenHits = new LongAdder();
+    private final AtomicLong evictedRevocations = new AtomicLong();
+
+    /**
+     * Create the service with a random signing secret and the default token TTL.
+     */
+    public AuthService() {
+        this("", DEFAULT_TOKEN_TTL, Clock.systemUTC());
+    }
+
+    /**
+     * Create the service with the shared token ID generator.
+     */
+    public AuthService(String tokenSecret, Duration tokenTtl) {
+        this(tokenSecret, tokenTtl, Clock.systemUTC());
+    }
+
+    @Autowired
+    public AuthService(@Value("${app.auth.token-secret:}") String tokenSecret,
+                       @Value("${app.auth.token-ttl:PT30M}") Duration tokenTtl,
+                       @Value("${app.auth.token-id-random:shared}") String tokenIdRandom,
+                       @Value("${app.auth.max-revoked-tokens:100000}") long maxRevokedTokens) {
+        this(tokenSecret, tokenTtl, TokenIdGenerator.forName(tokenIdRandom), maxRevokedTokens, Clock.systemUTC());
+    }
+
+    AuthService(String tokenSecret, Duration tokenTtl, Clock clock) {
+        this(tokenSecret, tokenTtl, TokenIdGenerator.shared(), clock);
+    }
+
+    AuthService(String tokenSecret, Duration tokenTtl, TokenIdGenerator tokenIds, Clock clock) {
+        this(tokenSecret, tokenTtl, tokenIds, DEFAULT_MAX_REVOKED_TOKENS, clock);
+    }
+
+    AuthService(String tokenSecret, Duration tokenTtl, TokenIdGenerator tokenIds, long maxRevokedTokens, Clock clock) {
+        this.tokenTtl = tokenTtl;
+        this.maxRevokedTokens = maxRevokedTokens;
+        this.clock = clock;
+        this.tokenIds = tokenIds;
+        SecretKeySpec key = signingKey(tokenSecret);
+        newMac(key); // fail at startup rather than on the first request
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+        this.revokedTokens = CacheBuilder.newBuilder()
+                // A token is never valid for longer than the TTL after it was issued
+                .expireAfterWrite(tokenTtl)
+                .maximumSize(maxRevokedTokens)
+                .<String, Boolean>removalListener(notification -> {
+                    if (notification.getCause() == RemovalCause.SIZE) {
+                        long evicted = evictedRevocations.incrementAndGet();
+                        if (evicted == 1 || evicted % EVICTION_LOG_INTERVAL == 0) {
+                            log.warn("Token deny-list is full ({} entries); {} revocations dropped before their "
+                                    + "tokens expired, raise app.auth.max-revoked-tokens", maxRevokedTokens, evicted);
+                        }
+                    }
+                })
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+                    }
+                })
+                .build();
+    }
+
     /**
      * Authenticates a user with the provided credentials.
-     * 
+     *
      * @param username the username
      * @param password the password
      * @return the authenticated user if credentials are valid, null otherwise
@@ -35,39 +146,188 @@ public class AuthService {
         }
         return null;
     }
-    
+
     /**
-     * Generates a token for the authenticated user.
-     * 
+     * Generates a signed token for the authenticated user, valid for the configured TTL.
+     *
      * @param user the authenticated user
      * @return the generated token
      */
     public String generateToken(User user) {
-        // Generate a random token
-        String token = UUID.randomUUID().toString();
-        
-        // Store the token with the user's ownerId
-        activeTokens.put(token, user.getOwnerId());
-        
-        return token;
-    }
-    
+        byte[] tokenId = new byte[TOKEN_ID_BYTES];
+        tokenIds.nextBytes(tokenId);
+        long expiresAt = clock.millis() / 1000 + tokenTtl.toSeconds();
+
+        String payload = ENCODER.encodeToString(user.getOwnerId().getBytes(StandardCharsets.UTF_8))
+                + '.' + expiresAt + '.' + ENCODER.encodeToString(tokenId);
+        return payload + '.' + ENCODER.encodeToString(sign(payload, payload.length()));
+    }
+
     /**
      * Validates a token and returns the associated ownerId.
-     * 
+     * Only the signature, the expiry and the deny-list are checked; no session state is needed.
+     *
      * @param token the token to validate
-     * @return the ownerId associated with the token, or null if the token is invalid
+     * @return the ownerId associated with the token, or null if the token is invalid, expired or revoked
      */
     public String validateToken(String token) {
-        return activeTokens.get(token);
+        int signatureStart = verifiedPayloadLength(token);
+        if (signatureStart < 0) {
+            rejectedTokens.increment();
+            return null;
+        }
+        int ownerEnd = token.indexOf('.');
+        int expiryEnd = token.indexOf('.', ownerEnd + 1);
+        if (parseSeconds(token, ownerEnd + 1, expiryEnd) <= clock.millis() / 1000) {
+            expiredTokens.increment();
+            return null;
+        }
+        if (revokedTokens.getIfPresent(token.substring(expiryEnd + 1, signatureStart)) != null) {
+            revokedTokenHits.increment();
+            return null;
+        }
+        String ownerId;
+        try {
+            ownerId = new String(DECODER.decode(token.substring(0, ownerEnd)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Correctly signed, so only a token issued with a broken encoder gets here
+            rejectedTokens.increment();
+            return null;
+        }
+        acceptedTokens.increment();
+        return ownerId;
     }
-    
+
     /**
-     * Invalidates a token.
-     * 
+     * Invalidates a token by putting it on the deny-list until it expires.
+     * Tokens that are not correctly signed or already expired are ignored.
+     *
      * @param token the token to invalidate
      */
     public void invalidateToken(String token) {
-        activeTokens.remove(token);
+        int signatureStart = verifiedPayloadLength(token);
+        if (signatureStart < 0) {
+            return;
+        }
+        int ownerEnd = token.indexOf('.');
+        int expiryEnd = token.indexOf('.', ownerEnd + 1);
+        if (parseSeconds(token, ownerEnd + 1, expiryEnd) > clock.millis() / 1000) {
+            revokedTokens.put(token.substring(expiryEnd + 1, signatureStart), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Drop deny-list entries of tokens that have expired even when no requests arrive to do it along the way.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.token-cleanup-interval-ms:60000}")
+    public void cleanUpTokens() {
+        revokedTokens.cleanUp();
+    }
+
+    /**
+     * Get the token validation counters and the size of the deny-list.
+     *
+     * @return snapshot of the token metrics
+     */
+    public TokenStats getTokenStats() {
+        revokedTokens.cleanUp();
+        return new TokenStats(acceptedTokens.sum(), rejectedTokens.sum(), expiredTokens.sum(),
+                revokedTokenHits.sum(), revokedTokens.size(), maxRevokedTokens, evictedRevocations.get(),
+                tokenTtl.toSeconds());
+    }
+
+    /**
+     * Check the token's layout and signature.
+     *
+     * @return the index of the dot before the signature, or -1 if the token is malformed or forged
+     */
+    private int verifiedPayloadLength(String token) {
+        if (token == null || !isTokenAlphabet(token)) {
+            return -1;
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0 || token.length() - signatureStart - 1 != SIGNATURE_LENGTH) {
+            return -1;
+        }
+        int ownerEnd = token.indexOf('.');
+        int expiryEnd = ownerEnd < 0 ? -1 : token.indexOf('.', ownerEnd + 1);
+        if (ownerEnd <= 0 || expiryEnd < 0 || token.indexOf('.', expiryEnd + 1) != signatureStart
+                || parseSeconds(token, ownerEnd + 1, expiryEnd) < 0) {
+            return -1;
+        }
+
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return MessageDigest.isEqual(signature, sign(token, signatureStart)) ? signatureStart : -1;
+    }
+
+    private byte[] sign(String token, int length) {
+        return macs.get().doFinal(token.substring(0, length).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Check that a token only holds base64url characters and dots. Any other character could share
+     * the signed bytes of a valid token while changing its owner or deny-list key.
+     */
+    private static boolean isTokenAlphabet(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9'
+                    || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse the decimal digits in {@code [start, end)} without allocating.
+     *
+     * @return the value, or -1 if the range is empty, too long or not all digits
+     */
+    private static long parseSeconds(String token, int start, int end) {
+        if (end <= start || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private SecretKeySpec signingKey(String tokenSecret) {
+        byte[] secret;
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            log.warn("app.auth.token-secret is not set; using a random secret, so tokens are only valid "
+                    + "on this node until it restarts");
+            secret = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = Base64.getDecoder().decode(tokenSecret.trim());
+            if (secret.length < MIN_SECRET_BYTES) {
+                throw new IllegalArgumentException(
+                        "app.auth.token-secret must be at least " + MIN_SECRET_BYTES + " bytes of base64");
+            }
+        }
+        return new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+        }
     }
 }
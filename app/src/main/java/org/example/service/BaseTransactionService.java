@@ -5,8 +5,11 @@ import org.example.model.BaseTransaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Base service for transaction operations
@@ -57,4 +60,25 @@ public abstract class BaseTransactionService<T extends BaseTransaction, E extend
      * @return the saved transaction
      */
     public abstract Optional<T> saveTransaction(T transaction, Long entityId);
+
+    /**
+     * Hand the rows of a database stream to a consumer one at a time and close the stream,
+     * releasing its cursor, once they have all been consumed or the consumer has failed.
+     *
+     * @param rows the rows to consume, read lazily from a forward-only cursor
+     * @param consumer receives each row as it is read
+     * @param <D> type of the rows
+     * @return the number of rows consumed
+     */
+    protected static <D> long forEachRow(Stream<D> rows, Consumer<? super D> consumer) {
+        long count = 0;
+        try (rows) {
+            Iterator<D> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
 }
@@ -0,0 +1,70 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.config.SecondLevelCacheConfig;
+import org.example.dto.CacheRegionStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service that reports how well the Hibernate second-level cache and the owner response cache are working.
+ */
+@Service
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final OwnerResponseCache ownerResponseCache;
+
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory, OwnerResponseCache ownerResponseCache) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.ownerResponseCache = ownerResponseCache;
+    }
+
+    /**
+     * Get the counters of every cache: the second-level cache regions followed by the
+     * cached owner card and account lists.
+     *
+     * @return one snapshot per cache region
+     */
+    public List<CacheRegionStats> getCacheStats() {
+        List<CacheRegionStats> stats = getSecondLevelCacheStats();
+        stats.addAll(ownerResponseCache.getStats());
+        return stats;
+    }
+
+    /**
+     * Get the hit, miss and put counters of the entity and query cache regions.
+     * Query regions that have not been used yet are reported with zero counters.
+     *
+     * @return one snapshot per cache region
+     */
+    public List<CacheRegionStats> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> stats = new ArrayList<>();
+        stats.add(toStats(SecondLevelCacheConfig.CREDIT_CARD_REGION,
+                statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CREDIT_CARD_REGION)));
+        stats.add(toStats(SecondLevelCacheConfig.ACCOUNT_REGION,
+                statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.ACCOUNT_REGION)));
+        stats.add(toStats(SecondLevelCacheConfig.CREDIT_CARDS_BY_OWNER_REGION,
+                statistics.getQueryRegionStatistics(SecondLevelCacheConfig.CREDIT_CARDS_BY_OWNER_REGION)));
+        stats.add(toStats(SecondLevelCacheConfig.ACCOUNTS_BY_OWNER_REGION,
+                statistics.getQueryRegionStatistics(SecondLevelCacheConfig.ACCOUNTS_BY_OWNER_REGION)));
+        return stats;
+    }
+
+    private static CacheRegionStats toStats(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return new CacheRegionStats(region, 0, 0, 0, 0);
+        }
+        long elementCount = regionStatistics.getElementCountInMemory();
+        return new CacheRegionStats(region, regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                regionStatistics.getPutCount(), elementCount < 0 ? -1 : elementCount);
+    }
+}
@@ -0,0 +1,384 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.model.CreditCard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory authorization engine for credit card transactions.
+ * <p>
+ * The available credit of every card (the {@code balance} column of {@code credit_cards})
+ * is kept in memory, so a charge is approved or declined without a locking read of the card row.
+ * Cards are guarded by a fixed set of lock stripes chosen by card id: charges on different
+ * cards rarely contend, and two charges on the same card are always serialized, so the
+ * available credit can never go below zero and a card can never be charged past its limit.
+ * <p>
+ * Approved changes are accumulated as per-card deltas and written back to {@code credit_cards}
+ * in batches by {@link #flush()}. The state is rebuilt from the database on startup, and a card
+ * that is not yet known (for example one created after startup) is loaded on first use.
+ */
+@Service
+public class CardAuthorizationLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(CardAuthorizationLedger.class);
+
+    /**
+     * Outcome of an authorization request.
+     */
+    public enum Decision {
+        APPROVED,
+        DECLINED_INSUFFICIENT_CREDIT,
+        DECLINED_CARD_INACTIVE,
+        DECLINED_INVALID_AMOUNT,
+        DECLINED_INVALID_TYPE,
+        CARD_NOT_FOUND
+    }
+
+    /**
+     * Number of lock stripes; a power of two so the stripe is a mask of the spread card id.
+     */
+    static final int STRIPES = 64;
+
+    static final String SELECT_CARD_SQL = "SELECT id, balance, status FROM credit_cards WHERE id = ?";
+    static final String SELECT_ALL_SQL = "SELECT id, balance, status FROM credit_cards";
+    static final String UPDATE_BALANCE_SQL = "UPDATE credit_cards SET balance = balance + ? WHERE id = ?";
+
+    private static final RowMapper<CardSnapshot> SNAPSHOT_MAPPER = (rs, rowNum) -> new CardSnapshot(
+            rs.getLong("id"), rs.getBigDecimal("balance"), rs.getBoolean("status"));
+
+    /**
+     * A card row as read from the database. The balance is the credit still available
+     * under the card's limit, so keeping it at or above zero is what enforces the limit.
+     */
+    record CardSnapshot(long id, BigDecimal balance, boolean active) {
+    }
+
+    /**
+     * Mutable in-memory state of one card, in cents. Only touched while holding the card's stripe.
+     */
+    private static final class CardState {
+        private long available;
+        private boolean active;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Long, CardState> cards = new ConcurrentHashMap<>();
+    // Approved changes not yet written to credit_cards, in cents; only touched under the card's stripe
+    private final Map<Long, Long> pendingDeltas = new ConcurrentHashMap<>();
+    // Held while deltas are written back, so a card is never loaded from a row that is about to change
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public CardAuthorizationLedger(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Approve or decline a transaction and, if approved, apply it to the card's available credit.
+     * A CHARGE is approved only if the card is active and has enough available credit;
+     * a CREDIT is always applied to an existing card.
+     *
+     * @param cardId the ID of the credit card
+     * @param type the type of transaction (CHARGE or CREDIT)
+     * @param amount the transaction amount, positive with at most two decimals
+     * @return the authorization decision
+     */
+    public Decision authorize(Long cardId, String type, BigDecimal amount) {
+        boolean charge = "CHARGE".equals(type);
+        if (!charge && !"CREDIT".equals(type)) {
+            return Decision.DECLINED_INVALID_TYPE;
+        }
+        long cents = toCents(amount);
+        if (cents <= 0) {
+            return Decision.DECLINED_INVALID_AMOUNT;
+        }
+
+        if (!cards.containsKey(cardId) && load(cardId) == null) {
+            return Decision.CARD_NOT_FOUND;
+        }
+
+        ReentrantLock lock = stripe(cardId);
+        lock.lock();
+        try {
+            // Read under the stripe, so a concurrent refresh or delete is never missed
+            CardState state = cards.get(cardId);
+            if (state == null) {
+                return Decision.CARD_NOT_FOUND;
+            }
+            if (charge) {
+                if (!state.active) {
+                    return Decision.DECLINED_CARD_INACTIVE;
+                }
+                if (state.available < cents) {
+                    return Decision.DECLINED_INSUFFICIENT_CREDIT;
+                }
+                apply(cardId, state, -cents);
+            } else {
+                apply(cardId, state, cents);
+            }
+            return Decision.APPROVED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Undo a previously approved transaction, for example when its insert was rolled back
+     * or the transaction was deleted. A card that is not yet known is loaded first.
+     *
+     * @param cardId the ID of the credit card
+     * @param type the type of the approved transaction (CHARGE or CREDIT)
+     * @param amount the amount of the approved transaction
+     */
+    public void reverse(Long cardId, String type, BigDecimal amount) {
+        long cents = toCents(amount);
+        if (cents <= 0 || !cards.containsKey(cardId) && load(cardId) == null) {
+            return;
+        }
+        ReentrantLock lock = stripe(cardId);
+        lock.lock();
+        try {
+            CardState state = cards.get(cardId);
+            if (state != null) {
+                apply(cardId, state, "CHARGE".equals(type) ? cents : -cents);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the available credit the ledger holds for a card, including changes not yet written back.
+     *
+     * @param cardId the ID of the credit card
+     * @return the available credit, or empty optional if the card does not exist
+     */
+    public Optional<BigDecimal> getAvailableCredit(Long cardId) {
+        if (!cards.containsKey(cardId) && load(cardId) == null) {
+            return Optional.empty();
+        }
+        ReentrantLock lock = stripe(cardId);
+        lock.lock();
+        try {
+            CardState state = cards.get(cardId);
+            return state == null ? Optional.empty() : Optional.of(BigDecimal.valueOf(state.available, 2));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reload a card after its row was changed outside the ledger (card updated through the API).
+     * Changes not yet written back are kept and applied on top of the new row.
+     *
+     * @param cardId the ID of the credit card
+     */
+    public void refresh(Long cardId) {
+        flushLock.lock();
+        try {
+            List<CardSnapshot> rows = jdbcTemplate.query(SELECT_CARD_SQL, SNAPSHOT_MAPPER, cardId);
+            ReentrantLock lock = stripe(cardId);
+            lock.lock();
+            try {
+                if (rows.isEmpty()) {
+                    cards.remove(cardId);
+                    pendingDeltas.remove(cardId);
+                } else {
+                    cards.put(cardId, stateOf(rows.get(0)));
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Forget a deleted card and any of its changes not yet written back.
+     *
+     * @param cardId the ID of the credit card
+     */
+    public void evict(Long cardId) {
+        ReentrantLock lock = stripe(cardId);
+        lock.lock();
+        try {
+            cards.remove(cardId);
+            pendingDeltas.remove(cardId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Load every card from the database. Cards already loaded on demand are left as they are.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        flushLock.lock();
+        try (Stream<CardSnapshot> rows = jdbcTemplate.queryForStream(SELECT_ALL_SQL, SNAPSHOT_MAPPER)) {
+            rows.forEach(this::install);
+            log.info("Authorization ledger loaded {} credit cards", cards.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write the accumulated balance changes back to {@code credit_cards} with one JDBC batch.
+     * The written cards are evicted from the second-level cache, which does not see JDBC updates,
+     * and a {@link CardBalancesWrittenEvent} is published for caches built on top of the cards.
+     * If the write fails the changes are queued again for the next flush.
+     *
+     * @return the number of cards whose balance was written
+     */
+    @Scheduled(fixedDelayString = "${app.authorization.flush-interval-ms:250}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<Object[]> batch = new ArrayList<>();
+            for (Long cardId : new ArrayList<>(pendingDeltas.keySet())) {
+                ReentrantLock lock = stripe(cardId);
+                lock.lock();
+                try {
+                    Long delta = pendingDeltas.remove(cardId);
+                    if (delta != null && delta != 0) {
+                        batch.add(new Object[]{BigDecimal.valueOf(delta, 2), cardId});
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, batch);
+                List<Long> cardIds = new ArrayList<>(batch.size());
+                for (Object[] row : batch) {
+                    entityManagerFactory.getCache().evict(CreditCard.class, row[1]);
+                    cardIds.add((Long) row[1]);
+                }
+                eventPublisher.publishEvent(new CardBalancesWrittenEvent(cardIds));
+                return batch.size();
+            } catch (DataAccessException e) {
+                log.warn("Writing back {} card balances failed, retrying on the next flush", batch.size(), e);
+                for (Object[] row : batch) {
+                    requeue((Long) row[1], ((BigDecimal) row[0]).unscaledValue().longValue());
+                }
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write back whatever is still pending when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private CardState load(Long cardId) {
+        flushLock.lock();
+        try {
+            CardState state = cards.get(cardId);
+            if (state != null) {
+                return state;
+            }
+            List<CardSnapshot> rows = jdbcTemplate.query(SELECT_CARD_SQL, SNAPSHOT_MAPPER, cardId);
+            return rows.isEmpty() ? null : install(rows.get(0));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Add a card read from the database unless it is already known. Caller holds the flush lock,
+     * so any delta still pending for the card is not yet part of the row.
+     */
+    private CardState install(CardSnapshot row) {
+        ReentrantLock lock = stripe(row.id());
+        lock.lock();
+        try {
+            return cards.computeIfAbsent(row.id(), id -> stateOf(row));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CardState stateOf(CardSnapshot row) {
+        CardState state = new CardState();
+        state.available = row.balance().movePointRight(2).longValue() + pendingDeltas.getOrDefault(row.id(), 0L);
+        state.active = row.active();
+        return state;
+    }
+
+    private void apply(Long cardId, CardState state, long delta) {
+        state.available += delta;
+        pendingDeltas.merge(cardId, delta, Long::sum);
+    }
+
+    private void requeue(Long cardId, long delta) {
+        ReentrantLock lock = stripe(cardId);
+        lock.lock();
+        try {
+            if (cards.containsKey(cardId)) {
+                pendingDeltas.merge(cardId, delta, Long::sum);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripe(Long cardId) {
+        long h = cardId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Convert an amount to cents, or -1 if it is missing, not positive or has more than two decimals.
+     */
+    private static long toCents(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            return -1;
+        }
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+}
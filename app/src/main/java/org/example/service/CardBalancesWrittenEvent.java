@@ -0,0 +1,11 @@
+package org.example.service;
+
+import java.util.List;
+
+/**
+ * Published by the {@link CardAuthorizationLedger} after it wrote new balances to {@code credit_cards}.
+ *
+ * @param cardIds the IDs of the cards whose balance changed
+ */
+public record CardBalancesWrittenEvent(List<Long> cardIds) {
+}
@@ -0,0 +1,20 @@
+package org.example.service;
+
+/**
+ * Thrown when the authorization ledger declines a credit card transaction.
+ */
+public class ChargeDeclinedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CardAuthorizationLedger.Decision decision;
+
+    public ChargeDeclinedException(Long creditCardId, CardAuthorizationLedger.Decision decision) {
+        super("Transaction on credit card " + creditCardId + " declined: " + decision);
+        this.decision = decision;
+    }
+
+    public CardAuthorizationLedger.Decision getDecision() {
+        return decision;
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.AccountDTO;
+import org.example.dto.AccountTransactionDTO;
+import org.example.dto.ClientOverview;
+import org.example.dto.CreditCardDTO;
+import org.example.dto.TransactionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Service that assembles the client overview shown on the home screen.
+ * <p>
+ * The card list, the account list and the recent transactions of every card and account are
+ * independent queries, so they run concurrently on a bounded pool: the transaction queries of the
+ * cards start as soon as the card list arrives, those of the accounts as soon as the account list
+ * does. The whole overview has one deadline. Parts that are not ready by then, that fail, or that
+ * the pool has no room for are reported as unavailable instead of failing the request; the queries
+ * of parts that missed the deadline are cancelled, so they do not hold on to the pool.
+ */
+@Service
+public class ClientOverviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientOverviewService.class);
+
+    private final CreditCardService creditCardService;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final AccountTransactionService accountTransactionService;
+    private final Duration timeout;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ClientOverviewService(CreditCardService creditCardService, AccountService accountService,
+                                 TransactionService transactionService,
+                                 AccountTransactionService accountTransactionService,
+                                 @Value("${app.overview.threads:8}") int threads,
+                                 @Value("${app.overview.queue-capacity:256}") int queueCapacity,
+                                 @Value("${app.overview.timeout:PT2S}") Duration timeout) {
+        this.creditCardService = creditCardService;
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.accountTransactionService = accountTransactionService;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("client-overview-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Get the cards, accounts, balances and last transactions of a client.
+     *
+     * @param ownerId the ID number of the client
+     * @param transactionCount the number of recent transactions per card and account
+     *                         (clamped to 1..{@link TransactionService#MAX_PAGE_SIZE})
+     * @return the overview, with the parts that could not be loaded in time listed as unavailable
+     */
+    public ClientOverview getOverview(String ownerId, int transactionCount) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int count = Math.max(1, Math.min(transactionCount, TransactionService.MAX_PAGE_SIZE));
+
+        CompletableFuture<List<CreditCardDTO>> cards = submit(() -> creditCardService.getCardDTOsByOwnerId(ownerId));
+        CompletableFuture<List<AccountDTO>> accounts = submit(() -> accountService.getAccountDTOsByOwnerId(ownerId));
+        CompletableFuture<Map<Long, CompletableFuture<List<TransactionDTO>>>> cardTransactions =
+                cards.thenApply(list -> fanOut(list, CreditCardDTO::getId,
+                        id -> transactionService.getTransactionPageByCreditCardId(id, count, null).getTransactions()));
+        CompletableFuture<Map<Long, CompletableFuture<List<AccountTransactionDTO>>>> accountTransactions =
+                accounts.thenApply(list -> fanOut(list, AccountDTO::getId,
+                        id -> accountTransactionService.getLastTransactionDTOsByAccountId(id, count)));
+
+        ClientOverview overview = new ClientOverview(ownerId);
+        await(cards, deadline, "cards", overview).ifPresent(list -> {
+            overview.setCards(list);
+            overview.setTotalCardBalance(sum(list.stream().map(CreditCardDTO::getBalance).toList()));
+        });
+        await(accounts, deadline, "accounts", overview).ifPresent(list -> {
+            overview.setAccounts(list);
+            overview.setTotalAccountBalance(sum(list.stream().map(AccountDTO::getBalance).toList()));
+        });
+        // The transaction queries only fail to start if their list is missing, which is already reported
+        await(cardTransactions, deadline, "cards", null).ifPresent(byCard ->
+                byCard.forEach((id, transactions) -> await(transactions, deadline, "card:" + id, overview)
+                        .ifPresent(list -> overview.getCardTransactions().put(id, list))));
+        await(accountTransactions, deadline, "accounts", null).ifPresent(byAccount ->
+                byAccount.forEach((id, transactions) -> await(transactions, deadline, "account:" + id, overview)
+                        .ifPresent(list -> overview.getAccountTransactions().put(id, list))));
+        return overview;
+    }
+
+    /**
+     * Stop the pool when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run a query on the pool. Cancelling the returned future interrupts the query if it is running
+     * and drops it if it is still queued, which CompletableFuture.cancel alone would not do.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    future.complete(query.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, failure) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    private <E, T> Map<Long, CompletableFuture<T>> fanOut(List<E> parents, Function<E, Long> id,
+                                                         Function<Long, T> query) {
+        Map<Long, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (E parent : parents) {
+            Long parentId = id.apply(parent);
+            futures.put(parentId, submit(() -> query.apply(parentId)));
+        }
+        return futures;
+    }
+
+    /**
+     * Wait for one part until the deadline.
+     *
+     * @param source name the part is reported under if it is not available
+     * @param overview the overview to report it in, or null if its failure is reported elsewhere
+     * @return the part, or empty optional if it failed or is not ready by the deadline
+     */
+    private <T> Optional<T> await(CompletableFuture<T> future, long deadline, String source, ClientOverview overview) {
+        Throwable failure;
+        try {
+            return Optional.of(future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // Nobody waits for it any more: stop the query and any queries that would follow from it
+            future.cancel(true);
+            failure = null;
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        }
+        if (overview != null) {
+            if (failure == null) {
+                log.warn("Client overview part {} of {} not ready within {} ms", source, overview.getOwnerId(),
+                        timeout.toMillis());
+            } else {
+                log.warn("Client overview part {} of {} failed", source, overview.getOwnerId(), failure);
+            }
+            overview.getUnavailable().add(source);
+        }
+        return Optional.empty();
+    }
+
+    private static BigDecimal sum(List<BigDecimal> balances) {
+        return balances.stream()
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
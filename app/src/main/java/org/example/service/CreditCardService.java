@@ -2,6 +2,7 @@ package org.example.service;
 
 import org.example.dto.CreditCardDTO;
 import org.example.model.CreditCard;
+import org.example.model.DailyRollup;
 import org.example.repository.CreditCardRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,9 +14,84 @@ import java.util.stream.Collectors;
 @Service
 public class CreditCardService extends GenericServiceImpl<CreditCard, Long, CreditCardRepository> {
 
+    private final CardAuthorizationLedger authorizationLedger;
+    private final OwnershipService ownershipService;
+    private final OwnerResponseCache ownerResponseCache;
+    private final ResourceVersions resourceVersions;
+    private final DailyRollupService dailyRollupService;
+    private final StatementService statementService;
+
     @Autowired
-    public CreditCardService(CreditCardRepository creditCardRepository) {
+    public CreditCardService(CreditCardRepository creditCardRepository, CardAuthorizationLedger authorizationLedger,
+                             OwnershipService ownershipService, OwnerResponseCache ownerResponseCache,
+                             ResourceVersions resourceVersions, DailyRollupService dailyRollupService,
+                             StatementService statementService) {
         super(creditCardRepository);
+        this.authorizationLedger = authorizationLedger;
+        this.ownershipService = ownershipService;
+        this.ownerResponseCache = ownerResponseCache;
+        this.resourceVersions = resourceVersions;
+        this.dailyRollupService = dailyRollupService;
+        this.statementService = statementService;
+    }
+
+    /**
+     * Save a new credit card, bump its version and drop the cached card list of its owner.
+     *
+     * @param entity the credit card to save
+     * @return the saved credit card
+     */
+    @Override
+    public CreditCard save(CreditCard entity) {
+        CreditCard saved = super.save(entity);
+        resourceVersions.cardChanged(saved.getId());
+        ownerResponseCache.evictCards(saved.getOwnerId());
+        return saved;
+    }
+
+    /**
+     * Update an existing credit card and reload it into the authorization ledger,
+     * so a changed balance or status applies to the next charge. The card version is bumped,
+     * and the cached owner and the cached card lists of the previous and the new owner are dropped.
+     *
+     * @param id the ID of the credit card to update
+     * @param updatedEntity the updated credit card details
+     * @return the updated credit card if found, or empty optional otherwise
+     */
+    @Override
+    public Optional<CreditCard> update(Long id, CreditCard updatedEntity) {
+        Optional<String> previousOwner = ownershipService.getCardOwner(id);
+        Optional<CreditCard> updated = super.update(id, updatedEntity);
+        updated.ifPresent(card -> {
+            authorizationLedger.refresh(id);
+            resourceVersions.cardChanged(id);
+            ownershipService.evictCard(id);
+            previousOwner.ifPresent(ownerResponseCache::evictCards);
+            ownerResponseCache.evictCards(card.getOwnerId());
+        });
+        return updated;
+    }
+
+    /**
+     * Delete a credit card with its transactions, daily rollups and statements, bump its version and drop it
+     * from the authorization ledger, the ownership cache and the cached card list of its owner.
+     *
+     * @param id the ID of the credit card to delete
+     * @return true if deleted, false if the card was not found
+     */
+    @Override
+    public boolean delete(Long id) {
+        Optional<String> owner = ownershipService.getCardOwner(id);
+        boolean deleted = super.delete(id);
+        if (deleted) {
+            dailyRollupService.entityDeleted(DailyRollup.CARD, id);
+            statementService.cardDeleted(id);
+            authorizationLedger.evict(id);
+            resourceVersions.cardChanged(id);
+            ownershipService.evictCard(id);
+            owner.ifPresent(ownerResponseCache::evictCards);
+        }
+        return deleted;
     }
 
     /**
@@ -0,0 +1,170 @@
+package org.example.service;
+
+import org.example.dto.SpendingSummary;
+import org.example.model.BaseTransaction;
+import org.example.model.DailyRollup;
+import org.example.repository.DailyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service that keeps the daily spending rollups of cards and accounts.
+ * <p>
+ * Every insert and delete of a transaction adds to or subtracts from the rollup of its day in
+ * the same database transaction, so a summary over any date range sums at most one row per day
+ * and type instead of every transaction in the range. Days are taken in the JVM time zone in both
+ * the incremental updates and the SQL backfill: the connection writes DATETIME values as wall-clock
+ * times in that zone ({@code connectionTimeZone=LOCAL}), so the date part the backfill groups by is
+ * the day {@link #dayOf} returns. The rollups are rebuilt from the transaction tables at startup,
+ * since the schema script recreates the table empty, and a card's or account's rollups are deleted
+ * with it.
+ */
+@Service
+public class DailyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupService.class);
+
+    private final DailyRollupRepository repository;
+    private final boolean backfillOnStartup;
+
+    @Autowired
+    public DailyRollupService(DailyRollupRepository repository,
+                              @Value("${app.rollups.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.repository = repository;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Add a new transaction to the rollup of its day.
+     * Must run in the transaction that inserts it.
+     *
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param entityId the ID of the card or account
+     * @param transaction the inserted transaction
+     */
+    public void transactionAdded(String entityType, Long entityId, BaseTransaction transaction) {
+        add(entityType, entityId, dayOf(transaction.getTransactionDate()), transaction.getType(),
+                1, transaction.getAmount());
+    }
+
+    /**
+     * Remove a deleted transaction from the rollup of its day.
+     * Must run in the transaction that deletes it.
+     *
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param entityId the ID of the card or account
+     * @param transaction the deleted transaction
+     */
+    public void transactionRemoved(String entityType, Long entityId, BaseTransaction transaction) {
+        add(entityType, entityId, dayOf(transaction.getTransactionDate()), transaction.getType(),
+                -1, transaction.getAmount().negate());
+    }
+
+    /**
+     * Add any number of transactions of one type to the rollup of one day.
+     *
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param entityId the ID of the card or account
+     * @param day the day of the transactions
+     * @param type the transaction type (CHARGE or CREDIT)
+     * @param count the number of transactions, negative to remove them
+     * @param amount the sum of their amounts
+     */
+    public void add(String entityType, Long entityId, LocalDate day, String type, long count, BigDecimal amount) {
+        repository.addToRollup(entityId, entityType, day, type, count, amount);
+    }
+
+    /**
+     * Delete the rollups of a card or account that has been deleted along with its transactions.
+     *
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param entityId the ID of the deleted card or account
+     */
+    @Transactional
+    public void entityDeleted(String entityType, Long entityId) {
+        repository.deleteByEntity(entityId, entityType);
+    }
+
+    /**
+     * Summarize the transactions of a card or account by period and type.
+     *
+     * @param entityType {@link DailyRollup#CARD} or {@link DailyRollup#ACCOUNT}
+     * @param entityId the ID of the card or account
+     * @param startDate first day of the range
+     * @param endDate last day of the range, inclusive
+     * @param period the length of the periods to group by
+     * @return one summary per period and type that has transactions, ordered by period and type
+     */
+    @Transactional(readOnly = true)
+    public List<SpendingSummary> getSummary(String entityType, Long entityId, LocalDate startDate, LocalDate endDate,
+                                            SpendingSummary.Period period) {
+        Map<String, SpendingSummary> summaries = new TreeMap<>();
+        for (DailyRollup rollup : repository.findByEntityAndDateRange(entityId, entityType, startDate, endDate)) {
+            // Every transaction of a day may have been deleted since its rollup was created
+            if (rollup.getTransactionCount() == 0) {
+                continue;
+            }
+            String label = period.labelOf(rollup.getRollupDate());
+            SpendingSummary summary = summaries.computeIfAbsent(label + " " + rollup.getType(),
+                    key -> new SpendingSummary(label, rollup.getType(), 0, BigDecimal.ZERO));
+            summary.setCount(summary.getCount() + rollup.getTransactionCount());
+            summary.setTotal(summary.getTotal().add(rollup.getAmountSum()));
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
+    /**
+     * Rebuild every rollup from the transaction tables, unless disabled with
+     * {@code app.rollups.backfill-on-startup=false}. Runs before any other startup listener,
+     * since interrupted statement runs resume from the rollups.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Rebuild every rollup from the transaction tables, with one grouped INSERT ... SELECT per table.
+     */
+    @Transactional
+    public void backfill() {
+        repository.deleteByEntityType(DailyRollup.CARD);
+        int cardRollups = repository.backfillCardRollups();
+        repository.deleteByEntityType(DailyRollup.ACCOUNT);
+        int accountRollups = repository.backfillAccountRollups();
+        log.info("Rebuilt {} card and {} account daily rollups", cardRollups, accountRollups);
+    }
+
+    /**
+     * Get the day a transaction date falls on, in the JVM time zone: the date part of the
+     * DATETIME the connection writes for it, which the backfill groups by.
+     *
+     * @param date the transaction date
+     * @return its day
+     */
+    public static LocalDate dayOf(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.example.dto.CacheRegionStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache of the serialized card and account lists of each owner, the first calls of every session.
+ * <p>
+ * The JSON body is kept as bytes, so a hit costs neither a query nor serialization. Entries are
+ * invalidated whenever a write touches the owner: card and account saves, updates and deletes,
+ * account transactions, and card balances written back by the {@link CardAuthorizationLedger}.
+ * Every invalidation also bumps the owner's list version in {@link ResourceVersions}, which the
+ * list ETags are built from; a list is only kept if that version did not move while it was loading.
+ * The TTL is only a safety net for rows changed outside the application.
+ * The cache can be switched off with {@code app.response-cache.enabled=false}; lists are then
+ * serialized on every request.
+ */
+@Service
+public class OwnerResponseCache {
+
+    static final String CARD_LISTS = "ownerCardLists";
+    static final String ACCOUNT_LISTS = "ownerAccountLists";
+
+    // Stands for an owner without cards or accounts, answered with 404
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ObjectMapper objectMapper;
+    private final OwnershipService ownershipService;
+    private final ResourceVersions resourceVersions;
+    private final boolean enabled;
+    private final OwnerLists cardLists;
+    private final OwnerLists accountLists;
+
+    @Autowired
+    public OwnerResponseCache(ObjectMapper objectMapper, OwnershipService ownershipService,
+                              ResourceVersions resourceVersions,
+                              @Value("${app.response-cache.enabled:true}") boolean enabled,
+                              @Value("${app.response-cache.max-owners:10000}") long maxOwners,
+                              @Value("${app.response-cache.ttl:PT10M}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.ownershipService = ownershipService;
+        this.resourceVersions = resourceVersions;
+        this.enabled = enabled;
+        this.cardLists = new OwnerLists(CARD_LISTS, resourceVersions::ownerCardsVersion, maxOwners, ttl);
+        this.accountLists = new OwnerLists(ACCOUNT_LISTS, resourceVersions::ownerAccountsVersion, maxOwners, ttl);
+    }
+
+    /**
+     * Get the serialized card list of an owner, loading and caching it on a miss.
+     *
+     * @param ownerId the ID number of the card owner
+     * @param loader loads the owner's card DTOs
+     * @return the JSON array, or empty optional if the owner has no cards
+     */
+    public Optional<byte[]> getCardList(String ownerId, Supplier<? extends List<?>> loader) {
+        return get(cardLists, ownerId, loader);
+    }
+
+    /**
+     * Get the serialized account list of an owner, loading and caching it on a miss.
+     *
+     * @param ownerId the ID number of the account owner
+     * @param loader loads the owner's accounts
+     * @return the JSON array, or empty optional if the owner has no accounts
+     */
+    public Optional<byte[]> getAccountList(String ownerId, Supplier<? extends List<?>> loader) {
+        return get(accountLists, ownerId, loader);
+    }
+
+    /**
+     * Drop the cached card list of an owner and bump its version.
+     * Must be called once the write has committed.
+     *
+     * @param ownerId the ID number of the card owner
+     */
+    public void evictCards(String ownerId) {
+        // Version first, so a load that started before the write sees it moved or has its entry dropped
+        resourceVersions.ownerCardsChanged(ownerId);
+        cardLists.evict(ownerId);
+    }
+
+    /**
+     * Drop the cached account list of an owner and bump its version.
+     * Must be called once the write has committed.
+     *
+     * @param ownerId the ID number of the account owner
+     */
+    public void evictAccounts(String ownerId) {
+        resourceVersions.ownerAccountsChanged(ownerId);
+        accountLists.evict(ownerId);
+    }
+
+    /**
+     * Drop the card lists whose balances the authorization ledger has just written back.
+     *
+     * @param event the cards whose balance changed
+     */
+    @EventListener
+    public void onCardBalancesWritten(CardBalancesWrittenEvent event) {
+        for (Long cardId : event.cardIds()) {
+            ownershipService.getCardOwner(cardId).ifPresent(this::evictCards);
+        }
+    }
+
+    /**
+     * Get the hit, miss and put counters of the card and account lists.
+     *
+     * @return one snapshot per list type
+     */
+    public List<CacheRegionStats> getStats() {
+        return List.of(cardLists.stats(), accountLists.stats());
+    }
+
+    private Optional<byte[]> get(OwnerLists lists, String ownerId, Supplier<? extends List<?>> loader) {
+        if (!enabled) {
+            return toOptional(serialize(loader.get()));
+        }
+        byte[] body = lists.cache.getIfPresent(ownerId);
+        if (body != null) {
+            lists.hits.increment();
+            return toOptional(body);
+        }
+        lists.misses.increment();
+        // A write that lands while the list is loading may not be in it, so the result is then not kept
+        long version = lists.version.applyAsLong(ownerId);
+        body = serialize(loader.get());
+        if (lists.version.applyAsLong(ownerId) == version) {
+            lists.cache.put(ownerId, body);
+            lists.puts.increment();
+            // The write may have landed between the check and the put, after its eviction ran
+            if (lists.version.applyAsLong(ownerId) != version) {
+                lists.cache.asMap().remove(ownerId, body);
+            }
+        }
+        return toOptional(body);
+    }
+
+    private byte[] serialize(List<?> rows) {
+        if (rows.isEmpty()) {
+            return EMPTY;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(rows);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<byte[]> toOptional(byte[] body) {
+        return body.length == 0 ? Optional.empty() : Optional.of(body);
+    }
+
+    /**
+     * The cached lists of one type and their counters.
+     */
+    private static final class OwnerLists {
+        private final String name;
+        private final ToLongFunction<String> version;
+        private final Cache<String, byte[]> cache;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+
+        private OwnerLists(String name, ToLongFunction<String> version, long maxOwners, Duration ttl) {
+            this.name = name;
+            this.version = version;
+            this.cache = CacheBuilder.newBuilder()
+                    .maximumSize(maxOwners)
+                    .expireAfterWrite(ttl)
+                    .build();
+        }
+
+        private void evict(String ownerId) {
+            cache.invalidate(ownerId);
+        }
+
+        private CacheRegionStats stats() {
+            return new CacheRegionStats(name, hits.sum(), misses.sum(), puts.sum(), cache.size());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.example.repository.AccountRepository;
+import org.example.repository.CreditCardRepository;
+import org.example.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves who owns a credit card, account or transaction, for request authorization.
+ * <p>
+ * Card and account owners are cached in memory, so checking a request against the owner
+ * in its token does not add a query to every call. The controllers reject create and update
+ * requests whose body names an owner other than the caller, so an owner does not change through
+ * the API; entries are still dropped when the card or account is updated or deleted, with a
+ * time-based expiry as a safety net for rows changed outside the application.
+ * Unknown IDs are not cached, so a card created after a failed lookup is found on the next one.
+ */
+@Service
+public class OwnershipService {
+
+    static final int MAX_CACHED_OWNERS = 10_000;
+    static final Duration OWNER_TTL = Duration.ofMinutes(10);
+
+    private final CreditCardRepository creditCardRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final Cache<Long, String> cardOwners = newOwnerCache();
+    private final Cache<Long, String> accountOwners = newOwnerCache();
+
+    @Autowired
+    public OwnershipService(CreditCardRepository creditCardRepository,
+                            AccountRepository accountRepository,
+                            TransactionRepository transactionRepository) {
+        this.creditCardRepository = creditCardRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Get the owner of a credit card.
+     *
+     * @param cardId the credit card ID
+     * @return the ID number of the card owner, or empty optional if the card does not exist
+     */
+    public Optional<String> getCardOwner(Long cardId) {
+        String ownerId = cardOwners.getIfPresent(cardId);
+        if (ownerId != null) {
+            return Optional.of(ownerId);
+        }
+        Optional<String> loaded = creditCardRepository.findOwnerIdById(cardId);
+        loaded.ifPresent(owner -> cardOwners.put(cardId, owner));
+        return loaded;
+    }
+
+    /**
+     * Get the owner of an account.
+     *
+     * @param accountId the account ID
+     * @return the ID number of the account owner, or empty optional if the account does not exist
+     */
+    public Optional<String> getAccountOwner(Long accountId) {
+        String ownerId = accountOwners.getIfPresent(accountId);
+        if (ownerId != null) {
+            return Optional.of(ownerId);
+        }
+        Optional<String> loaded = accountRepository.findOwnerIdById(accountId);
+        loaded.ifPresent(owner -> accountOwners.put(accountId, owner));
+        return loaded;
+    }
+
+    /**
+     * Get the owner of the credit card a transaction belongs to.
+     * Transactions are too many to cache; this is a single indexed lookup.
+     *
+     * @param transactionId the transaction ID
+     * @return the ID number of the card owner, or empty optional if the transaction does not exist
+     */
+    public Optional<String> getTransactionOwner(Long transactionId) {
+        return transactionRepository.findOwnerIdById(transactionId);
+    }
+
+    /**
+     * Forget the cached owner of a credit card that was updated or deleted.
+     *
+     * @param cardId the credit card ID
+     */
+    public void evictCard(Long cardId) {
+        cardOwners.invalidate(cardId);
+    }
+
+    /**
+     * Forget the cached owner of an account that was updated or deleted.
+     *
+     * @param accountId the account ID
+     */
+    public void evictAccount(Long accountId) {
+        accountOwners.invalidate(accountId);
+    }
+
+    private static Cache<Long, String> newOwnerCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHED_OWNERS)
+                .expireAfterWrite(OWNER_TTL)
+                .build();
+    }
+}
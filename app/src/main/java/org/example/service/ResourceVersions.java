@@ -0,0 +1,153 @@
+package org.example.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters behind the ETags of card, account and owner list reads.
+ * <p>
+ * Every write bumps the counter of the resources it changes, after it has committed, so a
+ * conditional GET can be answered with 304 by comparing tags without reading the database.
+ * Counters are stamped from one clock: a counter that was evicted, or that was never bumped,
+ * starts again at the current clock value, which is newer than every tag issued before a
+ * later write. Tags carry the startup time of this instance, so they do not survive a restart.
+ */
+@Service
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<String, Long> versions;
+
+    @Autowired
+    public ResourceVersions(@Value("${app.etag.max-resources:100000}") long maxResources) {
+        this.versions = CacheBuilder.newBuilder()
+                .maximumSize(maxResources)
+                .build();
+    }
+
+    /**
+     * Get the current ETag of a credit card.
+     *
+     * @param cardId the ID of the credit card
+     * @return the quoted entity tag
+     */
+    public String cardTag(Long cardId) {
+        return tag("card:" + cardId);
+    }
+
+    /**
+     * Get the current ETag of an account and its transactions.
+     *
+     * @param accountId the ID of the account
+     * @return the quoted entity tag
+     */
+    public String accountTag(Long accountId) {
+        return tag("account:" + accountId);
+    }
+
+    /**
+     * Get the current ETag of the card list of an owner.
+     *
+     * @param ownerId the ID number of the card owner
+     * @return the quoted entity tag
+     */
+    public String ownerCardsTag(String ownerId) {
+        return tag("ownerCards:" + ownerId);
+    }
+
+    /**
+     * Get the current ETag of the account list of an owner.
+     *
+     * @param ownerId the ID number of the account owner
+     * @return the quoted entity tag
+     */
+    public String ownerAccountsTag(String ownerId) {
+        return tag("ownerAccounts:" + ownerId);
+    }
+
+    /**
+     * Get the current change counter of the card list of an owner.
+     * A list loaded while the counter stayed the same holds every write recorded before it.
+     *
+     * @param ownerId the ID number of the card owner
+     * @return the counter value
+     */
+    public long ownerCardsVersion(String ownerId) {
+        return version("ownerCards:" + ownerId);
+    }
+
+    /**
+     * Get the current change counter of the account list of an owner.
+     *
+     * @param ownerId the ID number of the account owner
+     * @return the counter value
+     */
+    public long ownerAccountsVersion(String ownerId) {
+        return version("ownerAccounts:" + ownerId);
+    }
+
+    /**
+     * Record that a credit card has changed.
+     *
+     * @param cardId the ID of the credit card
+     */
+    public void cardChanged(Long cardId) {
+        bump("card:" + cardId);
+    }
+
+    /**
+     * Record that an account or one of its transactions has changed.
+     *
+     * @param accountId the ID of the account
+     */
+    public void accountChanged(Long accountId) {
+        bump("account:" + accountId);
+    }
+
+    /**
+     * Record that the card list of an owner has changed.
+     *
+     * @param ownerId the ID number of the card owner
+     */
+    public void ownerCardsChanged(String ownerId) {
+        bump("ownerCards:" + ownerId);
+    }
+
+    /**
+     * Record that the account list of an owner has changed.
+     *
+     * @param ownerId the ID number of the account owner
+     */
+    public void ownerAccountsChanged(String ownerId) {
+        bump("ownerAccounts:" + ownerId);
+    }
+
+    /**
+     * Record the cards whose balances the authorization ledger has just written back.
+     *
+     * @param event the cards whose balance changed
+     */
+    @EventListener
+    public void onCardBalancesWritten(CardBalancesWrittenEvent event) {
+        event.cardIds().forEach(this::cardChanged);
+    }
+
+    private String tag(String key) {
+        return "\"" + epoch + "-" + version(key) + "\"";
+    }
+
+    private long version(String key) {
+        return versions.asMap().computeIfAbsent(key, k -> clock.get());
+    }
+
+    private void bump(String key) {
+        versions.put(key, clock.incrementAndGet());
+    }
+}
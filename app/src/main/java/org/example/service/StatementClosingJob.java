@@ -0,0 +1,208 @@
+package org.example.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import org.example.model.StatementRun;
+import org.example.repository.CreditCardRepository;
+import org.example.repository.StatementRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Batch job that closes the monthly statement of every credit card.
+ * <p>
+ * Cards are walked in ascending ID order in chunks; the statements of one chunk are closed in
+ * parallel on a bounded pool, each in its own database transaction. After every chunk the last
+ * card ID is saved in the {@link StatementRun} of the period, so a run interrupted by a crash
+ * resumes after the last finished chunk when the application starts again. Closing a statement
+ * is idempotent, so the cards of an unfinished chunk are simply closed or skipped again. A chunk
+ * with a failed card stops the run as FAILED without moving the cursor past it; closing the
+ * period again retries from that chunk. Throughput is kept on the run and logged per chunk.
+ */
+@Service
+public class StatementClosingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementClosingJob.class);
+
+    private final StatementService statementService;
+    private final StatementRunRepository runRepository;
+    private final CreditCardRepository creditCardRepository;
+    private final int chunkSize;
+    private final ExecutorService closers;
+    private final ExecutorService coordinator;
+    // Two runs would close the same cards, so only one runs at a time
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Autowired
+    public StatementClosingJob(StatementService statementService, StatementRunRepository runRepository,
+                               CreditCardRepository creditCardRepository,
+                               @Value("${app.statements.threads:4}") int threads,
+                               @Value("${app.statements.chunk-size:200}") int chunkSize) {
+        this.statementService = statementService;
+        this.runRepository = runRepository;
+        this.creditCardRepository = creditCardRepository;
+        this.chunkSize = chunkSize;
+        this.closers = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("statement-closer-%d").setDaemon(true).build());
+        this.coordinator = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("statement-job").setDaemon(true).build());
+    }
+
+    /**
+     * Close the previous month on the schedule of {@code app.statements.close-cron}.
+     */
+    @Scheduled(cron = "${app.statements.close-cron:0 0 1 1 * *}")
+    public void closePreviousMonth() {
+        startClosing(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Resume the runs a crash or shutdown left RUNNING.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        for (StatementRun run : runRepository.findByStatus(StatementRun.RUNNING)) {
+            log.info("Resuming statement run for {} after card {}", YearMonth.from(run.getPeriodStart()),
+                    run.getLastCardId());
+            startClosing(YearMonth.from(run.getPeriodStart()));
+        }
+    }
+
+    /**
+     * Close a month in the background.
+     *
+     * @param period the month to close
+     * @return completes with the run once it has finished or stopped
+     */
+    public CompletableFuture<StatementRun> startClosing(YearMonth period) {
+        return CompletableFuture.supplyAsync(() -> closePeriod(period), coordinator);
+    }
+
+    /**
+     * Get the closing run of a month.
+     *
+     * @param period the month
+     * @return the run and its progress, or empty optional if the month was never closed
+     */
+    public Optional<StatementRun> getRun(YearMonth period) {
+        return runRepository.findByPeriodStart(period.atDay(1));
+    }
+
+    /**
+     * Close the statements of every card for a month, resuming the month's run if it did not finish.
+     *
+     * @param period the month to close
+     * @return the run, COMPLETED unless a chunk failed or the job was stopped
+     */
+    public StatementRun closePeriod(YearMonth period) {
+        runLock.lock();
+        try {
+            StatementRun run = runRepository.findByPeriodStart(period.atDay(1))
+                    .orElseGet(() -> new StatementRun(period.atDay(1), LocalDateTime.now()));
+            if (StatementRun.COMPLETED.equals(run.getStatus())) {
+                return run;
+            }
+            run.setStatus(StatementRun.RUNNING);
+            run.setFinishedAt(null);
+            run = runRepository.save(run);
+
+            List<Long> cardIds;
+            while (!(cardIds = creditCardRepository.findIdsAfter(run.getLastCardId(),
+                    PageRequest.of(0, chunkSize))).isEmpty()) {
+                long start = System.nanoTime();
+                ChunkResult chunk = closeChunk(cardIds, period);
+                if (chunk == null) {
+                    // Stopped while shutting down: left RUNNING, resumed at the next startup
+                    return run;
+                }
+                if (chunk.failed() > 0) {
+                    run.setStatus(StatementRun.FAILED);
+                    run.setFinishedAt(LocalDateTime.now());
+                    log.warn("Statement run for {} stopped: {} cards after card {} failed", period, chunk.failed(),
+                            run.getLastCardId());
+                    return runRepository.save(run);
+                }
+                run.setLastCardId(cardIds.get(cardIds.size() - 1));
+                run.setCardsClosed(run.getCardsClosed() + chunk.closed());
+                run.setCardsSkipped(run.getCardsSkipped() + chunk.skipped());
+                run.setProcessingMillis(run.getProcessingMillis() + (System.nanoTime() - start) / 1_000_000);
+                run = runRepository.save(run);
+                log.debug("Statement run for {} at card {}: {} closed, {} skipped, {} cards/s", period,
+                        run.getLastCardId(), run.getCardsClosed(), run.getCardsSkipped(),
+                        Math.round(run.getCardsPerSecond()));
+            }
+
+            run.setStatus(StatementRun.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            run = runRepository.save(run);
+            log.info("Closed {} statements for {} ({} already closed) in {} ms, {} cards/s", run.getCardsClosed(),
+                    period, run.getCardsSkipped(), run.getProcessingMillis(), Math.round(run.getCardsPerSecond()));
+            return run;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Stop the pools when the application stops; an unfinished run is resumed at the next startup.
+     */
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        closers.shutdownNow();
+    }
+
+    /**
+     * Close the statements of one chunk of cards in parallel.
+     *
+     * @return the outcome of the chunk, or null if the job was interrupted
+     */
+    private ChunkResult closeChunk(List<Long> cardIds, YearMonth period) {
+        List<Future<Boolean>> futures = new ArrayList<>(cardIds.size());
+        for (Long cardId : cardIds) {
+            futures.add(closers.submit(() -> statementService.closeStatement(cardId, period)));
+        }
+        int closed = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                if (futures.get(i).get()) {
+                    closed++;
+                } else {
+                    skipped++;
+                }
+            } catch (ExecutionException e) {
+                log.warn("Closing the {} statement of card {} failed", period, cardIds.get(i), e.getCause());
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                return null;
+            }
+        }
+        return new ChunkResult(closed, skipped, failed);
+    }
+
+    private record ChunkResult(int closed, int skipped, int failed) {
+    }
+}
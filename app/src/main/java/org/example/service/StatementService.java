@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.dto.StatementDTO;
+import org.example.model.DailyRollup;
+import org.example.model.Statement;
+import org.example.repository.DailyRollupRepository;
+import org.example.repository.StatementRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for the monthly statements of credit cards.
+ * <p>
+ * A statement is closed once per card and calendar month. Its opening balance is the closing
+ * balance of the card's previous statement and its totals are summed from the daily rollups of
+ * the month, so closing a statement reads at most a few dozen rollup rows and never the card's
+ * transaction history. Only the first statement of a card, or one after months that were never
+ * closed, also sums the rollups of the days since the previous statement.
+ */
+@Service
+public class StatementService {
+
+    /**
+     * Day the balance of a card without any statement is counted from.
+     */
+    static final LocalDate FIRST_DAY = LocalDate.EPOCH;
+
+    private final StatementRepository statementRepository;
+    private final DailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    public StatementService(StatementRepository statementRepository, DailyRollupRepository dailyRollupRepository) {
+        this.statementRepository = statementRepository;
+        this.dailyRollupRepository = dailyRollupRepository;
+    }
+
+    /**
+     * Close the statement of a credit card for one month.
+     * Closing is idempotent: a month that is already closed is left as it is.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param period the month to close
+     * @return true if the statement was created, false if it already existed
+     */
+    @Transactional
+    public boolean closeStatement(Long creditCardId, YearMonth period) {
+        LocalDate periodStart = period.atDay(1);
+        if (statementRepository.existsByCreditCardIdAndPeriodStart(creditCardId, periodStart)) {
+            return false;
+        }
+
+        Optional<Statement> previous = statementRepository
+                .findFirstByCreditCardIdAndPeriodStartLessThanOrderByPeriodStartDesc(creditCardId, periodStart);
+        BigDecimal openingBalance = previous.map(Statement::getClosingBalance).orElse(BigDecimal.ZERO);
+        LocalDate carriedFrom = previous.map(statement -> statement.getPeriodEnd().plusDays(1)).orElse(FIRST_DAY);
+        if (carriedFrom.isBefore(periodStart)) {
+            // Days not covered by any statement yet are carried into the opening balance
+            Statement uncovered = new Statement(creditCardId, carriedFrom, periodStart.minusDays(1), openingBalance);
+            addActivity(uncovered);
+            openingBalance = uncovered.getClosingBalance();
+        }
+
+        Statement statement = new Statement(creditCardId, periodStart, period.atEndOfMonth(), openingBalance);
+        addActivity(statement);
+        statement.setClosedAt(LocalDateTime.now());
+        statementRepository.save(statement);
+        return true;
+    }
+
+    /**
+     * Get the statements of a credit card, newest first.
+     *
+     * @param creditCardId the ID of the credit card
+     * @return the card's statements
+     */
+    @Transactional(readOnly = true)
+    public List<StatementDTO> getStatements(Long creditCardId) {
+        return statementRepository.findByCreditCardIdOrderByPeriodStartDesc(creditCardId).stream()
+                .map(StatementDTO::new)
+                .toList();
+    }
+
+    /**
+     * Get the statement of a credit card for one month.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param period the month
+     * @return the statement, or empty optional if the month is not closed
+     */
+    @Transactional(readOnly = true)
+    public Optional<StatementDTO> getStatement(Long creditCardId, YearMonth period) {
+        return statementRepository.findByCreditCardIdAndPeriodStart(creditCardId, period.atDay(1))
+                .map(StatementDTO::new);
+    }
+
+    /**
+     * Delete the statements of a credit card that has been deleted.
+     * Statements reference their card by ID only, so nothing removes them along with the card.
+     *
+     * @param creditCardId the ID of the deleted credit card
+     */
+    @Transactional
+    public void cardDeleted(Long creditCardId) {
+        statementRepository.deleteByCreditCardId(creditCardId);
+    }
+
+    /**
+     * Add the charges and credits of the statement's period to its totals and closing balance.
+     */
+    private void addActivity(Statement statement) {
+        for (DailyRollup rollup : dailyRollupRepository.findByEntityAndDateRange(statement.getCreditCardId(),
+                DailyRollup.CARD, statement.getPeriodStart(), statement.getPeriodEnd())) {
+            if ("CHARGE".equals(rollup.getType())) {
+                statement.setChargeCount(statement.getChargeCount() + rollup.getTransactionCount());
+                statement.setTotalCharges(statement.getTotalCharges().add(rollup.getAmountSum()));
+                statement.setClosingBalance(statement.getClosingBalance().add(rollup.getAmountSum()));
+            } else {
+                statement.setCreditCount(statement.getCreditCount() + rollup.getTransactionCount());
+                statement.setTotalCredits(statement.getTotalCredits().add(rollup.getAmountSum()));
+                statement.setClosingBalance(statement.getClosingBalance().subtract(rollup.getAmountSum()));
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package org.example.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the database with synthetic owners, cards, accounts and transactions at a realistic
+ * scale and shape, enabled with the {@code seed} profile.
+ * <p>
+ * Every owner has one or more cards and accounts. Transactions are spread over them with a Zipf
+ * distribution, so a few hot cards and accounts carry a large share of the rows and most have a
+ * long tail of a few. Dates cover the last {@code app.seed.months} months, busier towards the
+ * present, on weekdays and around midday; amounts are log-normal. Each owner, card and account
+ * draws from its own random sequence derived from {@code app.seed.random-seed}, so a run with the
+ * same settings produces the same data; only which row gets which ID depends on the order the
+ * parallel writers run in.
+ * <p>
+ * Rows are written with plain JDBC batches in parallel, which the MySQL driver sends as multi-row
+ * INSERTs, and each card's or account's transactions are written in date order. The running
+ * balances of account transactions are computed as they are generated, and the daily rollups are
+ * rebuilt once all rows are in.
+ */
+@Service
+@Profile("seed")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String INSERT_CARD_SQL = "INSERT INTO credit_cards (last_four_digits, card_name, valid_until, "
+            + "card_type, status, credit_limit, balance, owner_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String INSERT_ACCOUNT_SQL = "INSERT INTO accounts (account_number, account_type, balance, "
+            + "owner_id, creation_date) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_ACCOUNT_TRANSACTION_SQL = "INSERT INTO account_transactions (account_id, "
+            + "transaction_date, amount, description, type, running_balance) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Owner IDs and account numbers of generated rows start here, clear of the data.sql rows
+    private static final long FIRST_OWNER_ID = 20_000_000L;
+    private static final long FIRST_ACCOUNT_NUMBER = 8_000_000_000L;
+    // Each task writes the rows of this many owners, cards or accounts
+    private static final int ROWS_PER_TASK = 1000;
+
+    private static final String[] FIRST_NAMES = {"Ana", "Carlos", "Diego", "Elena", "Felipe", "Javiera", "John",
+            "Jane", "Lucia", "Martin", "Paula", "Sofia", "Tomas", "Valentina"};
+    private static final String[] LAST_NAMES = {"Doe", "Fuentes", "Gonzalez", "Munoz", "Perez", "Rodriguez",
+            "Rojas", "Silva", "Smith", "Soto"};
+    private static final String[] CARD_CHARGES = {"Grocery Store", "Restaurant", "Online Purchase", "Gas Station",
+            "Pharmacy", "Coffee Shop", "Subscription", "Travel Booking", "Electronics Store", "Clothing Store"};
+    private static final String[] CARD_CREDITS = {"Payment Received", "Refund", "Cashback"};
+    private static final String[] ACCOUNT_CHARGES = {"ATM Withdrawal", "Utility Bill Payment", "Online Purchase",
+            "Transfer Sent", "Card Payment", "Rent Payment"};
+    private static final String[] ACCOUNT_CREDITS = {"Salary Deposit", "Transfer Received", "Deposit", "Interest"};
+    private static final BigDecimal[] CREDIT_LIMITS = {new BigDecimal("1000.00"), new BigDecimal("2500.00"),
+            new BigDecimal("5000.00"), new BigDecimal("10000.00"), new BigDecimal("20000.00")};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DailyRollupService dailyRollupService;
+    private final Settings settings;
+
+    /**
+     * Sizes and shape of the generated data.
+     *
+     * @param owners number of owners
+     * @param cardsPerOwner mean number of cards per owner, at least 1
+     * @param accountsPerOwner mean number of accounts per owner, at least 1
+     * @param cardTransactions total number of card transactions
+     * @param accountTransactions total number of account transactions
+     * @param months length of the transaction history, ending now
+     * @param skew Zipf exponent of the transactions per card or account; 0 spreads them evenly
+     * @param threads number of parallel writers
+     * @param batchSize rows per JDBC batch
+     * @param randomSeed seed of all generated values
+     */
+    public record Settings(int owners, double cardsPerOwner, double accountsPerOwner, long cardTransactions,
+                           long accountTransactions, int months, double skew, int threads, int batchSize,
+                           long randomSeed) {
+    }
+
+    /**
+     * Rows written by a run and its throughput.
+     */
+    public record Result(long cards, long accounts, long cardTransactions, long accountTransactions,
+                         long elapsedMillis, double rowsPerSecond) {
+    }
+
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, DailyRollupService dailyRollupService,
+                                  @Value("${app.seed.owners:10000}") int owners,
+                                  @Value("${app.seed.cards-per-owner:1.5}") double cardsPerOwner,
+                                  @Value("${app.seed.accounts-per-owner:1.3}") double accountsPerOwner,
+                                  @Value("${app.seed.card-transactions:1000000}") long cardTransactions,
+                                  @Value("${app.seed.account-transactions:1000000}") long accountTransactions,
+                                  @Value("${app.seed.months:24}") int months,
+                                  @Value("${app.seed.skew:1.0}") double skew,
+                                  @Value("${app.seed.threads:8}") int threads,
+                                  @Value("${app.seed.batch-size:1000}") int batchSize,
+                                  @Value("${app.seed.random-seed:42}") long randomSeed) {
+        this(jdbcTemplate, dailyRollupService, new Settings(owners, cardsPerOwner, accountsPerOwner,
+                cardTransactions, accountTransactions, months, skew, threads, batchSize, randomSeed));
+    }
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate, DailyRollupService dailyRollupService, Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyRollupService = dailyRollupService;
+        this.settings = settings;
+    }
+
+    /**
+     * Generate the data at startup. Whether the application then keeps serving is decided in
+     * {@link org.example.App}, with {@code --app.seed.exit=true}.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generate and write all rows.
+     *
+     * @return the rows written and the throughput
+     */
+    public Result generate() {
+        long start = System.nanoTime();
+        log.info("Seeding {} owners, {} card and {} account transactions over {} months on {} threads",
+                settings.owners(), settings.cardTransactions(), settings.accountTransactions(), settings.months(),
+                settings.threads());
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads(),
+                new ThreadFactoryBuilder().setNameFormat("seed-%d").setDaemon(true).build());
+        try {
+            // Every earlier run wrote at least one card and one account per owner, so its owners are below this
+            long firstOwner = FIRST_OWNER_ID + maxId("accounts") + maxId("credit_cards");
+            long firstAccountNumber = FIRST_ACCOUNT_NUMBER + maxId("accounts");
+
+            long[] cardIds = insertOwnerRows(executor, "credit_cards", INSERT_CARD_SQL, firstOwner,
+                    settings.cardsPerOwner(), 1, (random, owner, index) -> cardRow(random, owner));
+            long[] accountIds = insertOwnerRows(executor, "accounts", INSERT_ACCOUNT_SQL, firstOwner,
+                    settings.accountsPerOwner(), 2,
+                    (random, owner, index) -> accountRow(random, owner, firstAccountNumber + index));
+
+            long cardTransactions = insertTransactions(executor, cardIds, settings.cardTransactions(), 3,
+                    TransactionImportService.INSERT_SQL, false);
+            long accountTransactions = insertTransactions(executor, accountIds, settings.accountTransactions(), 4,
+                    INSERT_ACCOUNT_TRANSACTION_SQL, true);
+            dailyRollupService.backfill();
+
+            long elapsedNanos = System.nanoTime() - start;
+            long rows = cardIds.length + accountIds.length + cardTransactions + accountTransactions;
+            Result result = new Result(cardIds.length, accountIds.length, cardTransactions, accountTransactions,
+                    elapsedNanos / 1_000_000, elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos);
+            log.info("Seeded {} cards, {} accounts, {} card and {} account transactions in {} ms, {} rows/s",
+                    result.cards(), result.accounts(), result.cardTransactions(), result.accountTransactions(),
+                    result.elapsedMillis(), Math.round(result.rowsPerSecond()));
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the columns of one card or account of an owner.
+     */
+    @FunctionalInterface
+    private interface OwnerRowFactory {
+        Object[] create(SplittableRandom random, String ownerId, long index);
+    }
+
+    /**
+     * Insert the cards or accounts of every owner, in parallel over ranges of owners.
+     *
+     * @return the IDs of the inserted rows, ascending
+     */
+    private long[] insertOwnerRows(ExecutorService executor, String table, String sql, long firstOwner,
+                                   double perOwner, int stream, OwnerRowFactory factory) {
+        long maxIdBefore = maxId(table);
+        // Offsets of each owner's first row, so row numbers do not depend on the order tasks run in
+        long[] offsets = new long[settings.owners() + 1];
+        for (int owner = 0; owner < settings.owners(); owner++) {
+            offsets[owner + 1] = offsets[owner] + rowsOfOwner(random(stream, owner), perOwner);
+        }
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int from = 0; from < settings.owners(); from += ROWS_PER_TASK) {
+            int taskFrom = from;
+            int taskTo = Math.min(from + ROWS_PER_TASK, settings.owners());
+            tasks.add(() -> {
+                List<Object[]> batch = new ArrayList<>(settings.batchSize());
+                long written = 0;
+                for (int owner = taskFrom; owner < taskTo; owner++) {
+                    SplittableRandom random = random(stream, owner);
+                    String ownerId = String.valueOf(firstOwner + owner);
+                    long rows = rowsOfOwner(random, perOwner);
+                    for (long i = 0; i < rows; i++) {
+                        batch.add(factory.create(random, ownerId, offsets[owner] + i));
+                        if (batch.size() == settings.batchSize()) {
+                            written += flush(sql, batch);
+                        }
+                    }
+                }
+                return written + flush(sql, batch);
+            });
+        }
+        long written = runAll(executor, tasks);
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class,
+                maxIdBefore).stream().mapToLong(Long::longValue).toArray();
+        log.info("Seeded {} rows into {}", written, table);
+        return ids;
+    }
+
+    /**
+     * Spread transactions over cards or accounts with the configured skew and insert them,
+     * in parallel over ranges of cards or accounts, each one's transactions in date order.
+     *
+     * @param parentIds IDs of the cards or accounts the transactions belong to
+     * @return the number of transactions inserted
+     */
+    private long insertTransactions(ExecutorService executor, long[] parentIds, long total, int stream, String sql,
+                                    boolean account) {
+        if (parentIds.length == 0 || total == 0) {
+            return 0;
+        }
+        long[] counts = transactionCounts(parentIds.length, total, settings.skew(), random(stream, -1));
+        long end = System.currentTimeMillis();
+        long startMillis = Instant.ofEpochMilli(end).atZone(ZoneId.systemDefault())
+                .minusMonths(settings.months()).toInstant().toEpochMilli();
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int from = 0; from < parentIds.length; from += ROWS_PER_TASK) {
+            int taskFrom = from;
+            int taskTo = Math.min(from + ROWS_PER_TASK, parentIds.length);
+            tasks.add(() -> {
+                List<Object[]> batch = new ArrayList<>(settings.batchSize());
+                long written = 0;
+                for (int i = taskFrom; i < taskTo; i++) {
+                    SplittableRandom random = random(stream, i);
+                    long[] dates = transactionDates(random, (int) counts[i], startMillis, end);
+                    BigDecimal balance = BigDecimal.ZERO;
+                    for (long date : dates) {
+                        boolean credit = random.nextDouble() < (account ? 0.3 : 0.12);
+                        BigDecimal amount = credit
+                                ? amount(random, account ? 800 : 300)
+                                : amount(random, account ? 60 : 35);
+                        String description = account
+                                ? pick(random, credit ? ACCOUNT_CREDITS : ACCOUNT_CHARGES)
+                                : pick(random, credit ? CARD_CREDITS : CARD_CHARGES);
+                        String type = credit ? "CREDIT" : "CHARGE";
+                        if (account) {
+                            balance = credit ? balance.add(amount) : balance.subtract(amount);
+                            batch.add(new Object[]{parentIds[i], new Timestamp(date), amount, description, type, balance});
+                        } else {
+                            batch.add(new Object[]{parentIds[i], new Timestamp(date), amount, description, type});
+                        }
+                        if (batch.size() == settings.batchSize()) {
+                            written += flush(sql, batch);
+                        }
+                    }
+                }
+                return written + flush(sql, batch);
+            });
+        }
+        long written = runAll(executor, tasks);
+        log.info("Seeded {} {} transactions", written, account ? "account" : "card");
+        return written;
+    }
+
+    private long flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int rows = batch.size();
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+        return rows;
+    }
+
+    private long runAll(ExecutorService executor, List<Callable<Long>> tasks) {
+        long written = 0;
+        try {
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                written += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        }
+        return written;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private SplittableRandom random(int stream, long index) {
+        return new SplittableRandom(settings.randomSeed() + stream * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L);
+    }
+
+    private Object[] cardRow(SplittableRandom random, String ownerId) {
+        BigDecimal limit = CREDIT_LIMITS[random.nextInt(CREDIT_LIMITS.length)];
+        // balance is the available credit
+        BigDecimal balance = limit.multiply(BigDecimal.valueOf(20 + random.nextInt(81)))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        LocalDate validUntil = LocalDate.now().plusMonths(1 + random.nextInt(60));
+        return new Object[]{
+                String.format("%04d", random.nextInt(10_000)),
+                pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                String.format("%02d/%02d", validUntil.getMonthValue(), validUntil.getYear() % 100),
+                random.nextInt(3) == 0 ? "Debit" : "Credit",
+                random.nextInt(20) != 0,
+                limit,
+                balance,
+                ownerId};
+    }
+
+    private Object[] accountRow(SplittableRandom random, String ownerId, long number) {
+        return new Object[]{
+                String.format("%010d", number),
+                random.nextBoolean() ? "Current" : "Demand",
+                amount(random, 3000),
+                ownerId,
+                Timestamp.valueOf(LocalDateTime.now().minusDays(random.nextInt(5 * 365)).truncatedTo(ChronoUnit.SECONDS))};
+    }
+
+    /**
+     * Number of cards or accounts of one owner: at least one, geometric around the mean.
+     */
+    static long rowsOfOwner(SplittableRandom random, double mean) {
+        if (mean <= 1) {
+            return 1;
+        }
+        double extra = Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - 1 / mean));
+        return 1 + (long) Math.min(extra, 9);
+    }
+
+    /**
+     * Spread a total over {@code n} cards or accounts with Zipf weights {@code 1 / rank^skew},
+     * the ranks shuffled so the hot ones are not simply the first rows.
+     *
+     * @return the count of each card or account, summing to {@code total}
+     */
+    static long[] transactionCounts(int n, long total, double skew, SplittableRandom random) {
+        int[] ranks = new int[n];
+        for (int i = 0; i < n; i++) {
+            ranks[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int rank = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = rank;
+        }
+        double weightSum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            weightSum += Math.pow(rank, -skew);
+        }
+        long[] counts = new long[n];
+        long assigned = 0;
+        for (int i = 0; i < n; i++) {
+            counts[i] = (long) Math.floor(total * Math.pow(ranks[i], -skew) / weightSum);
+            assigned += counts[i];
+        }
+        // Rounding leaves fewer than n rows over; hand them out one each
+        for (long left = total - assigned; left > 0; left--) {
+            counts[random.nextInt(n)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Dates of {@code count} transactions between {@code startMillis} and {@code endMillis}, ascending.
+     * Activity grows towards the present, weekends are quieter and most transactions fall around midday.
+     */
+    static long[] transactionDates(SplittableRandom random, int count, long startMillis, long endMillis) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate firstDay = Instant.ofEpochMilli(startMillis).atZone(zone).toLocalDate();
+        long days = Math.max(1, ChronoUnit.DAYS.between(firstDay, Instant.ofEpochMilli(endMillis).atZone(zone).toLocalDate()));
+        long[] dates = new long[count];
+        int generated = 0;
+        while (generated < count) {
+            // Half uniform, half with a density rising towards the present
+            double position = random.nextBoolean() ? random.nextDouble() : Math.sqrt(random.nextDouble());
+            LocalDate day = firstDay.plusDays((long) (position * days));
+            DayOfWeek dayOfWeek = day.getDayOfWeek();
+            if ((dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) && random.nextInt(10) < 4) {
+                continue;
+            }
+            double hour = Math.max(0, Math.min(23.99, 14 + random.nextGaussian() * 3.5));
+            long date = day.atStartOfDay(zone).toInstant().toEpochMilli() + (long) (hour * 3_600_000);
+            if (date >= startMillis && date <= endMillis) {
+                dates[generated++] = date;
+            }
+        }
+        Arrays.sort(dates);
+        return dates;
+    }
+
+    /**
+     * Log-normal amount around a median, between 0.50 and 50,000.00.
+     */
+    static BigDecimal amount(SplittableRandom random, double median) {
+        double value = median * Math.exp(random.nextGaussian() * 1.1);
+        return BigDecimal.valueOf(Math.max(0.5, Math.min(50_000, value))).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
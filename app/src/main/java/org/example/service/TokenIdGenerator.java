@@ -0,0 +1,74 @@
+package org.example.service;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Source of the random token IDs of {@link AuthService}, selected with {@code app.auth.token-id-random}.
+ * <ul>
+ *   <li>{@code shared}: one {@link SecureRandom} for every thread. On Linux this is NativePRNG, which
+ *   serializes all callers on a single lock, so concurrent logins queue on it.</li>
+ *   <li>{@code striped}: a fixed set of DRBG instances, each thread always drawing from the same one.
+ *   Threads only contend with the few other threads on their stripe. The set is bounded instead of
+ *   one instance per thread, so virtual threads, one per request, do not seed a new generator on
+ *   every login.</li>
+ * </ul>
+ * Both are cryptographically strong; token IDs are the revocation keys of the deny-list.
+ */
+public interface TokenIdGenerator {
+
+    String SHARED = "shared";
+    String STRIPED = "striped";
+
+    /**
+     * Fill an array with random bytes.
+     *
+     * @param bytes the array to fill
+     */
+    void nextBytes(byte[] bytes);
+
+    /**
+     * Get the generator configured by name.
+     *
+     * @param name {@link #SHARED} or {@link #STRIPED}
+     * @return a new generator
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static TokenIdGenerator forName(String name) {
+        return switch (name.trim()) {
+            case SHARED -> shared();
+            case STRIPED -> striped(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4));
+            default -> throw new IllegalArgumentException(
+                    "app.auth.token-id-random must be " + SHARED + " or " + STRIPED + ", not " + name);
+        };
+    }
+
+    /**
+     * @return a generator backed by one default {@link SecureRandom}
+     */
+    static TokenIdGenerator shared() {
+        return new SecureRandom()::nextBytes;
+    }
+
+    /**
+     * @param stripes the number of DRBG instances, a power of two
+     * @return a generator backed by {@code stripes} DRBG instances chosen by thread ID
+     */
+    static TokenIdGenerator striped(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two: " + stripes);
+        }
+        SecureRandom[] randoms = new SecureRandom[stripes];
+        for (int i = 0; i < stripes; i++) {
+            try {
+                randoms[i] = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Cannot initialize DRBG", e);
+            }
+        }
+        return bytes -> {
+            long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+            randoms[(int) (h ^ (h >>> 32)) & (stripes - 1)].nextBytes(bytes);
+        };
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.service;
+
+import org.example.dto.TransactionImportResult;
+import org.example.dto.TransactionImportRow;
+import org.example.model.DailyRollup;
+import org.example.repository.CreditCardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Service for importing large numbers of credit card transactions in one request.
+ * Rows are validated and written in chunks with JDBC batch inserts, bypassing the
+ * persistence context: Hibernate cannot batch inserts for IDENTITY keys, while a plain
+ * JDBC batch is sent as multi-row INSERTs by the MySQL driver. Each batch and the daily
+ * rollups of its rows are written in one database transaction.
+ * <p>
+ * Every row is authorized by the {@link CardAuthorizationLedger} like a single transaction,
+ * so an import can neither charge a card past its limit nor leave its balance behind; the
+ * authorizations of a batch that does not commit are reversed. Once a batch has committed,
+ * the versions of its cards are bumped and the owner's cached card list is dropped.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    /**
+     * Number of rows validated and inserted per JDBC batch.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    static final String INSERT_SQL =
+            "INSERT INTO transactions (credit_card_id, transaction_date, amount, description, type) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CreditCardRepository creditCardRepository;
+    private final DailyRollupService dailyRollupService;
+    private final CardAuthorizationLedger authorizationLedger;
+    private final ResourceVersions resourceVersions;
+    private final OwnerResponseCache ownerResponseCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TransactionImportService(JdbcTemplate jdbcTemplate, CreditCardRepository creditCardRepository,
+                                    DailyRollupService dailyRollupService,
+                                    CardAuthorizationLedger authorizationLedger, ResourceVersions resourceVersions,
+                                    OwnerResponseCache ownerResponseCache,
+                                    PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.creditCardRepository = creditCardRepository;
+        this.dailyRollupService = dailyRollupService;
+        this.authorizationLedger = authorizationLedger;
+        this.resourceVersions = resourceVersions;
+        this.ownerResponseCache = ownerResponseCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import transactions for any number of the owner's credit cards.
+     * Rows are consumed from the iterator as they are read, so the request body never has
+     * to be held in memory. Each row is accepted or rejected on its own; a failed batch
+     * only rejects the rows of that batch, and rows for cards of other owners or rows the
+     * ledger declines are rejected.
+     *
+     * @param ownerId the ID number of the owner whose cards may be written
+     * @param rows the rows to import, in request order
+     * @return per-row results and the sustained throughput of the import
+     */
+    public TransactionImportResult importTransactions(String ownerId, Iterator<TransactionImportRow> rows) {
+        long start = System.nanoTime();
+        TransactionImportResult result = new TransactionImportResult();
+        Set<Long> knownCardIds = new HashSet<>();
+        Set<Long> unknownCardIds = new HashSet<>();
+
+        List<TransactionImportRow> chunk = new ArrayList<>(BATCH_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BATCH_SIZE);
+        int index = 0;
+        while (true) {
+            TransactionImportRow row;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // The input itself is unreadable past this point; keep what was already parsed
+                result.reject(index, "Malformed input: " + e.getMessage());
+                break;
+            }
+            try {
+                row = rows.next();
+            } catch (RuntimeException e) {
+                result.reject(index++, "Malformed row: " + e.getMessage());
+                continue;
+            }
+
+            String error = validate(row);
+            if (error != null) {
+                result.reject(index++, error);
+                continue;
+            }
+            chunk.add(row);
+            chunkIndexes.add(index++);
+            if (chunk.size() == BATCH_SIZE) {
+                writeChunk(ownerId, chunk, chunkIndexes, knownCardIds, unknownCardIds, result);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(ownerId, chunk, chunkIndexes, knownCardIds, unknownCardIds, result);
+        }
+        result.getRows().sort(Comparator.comparingInt(TransactionImportResult.RowResult::getIndex));
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getAccepted() * 1_000_000_000.0 / elapsedNanos);
+        log.info("Imported {} transactions ({} rejected) in {} ms, {} rows/s",
+                result.getAccepted(), result.getRejected(), result.getElapsedMillis(),
+                Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Check a row's fields before it is sent to the database.
+     *
+     * @return the rejection reason, or null if the row is valid
+     */
+    private String validate(TransactionImportRow row) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        if (row.getCreditCardId() == null) {
+            return "creditCardId is required";
+        }
+        if (row.getTransactionDate() == null) {
+            return "transactionDate is required";
+        }
+        if (row.getAmount() == null || row.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "amount must be greater than zero";
+        }
+        if (row.getDescription() == null || row.getDescription().isBlank()) {
+            return "description is required";
+        }
+        if (!"CHARGE".equals(row.getType()) && !"CREDIT".equals(row.getType())) {
+            return "type must be CHARGE or CREDIT";
+        }
+        return null;
+    }
+
+    /**
+     * Reject rows for unknown or foreign cards, authorize the rest and insert the approved ones
+     * with one JDBC batch. Card IDs are resolved once per import with a single IN query per chunk.
+     * The batch adds one rollup update per card, day and type, in the transaction of the insert.
+     */
+    private void writeChunk(String ownerId, List<TransactionImportRow> chunk, List<Integer> chunkIndexes,
+                            Set<Long> knownCardIds, Set<Long> unknownCardIds, TransactionImportResult result) {
+        Set<Long> unresolved = new HashSet<>();
+        for (TransactionImportRow row : chunk) {
+            if (!knownCardIds.contains(row.getCreditCardId()) && !unknownCardIds.contains(row.getCreditCardId())) {
+                unresolved.add(row.getCreditCardId());
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            // The looked-up set is left as it was passed to the repository
+            Set<Long> existing = new HashSet<>(creditCardRepository.findOwnedIds(ownerId, unresolved));
+            for (Long cardId : unresolved) {
+                (existing.contains(cardId) ? knownCardIds : unknownCardIds).add(cardId);
+            }
+        }
+
+        List<TransactionImportRow> batch = new ArrayList<>(chunk.size());
+        List<Integer> batchIndexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TransactionImportRow row = chunk.get(i);
+            if (unknownCardIds.contains(row.getCreditCardId())) {
+                result.reject(chunkIndexes.get(i), "Credit card not found: " + row.getCreditCardId());
+                continue;
+            }
+            CardAuthorizationLedger.Decision decision =
+                    authorizationLedger.authorize(row.getCreditCardId(), row.getType(), row.getAmount());
+            if (decision == CardAuthorizationLedger.Decision.CARD_NOT_FOUND) {
+                result.reject(chunkIndexes.get(i), "Credit card not found: " + row.getCreditCardId());
+            } else if (decision != CardAuthorizationLedger.Decision.APPROVED) {
+                result.reject(chunkIndexes.get(i), "Declined: " + decision);
+            } else {
+                batch.add(row);
+                batchIndexes.add(chunkIndexes.get(i));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        boolean committed = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                    ps.setLong(1, row.getCreditCardId());
+                    ps.setTimestamp(2, new Timestamp(row.getTransactionDate().getTime()));
+                    ps.setBigDecimal(3, row.getAmount());
+                    ps.setString(4, row.getDescription());
+                    ps.setString(5, row.getType());
+                });
+                for (BatchRollup rollup : rollUp(batch).values()) {
+                    dailyRollupService.add(DailyRollup.CARD, rollup.cardId(), rollup.day(), rollup.type(),
+                            rollup.count(), rollup.amount());
+                }
+            });
+            committed = true;
+            batchIndexes.forEach(result::accept);
+            // The template has committed, so readers that see the new versions also see the rows
+            batch.stream().map(TransactionImportRow::getCreditCardId).distinct().forEach(resourceVersions::cardChanged);
+            ownerResponseCache.evictCards(ownerId);
+        } catch (DataAccessException e) {
+            log.warn("Transaction import batch of {} rows failed", batch.size(), e);
+            String reason = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+            batchIndexes.forEach(i -> result.reject(i, reason));
+        } finally {
+            if (!committed) {
+                batch.forEach(row -> authorizationLedger.reverse(row.getCreditCardId(), row.getType(), row.getAmount()));
+            }
+        }
+    }
+
+    /**
+     * Sum the rows of a batch per card, day and type.
+     * Sorted by key, so concurrent imports lock shared rollup rows in the same order.
+     */
+    private static Map<String, BatchRollup> rollUp(List<TransactionImportRow> batch) {
+        Map<String, BatchRollup> rollups = new TreeMap<>();
+        for (TransactionImportRow row : batch) {
+            LocalDate day = DailyRollupService.dayOf(row.getTransactionDate());
+            rollups.merge(String.format("%019d %s %s", row.getCreditCardId(), day, row.getType()),
+                    new BatchRollup(row.getCreditCardId(), day, row.getType(), 1, row.getAmount()),
+                    BatchRollup::plus);
+        }
+        return rollups;
+    }
+
+    private record BatchRollup(Long cardId, LocalDate day, String type, long count, BigDecimal amount) {
+        private BatchRollup plus(BatchRollup other) {
+            return new BatchRollup(cardId, day, type, count + other.count, amount.add(other.amount));
+        }
+    }
+}
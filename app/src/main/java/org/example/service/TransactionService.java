@@ -1,45 +1,58 @@
 package org.example.service;
 
+import org.example.dto.SpendingSummary;
+import org.example.dto.TransactionCursor;
 import org.example.dto.TransactionDTO;
+import org.example.dto.TransactionPage;
 import org.example.model.CreditCard;
+import org.example.model.DailyRollup;
 import org.example.model.Transaction;
 import org.example.repository.CreditCardRepository;
 import org.example.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class TransactionService extends BaseTransactionService<Transaction, CreditCard, TransactionRepository> {
 
+    /**
+     * Upper bound for a single page, so a request can never pull an unbounded number of rows.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CreditCardRepository creditCardRepository;
+    private final CardAuthorizationLedger authorizationLedger;
+    private final DailyRollupService dailyRollupService;
+    private final OwnershipService ownershipService;
+    private final OwnerResponseCache ownerResponseCache;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, CreditCardRepository creditCardRepository) {
+    public TransactionService(TransactionRepository transactionRepository, CreditCardRepository creditCardRepository,
+                              CardAuthorizationLedger authorizationLedger, DailyRollupService dailyRollupService,
+                              OwnershipService ownershipService, OwnerResponseCache ownerResponseCache,
+                              ResourceVersions resourceVersions) {
         super(transactionRepository);
         this.creditCardRepository = creditCardRepository;
+        this.authorizationLedger = authorizationLedger;
+        this.dailyRollupService = dailyRollupService;
+        this.ownershipService = ownershipService;
+        this.ownerResponseCache = ownerResponseCache;
+        this.resourceVersions = resourceVersions;
     }
     
-    /**
-     * Convert Transaction entity to TransactionDTO.
-     *
-     * @param transaction the transaction entity
-     * @return the transaction DTO
-     */
-    private TransactionDTO convertToDTO(Transaction transaction) {
-        return new TransactionDTO(
-            transaction.getId(),
-            transaction.getTransactionDate(),
-            transaction.getAmount(),
-            transaction.getDescription(),
-            transaction.getType()
-        );
-    }
-
     /**
      * Retrieve all transactions for a specific credit card.
      *
@@ -103,63 +116,166 @@ public class TransactionService extends BaseTransactionService<Transaction, Cred
     }
     
     /**
-     * Delete a transaction by its ID.
-     * Delegating to parent method for backward compatibility.
+     * Delete a transaction by its ID and remove it from the daily rollup of its card.
+     * Once the delete has committed, the amount is given back to the card through the
+     * authorization ledger, the card's version is bumped and its owner's card list is evicted.
      *
      * @param id the ID of the transaction to delete
      * @return true if deleted, false if the transaction was not found
      */
+    @Transactional
     public boolean deleteTransaction(Long id) {
-        return delete(id);
+        Optional<Transaction> transaction = repository.findById(id);
+        if (transaction.isEmpty()) {
+            return false;
+        }
+        repository.delete(transaction.get());
+        // The card is an uninitialized reference; reading its ID does not load it
+        Long creditCardId = transaction.get().getCreditCard().getId();
+        dailyRollupService.transactionRemoved(DailyRollup.CARD, creditCardId, transaction.get());
+        String type = transaction.get().getType();
+        BigDecimal amount = transaction.get().getAmount();
+        afterCommit(() -> {
+            authorizationLedger.reverse(creditCardId, type, amount);
+            resourceVersions.cardChanged(creditCardId);
+            ownershipService.getCardOwner(creditCardId).ifPresent(ownerResponseCache::evictCards);
+        });
+        return true;
     }
 
     /**
      * Save a new transaction.
+     * The transaction is first authorized against the card's available credit by the
+     * in-memory ledger; a declined charge is never inserted. Only the new row is inserted:
+     * the card is attached as an uninitialized reference, so neither the card nor its
+     * transaction history is loaded. The daily rollup of the card is updated in the same
+     * transaction. If the insert does not commit, the authorization is reversed.
      *
      * @param transaction the transaction to save
      * @param creditCardId the ID of the associated credit card
      * @return the saved transaction if the credit card exists, or empty optional otherwise
+     * @throws ChargeDeclinedException if the ledger declines the transaction
      */
     @Override
+    @Transactional
     public Optional<Transaction> saveTransaction(Transaction transaction, Long creditCardId) {
-        Optional<CreditCard> creditCardOptional = creditCardRepository.findById(creditCardId);
-        
-        if (creditCardOptional.isPresent()) {
-            CreditCard creditCard = creditCardOptional.get();
-            transaction.setCreditCard(creditCard);
-            creditCard.addTransaction(transaction);
-            creditCardRepository.save(creditCard);
-            return Optional.of(transaction);
+        String type = transaction.getType();
+        BigDecimal amount = transaction.getAmount();
+        CardAuthorizationLedger.Decision decision = authorizationLedger.authorize(creditCardId, type, amount);
+        if (decision == CardAuthorizationLedger.Decision.CARD_NOT_FOUND) {
+            return Optional.empty();
+        }
+        if (decision != CardAuthorizationLedger.Decision.APPROVED) {
+            throw new ChargeDeclinedException(creditCardId, decision);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        authorizationLedger.reverse(creditCardId, type, amount);
+                    }
+                }
+            });
+        }
+        try {
+            transaction.setCreditCard(creditCardRepository.getReferenceById(creditCardId));
+            Transaction saved = repository.save(transaction);
+            dailyRollupService.transactionAdded(DailyRollup.CARD, creditCardId, saved);
+            return Optional.of(saved);
+        } catch (RuntimeException e) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                authorizationLedger.reverse(creditCardId, type, amount);
+            }
+            throw e;
         }
-        
-        return Optional.empty();
     }
     
     /**
      * Retrieve all transactions for a specific client account as DTOs.
+     * All of the client's cards are read with a single joined query.
      *
      * @param clientId the ID of the client account
      * @return list of transaction DTOs for the specified client account
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByClientId(String clientId) {
-        List<CreditCard> clientCards = creditCardRepository.findByOwnerId(clientId);
-        
-        return clientCards.stream()
-                .flatMap(card -> repository.findByCreditCardId(card.getId()).stream())
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByOwnerId(clientId);
+    }
+
+    /**
+     * Stream all transactions for a specific client account as DTOs.
+     * Rows are read with a single joined query through a forward-only cursor and handed
+     * to the consumer one at a time, so they are never collected in memory.
+     *
+     * @param clientId the ID of the client account
+     * @param consumer receives each transaction DTO as it is read
+     * @return the number of transactions streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactionsByClientId(String clientId, Consumer<TransactionDTO> consumer) {
+        return forEachRow(repository.streamDTOsByOwnerId(clientId), consumer);
+    }
+
+    /**
+     * Stream the transactions of a credit card within a date range as DTOs, oldest first.
+     * Rows are read through a forward-only cursor and handed to the consumer one at a time,
+     * so memory use does not depend on the size of the range.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param startDate the start date for filtering transactions
+     * @param endDate the end date for filtering transactions
+     * @param consumer receives each transaction DTO as it is read
+     * @return the number of transactions streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactionDTOsByCreditCardIdAndDateRange(Long creditCardId, Date startDate, Date endDate,
+                                                               Consumer<TransactionDTO> consumer) {
+        return forEachRow(repository.streamDTOsByCreditCardIdAndTransactionDateBetween(creditCardId, startDate, endDate),
+                consumer);
     }
     
+    /**
+     * Retrieve one page of transactions for a specific credit card, newest first.
+     * Uses keyset pagination on (transactionDate, id) instead of OFFSET, so page N
+     * costs the same as page 1 and at most {@link #MAX_PAGE_SIZE} rows are held in memory.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param limit the maximum number of transactions to return (clamped to 1..MAX_PAGE_SIZE)
+     * @param after cursor of the last row of the previous page, or null for the first page
+     * @return the page of transaction DTOs and the cursor for the next page, if any
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionPageByCreditCardId(Long creditCardId, int limit, TransactionCursor after) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionDTO> rows = after == null
+                ? repository.findPageByCreditCardId(creditCardId, pageRequest)
+                : repository.findPageByCreditCardIdAfter(
+                        creditCardId, after.getTransactionDate(), after.getId(), pageRequest);
+
+        if (rows.size() <= pageSize) {
+            return new TransactionPage(rows, null);
+        }
+
+        List<TransactionDTO> page = new ArrayList<>(rows.subList(0, pageSize));
+        String nextCursor = TransactionCursor.after(page.get(pageSize - 1)).encode();
+        return new TransactionPage(page, nextCursor);
+    }
+
     /**
      * Retrieve all transactions for a specific credit card as DTOs.
+     * The DTOs are selected directly by the query, so no entity is loaded.
      *
      * @param creditCardId the ID of the credit card
      * @return list of transaction DTOs for the specified credit card
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionDTOsByCreditCardId(Long creditCardId) {
-        return repository.findByCreditCardId(creditCardId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByCreditCardId(creditCardId);
     }
     
     /**
@@ -170,10 +286,9 @@ public class TransactionService extends BaseTransactionService<Transaction, Cred
      * @param endDate the end date for filtering transactions
      * @return list of transaction DTOs within the specified date range for the given credit card
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionDTOsByCreditCardIdAndDateRange(Long creditCardId, Date startDate, Date endDate) {
-        return repository.findByCreditCardIdAndTransactionDateBetween(creditCardId, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByCreditCardIdAndTransactionDateBetween(creditCardId, startDate, endDate);
     }
     
     /**
@@ -183,9 +298,38 @@ public class TransactionService extends BaseTransactionService<Transaction, Cred
      * @param type the type of transaction (CHARGE or CREDIT)
      * @return list of transaction DTOs of the specified type for the given credit card
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionDTOsByCreditCardIdAndType(Long creditCardId, String type) {
-        return repository.findByCreditCardIdAndType(creditCardId, type).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return repository.findDTOsByCreditCardIdAndType(creditCardId, type);
+    }
+
+    /**
+     * Summarize the transactions of a credit card by period and type.
+     * Read from the daily rollups, so the cost depends on the number of days in the range,
+     * not on the number of transactions.
+     *
+     * @param creditCardId the ID of the credit card
+     * @param startDate first day of the range
+     * @param endDate last day of the range, inclusive
+     * @param period the length of the periods to group by
+     * @return one summary per period and type that has transactions
+     */
+    public List<SpendingSummary> getSpendingSummaryByCreditCardId(Long creditCardId, LocalDate startDate,
+                                                                  LocalDate endDate, SpendingSummary.Period period) {
+        return dailyRollupService.getSummary(DailyRollup.CARD, creditCardId, startDate, endDate, period);
+    }
+
+    private static void afterCommit(Runnable action) {
+        // Neither the ledger nor readers of the new version may see a delete that is rolled back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
@@ -177,4 +177,13 @@ INSERT INTO account_transactions (transaction_date, amount, description, type, a
 ('2023-03-22 15:20:15', 200.00, 'Transfer to Primary', 'CHARGE', 7),
 ('2023-03-29 10:35:00', 300.00, 'Client Deposit', 'CREDIT', 7),
 ('2023-04-05 13:45:20', 120.50, 'Online Purchase', 'CHARGE', 7),
-('2023-04-12 09:30:30', 600.00, 'Deposit', 'CREDIT', 7);
\ No newline at end of file
+('2023-04-12 09:30:30', 600.00, 'Deposit', 'CREDIT', 7);
+
+-- Give the seeded account transactions the running balance every later insert maintains
+UPDATE account_transactions t
+JOIN (
+    SELECT id, SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END)
+               OVER (PARTITION BY account_id ORDER BY transaction_date, id) AS balance
+    FROM account_transactions
+) r ON r.id = t.id
+SET t.running_balance = r.balance;
@@ -4,6 +4,9 @@
 -- First, drop all tables if they exist (in the correct order to handle foreign keys)
 SET FOREIGN_KEY_CHECKS = 0;
 
+DROP TABLE IF EXISTS statement_runs;
+DROP TABLE IF EXISTS statements;
+DROP TABLE IF EXISTS daily_rollups;
 DROP TABLE IF EXISTS transactions;
 DROP TABLE IF EXISTS account_transactions;
 DROP TABLE IF EXISTS credit_cards;
@@ -26,7 +29,8 @@ CREATE TABLE IF NOT EXISTS accounts (
     creation_date DATETIME(6) NOT NULL,
     account_number VARCHAR(255) NOT NULL UNIQUE,
     account_type VARCHAR(255) NOT NULL,
-    owner_id VARCHAR(255) NOT NULL
+    owner_id VARCHAR(255) NOT NULL,
+    INDEX idx_accounts_owner_id (owner_id)
 ) ENGINE=InnoDB;
 
 CREATE TABLE IF NOT EXISTS credit_cards (
@@ -38,7 +42,8 @@ CREATE TABLE IF NOT EXISTS credit_cards (
     card_type VARCHAR(255) NOT NULL,
     last_four_digits VARCHAR(255) NOT NULL,
     owner_id VARCHAR(255) NOT NULL,
-    valid_until VARCHAR(255) NOT NULL
+    valid_until VARCHAR(255) NOT NULL,
+    INDEX idx_credit_cards_owner_id (owner_id)
 ) ENGINE=InnoDB;
 
 CREATE TABLE IF NOT EXISTS transactions (
@@ -48,6 +53,10 @@ CREATE TABLE IF NOT EXISTS transactions (
     transaction_date DATETIME(6) NOT NULL,
     description VARCHAR(255) NOT NULL,
     type VARCHAR(255) NOT NULL,
+    -- Card history, date ranges and keyset pages; also serves the foreign key
+    INDEX idx_transactions_card_date (credit_card_id, transaction_date, id),
+    -- Card history filtered by type (CHARGE/CREDIT)
+    INDEX idx_transactions_card_type_date (credit_card_id, type, transaction_date, id),
     FOREIGN KEY (credit_card_id) REFERENCES credit_cards(id)
 ) ENGINE=InnoDB;
 
@@ -58,5 +67,56 @@ CREATE TABLE IF NOT EXISTS account_transactions (
     transaction_date DATETIME(6) NOT NULL,
     description VARCHAR(255) NOT NULL,
     type VARCHAR(255) NOT NULL,
+    -- Net of the account's movements up to and including this row, in (transaction_date, id) order;
+    -- set on insert and shifted for later rows on backdated inserts and deletes
+    running_balance DECIMAL(19,2) NOT NULL DEFAULT 0,
+    -- Account history, date ranges and "last N" pages; also serves the foreign key
+    INDEX idx_account_transactions_account_date (account_id, transaction_date, id),
+    -- Account history filtered by type (CHARGE/CREDIT)
+    INDEX idx_account_transactions_account_type_date (account_id, type, transaction_date, id),
     FOREIGN KEY (account_id) REFERENCES accounts(id)
 ) ENGINE=InnoDB;
+
+-- Count and sum of the transactions of one card or account, per day and type; kept up to date
+-- by every insert and delete of a transaction and rebuilt from both tables at startup
+CREATE TABLE IF NOT EXISTS daily_rollups (
+    entity_id BIGINT NOT NULL,
+    entity_type VARCHAR(16) NOT NULL,
+    rollup_date DATE NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    txn_count BIGINT NOT NULL,
+    amount_sum DECIMAL(19,2) NOT NULL,
+    -- Date ranges of one card or account are read from the primary key
+    PRIMARY KEY (entity_id, entity_type, rollup_date, type)
+) ENGINE=InnoDB;
+
+-- Closed monthly statements; not tied to credit_cards by a foreign key, so deleting a card keeps its history
+CREATE TABLE IF NOT EXISTS statements (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    credit_card_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    opening_balance DECIMAL(19,2) NOT NULL,
+    total_charges DECIMAL(19,2) NOT NULL,
+    charge_count BIGINT NOT NULL,
+    total_credits DECIMAL(19,2) NOT NULL,
+    credit_count BIGINT NOT NULL,
+    closing_balance DECIMAL(19,2) NOT NULL,
+    closed_at DATETIME(6) NOT NULL,
+    -- One statement per card and month; also serves the card's statement list and the previous statement
+    UNIQUE KEY uk_statements_card_period (credit_card_id, period_start)
+) ENGINE=InnoDB;
+
+-- Progress of the statement closing job per month, so an interrupted run resumes after its last chunk
+CREATE TABLE IF NOT EXISTS statement_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    period_start DATE NOT NULL UNIQUE,
+    status VARCHAR(16) NOT NULL,
+    last_card_id BIGINT NOT NULL,
+    cards_closed BIGINT NOT NULL,
+    cards_skipped BIGINT NOT NULL,
+    processing_millis BIGINT NOT NULL,
+    started_at DATETIME(6) NOT NULL,
+    finished_at DATETIME(6),
+    INDEX idx_statement_runs_status (status)
+) ENGINE=InnoDB;
@@ -0,0 +1,270 @@
+package org.example.config;
+
+import org.example.service.AuthService;
+import org.example.service.OwnershipService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AuthenticationFilterTest {
+
+    private static final String TOKEN = "valid-token";
+    private static final String OWNER_ID = "15.413.217-1";
+    private static final String OPERATOR_ID = "operator-1";
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private OwnershipService ownershipService;
+
+    private AuthenticationFilter authenticationFilter;
+
+    @Before
+    public void setUp() {
+        authenticationFilter = new AuthenticationFilter(authService, ownershipService, new String[]{OPERATOR_ID});
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authenticationFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    public void testOwnRequestPassesWithOwnerAttribute() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        MockHttpServletRequest request = request("GET", "/api/cards/owner/" + OWNER_ID);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertSame(request, chain.getRequest());
+        assertEquals(OWNER_ID, request.getAttribute(AuthenticationFilter.OWNER_ID_ATTRIBUTE));
+        verifyNoInteractions(ownershipService);
+    }
+
+    @Test
+    public void testMissingTokenIsUnauthorized() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cards/owner/" + OWNER_ID);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals("Bearer", response.getHeader("WWW-Authenticate"));
+        assertNull(chain.getRequest());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    public void testInvalidTokenIsUnauthorized() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(null);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request("GET", "/api/messages"), chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testOtherOwnersPathIsForbidden() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request("GET", "/api/transactions/client/someone-else"), chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testOtherOwnersOverviewIsForbidden() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request("GET", "/api/clients/someone-else/overview"), chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testOtherOwnersCardIsForbidden() throws Exception {
+        // Arrange: the client in the path is the caller, but the card is not theirs
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        when(ownershipService.getCardOwner(7L)).thenReturn(Optional.of("someone-else"));
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(
+                request("GET", "/api/transactions/client/" + OWNER_ID + "/card/7/daterange"), chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testOwnCardAccountAndTransactionPass() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        when(ownershipService.getCardOwner(1L)).thenReturn(Optional.of(OWNER_ID));
+        when(ownershipService.getAccountOwner(2L)).thenReturn(Optional.of(OWNER_ID));
+        when(ownershipService.getTransactionOwner(3L)).thenReturn(Optional.of(OWNER_ID));
+
+        // Act & Assert
+        for (String path : new String[]{"/api/cards/1", "/api/cards/1/transactions/type/CHARGE",
+                "/api/transactions/card/1", "/api/accounts/2/transactions", "/api/transactions/3"}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = filter(request("GET", path), chain);
+            assertEquals(path, 200, response.getStatus());
+            assertNotNull(path, chain.getRequest());
+        }
+    }
+
+    @Test
+    public void testUnknownOrMalformedIdsAreLeftToTheController() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        when(ownershipService.getCardOwner(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert: the controller answers with its own 404 or 400
+        for (String path : new String[]{"/api/cards/999", "/api/cards/abc", "/api/transactions/bulk"}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = filter(request("GET", path), chain);
+            assertEquals(path, 200, response.getStatus());
+            assertNotNull(path, chain.getRequest());
+        }
+    }
+
+    @Test
+    public void testAuthEndpointsAndNonApiPathsAreNotFiltered() throws Exception {
+        // Act & Assert
+        for (String path : new String[]{"/api/auth/login", "/swagger-ui/index.html", "/v3/api-docs"}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = filter(new MockHttpServletRequest("POST", path), chain);
+            assertEquals(path, 200, response.getStatus());
+            assertNotNull(path, chain.getRequest());
+        }
+        verifyNoInteractions(authService, ownershipService);
+    }
+
+    @Test
+    public void testCustomerCannotStartStatementRun() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request("POST", "/api/statements/runs"), chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testCustomerCannotReadStatementRun() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request("GET", "/api/statements/runs/2023-02"), chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testOperatorCanStartStatementRun() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OPERATOR_ID);
+        MockHttpServletRequest request = request("POST", "/api/statements/runs");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(request, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertSame(request, chain.getRequest());
+        verifyNoInteractions(ownershipService);
+    }
+
+    @Test
+    public void testCustomerCannotReadStats() throws Exception {
+        // Arrange
+        when(authService.validateToken(TOKEN)).thenReturn(OWNER_ID);
+
+        // Act
+        MockHttpServletResponse cacheStats = filter(request("GET", "/api/cache/stats"), new MockFilterChain());
+        MockHttpServletResponse tokenStats = filter(request("GET", "/api/auth/stats"), new MockFilterChain());
+
+        // Assert
+        assertEquals(403, cacheStats.getStatus());
+        assertEquals(403, tokenStats.getStatus());
+    }
+
+    @Test
+    public void testTokenStatsRequireToken() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/api/auth/stats"), chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testLoginIsNotFiltered() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter(new MockHttpServletRequest("POST", "/api/auth/login"), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(authService);
+    }
+}
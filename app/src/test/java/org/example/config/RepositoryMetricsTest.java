@@ -0,0 +1,200 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.example.model.Message;
+import org.example.repository.MessageRepository;
+import org.example.repository.StatementRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactoryCustomizer;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RepositoryMetricsTest {
+
+    private static final String ENDPOINT = "/api/messages/{id}";
+
+    @Mock
+    private MethodInvocation invocation;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RepositoryMetrics.Interceptor interceptor =
+            new RepositoryMetrics.Interceptor("MessageRepository", () -> meterRegistry);
+    private Method findAll;
+
+    @Before
+    public void setUp() throws Exception {
+        findAll = MessageRepository.class.getMethod("findAll");
+        lenient().when(invocation.getMethod()).thenReturn(findAll);
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testInvoke_RecordsTimeAndRowsPerEndpoint() throws Throwable {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ENDPOINT);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        List<Message> messages = List.of(new Message(), new Message(), new Message());
+        when(invocation.proceed()).thenReturn(messages);
+
+        // Act
+        Object result = interceptor.invoke(invocation);
+        interceptor.invoke(invocation);
+
+        // Assert
+        assertSame(messages, result);
+        Timer timer = meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tags("repository", "MessageRepository", "method", "findAll", "endpoint", ENDPOINT,
+                        "outcome", RepositoryMetrics.SUCCESS)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        DistributionSummary rows = meterRegistry.find(RepositoryMetrics.ROWS).tag("endpoint", ENDPOINT).summary();
+        assertNotNull(rows);
+        assertEquals(2, rows.count());
+        assertEquals(6.0, rows.totalAmount(), 0.0);
+    }
+
+    @Test
+    public void testInvoke_OutsideRequest() throws Throwable {
+        // Arrange
+        when(invocation.proceed()).thenReturn(Optional.empty());
+
+        // Act
+        interceptor.invoke(invocation);
+
+        // Assert
+        assertNotNull(meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tag("endpoint", RepositoryMetrics.NO_ENDPOINT).timer());
+        assertEquals(0.0, meterRegistry.find(RepositoryMetrics.ROWS).summary().totalAmount(), 0.0);
+    }
+
+    @Test
+    public void testInvoke_BeforeRequestIsMapped() throws Throwable {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(invocation.proceed()).thenReturn(List.of());
+
+        // Act
+        interceptor.invoke(invocation);
+
+        // Assert
+        assertNotNull(meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tag("endpoint", RepositoryMetrics.UNMAPPED_ENDPOINT).timer());
+    }
+
+    @Test
+    public void testInvoke_FailureIsTimedAndRethrown() throws Throwable {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("connection lost");
+        when(invocation.proceed()).thenThrow(failure);
+
+        // Act
+        try {
+            interceptor.invoke(invocation);
+            fail("expected the failure to be rethrown");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+
+        // Assert
+        Timer timer = meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tag("outcome", "IllegalStateException").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertNull(meterRegistry.find(RepositoryMetrics.ROWS).summary());
+    }
+
+    @Test
+    public void testInvoke_ResultWithoutRowsOnlyTimed() throws Throwable {
+        // Arrange
+        when(invocation.proceed()).thenReturn(42L);
+
+        // Act
+        interceptor.invoke(invocation);
+
+        // Assert
+        assertEquals(1, meterRegistry.find(RepositoryMetrics.INVOCATIONS).timer().count());
+        assertEquals(0, meterRegistry.find(RepositoryMetrics.ROWS).summary().count());
+    }
+
+    @Test
+    public void testRows() {
+        assertEquals(0, RepositoryMetrics.rows(null));
+        assertEquals(2, RepositoryMetrics.rows(List.of(1, 2)));
+        assertEquals(3, RepositoryMetrics.rows(new PageImpl<>(List.of(1, 2, 3))));
+        assertEquals(1, RepositoryMetrics.rows(new SliceImpl<>(List.of(1))));
+        assertEquals(1, RepositoryMetrics.rows(Optional.of(new Message())));
+        assertEquals(1, RepositoryMetrics.rows(new Message()));
+        assertEquals(-1, RepositoryMetrics.rows(Stream.of(1)));
+        assertEquals(-1, RepositoryMetrics.rows(5));
+        assertEquals(-1, RepositoryMetrics.rows(Boolean.TRUE));
+    }
+
+    @Test
+    public void testPostProcess_OnlyConfiguredRepositoriesAreInstrumented() {
+        // Arrange
+        RepositoryMetrics metrics = new RepositoryMetrics(meterRegistryProvider,
+                new String[]{"TransactionRepository", " MessageRepository"});
+        RepositoryFactoryBeanSupport<?, ?, ?> factoryBean = mock(RepositoryFactoryBeanSupport.class);
+        RepositoryFactorySupport factory = mock(RepositoryFactorySupport.class);
+
+        // Act
+        metrics.postProcessBeforeInitialization(factoryBean, "messageRepository");
+
+        // Assert
+        ArgumentCaptor<RepositoryFactoryCustomizer> customizer = ArgumentCaptor.forClass(RepositoryFactoryCustomizer.class);
+        verify(factoryBean).addRepositoryFactoryCustomizer(customizer.capture());
+        customizer.getValue().customize(factory);
+        ArgumentCaptor<RepositoryProxyPostProcessor> postProcessor =
+                ArgumentCaptor.forClass(RepositoryProxyPostProcessor.class);
+        verify(factory).addRepositoryProxyPostProcessor(postProcessor.capture());
+
+        assertEquals(1, advisorsAdded(postProcessor.getValue(), MessageRepository.class));
+        assertEquals(0, advisorsAdded(postProcessor.getValue(), StatementRepository.class));
+    }
+
+    private static int advisorsAdded(RepositoryProxyPostProcessor postProcessor, Class<?> repositoryInterface) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        RepositoryInformation information = mock(RepositoryInformation.class);
+        doReturn(repositoryInterface).when(information).getRepositoryInterface();
+        postProcessor.postProcess(proxyFactory, information);
+        return proxyFactory.getAdvisors().length;
+    }
+}
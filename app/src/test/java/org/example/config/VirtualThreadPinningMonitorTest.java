@@ -0,0 +1,76 @@
+package org.example.config;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class VirtualThreadPinningMonitorTest {
+
+    private static final String DRIVER_FRAME = "com.mysql.cj.protocol.a.NativeProtocol.sendCommand:1";
+    private static final String HIBERNATE_FRAME = "org.hibernate.engine.jdbc.internal.ResultSetReturnImpl.extract:2";
+    private static final String SERVICE_FRAME = "org.example.service.AccountService.getAccountById:3";
+    private static final String JDK_FRAME = "java.lang.Thread.sleep:4";
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(20), 2);
+
+    @Test
+    public void testDriverFrameTakesPrecedence() {
+        // Act
+        monitor.record(List.of(JDK_FRAME, DRIVER_FRAME, HIBERNATE_FRAME, SERVICE_FRAME), Duration.ofMillis(30));
+
+        // Assert
+        VirtualThreadPinningMonitor.PinningSite site = monitor.getPinningSites().get(0);
+        assertEquals(VirtualThreadPinningMonitor.Source.MYSQL_DRIVER, site.source());
+        assertEquals(DRIVER_FRAME, site.frame());
+    }
+
+    @Test
+    public void testSourceOf() {
+        // Act & Assert
+        assertEquals(VirtualThreadPinningMonitor.Source.HIBERNATE,
+                VirtualThreadPinningMonitor.sourceOf(List.of(JDK_FRAME, HIBERNATE_FRAME, SERVICE_FRAME)));
+        assertEquals(VirtualThreadPinningMonitor.Source.APPLICATION,
+                VirtualThreadPinningMonitor.sourceOf(List.of(JDK_FRAME, SERVICE_FRAME)));
+        assertEquals(VirtualThreadPinningMonitor.Source.OTHER,
+                VirtualThreadPinningMonitor.sourceOf(List.of(JDK_FRAME)));
+    }
+
+    @Test
+    public void testEventsAtOneSiteAreAggregated() {
+        // Act
+        monitor.record(List.of(DRIVER_FRAME, SERVICE_FRAME), Duration.ofMillis(30));
+        monitor.record(List.of(DRIVER_FRAME, HIBERNATE_FRAME), Duration.ofMillis(50));
+        monitor.record(List.of(HIBERNATE_FRAME), Duration.ofMillis(25));
+
+        // Assert
+        List<VirtualThreadPinningMonitor.PinningSite> sites = monitor.getPinningSites();
+        assertEquals(2, sites.size());
+        assertEquals(2, sites.get(0).count());
+        assertEquals(Duration.ofMillis(80), sites.get(0).total());
+        assertEquals(Duration.ofMillis(50), sites.get(0).max());
+        assertEquals(HIBERNATE_FRAME, sites.get(1).frame());
+    }
+
+    @Test
+    public void testSitesAreBounded() {
+        // Arrange
+        monitor.record(List.of(DRIVER_FRAME), Duration.ofMillis(30));
+        monitor.record(List.of(HIBERNATE_FRAME), Duration.ofMillis(30));
+
+        // Act
+        monitor.record(List.of(SERVICE_FRAME), Duration.ofMillis(30));
+        monitor.record(List.of(DRIVER_FRAME), Duration.ofMillis(30));
+
+        // Assert
+        List<VirtualThreadPinningMonitor.PinningSite> sites = monitor.getPinningSites();
+        assertEquals(2, sites.size());
+        assertEquals(DRIVER_FRAME, sites.get(0).frame());
+        assertEquals(2, sites.get(0).count());
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.AccountDTO;
 import org.example.model.Account;
 import org.example.service.AccountService;
 import org.example.service.AccountTransactionService;
+import org.example.service.OwnerResponseCache;
+import org.example.service.ResourceVersions;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -10,6 +14,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
 /**
  * Test class for the AccountController's base controller functionality.
  * This extends BaseControllerTest to test the CRUD operations inherited from BaseController.
@@ -19,18 +26,25 @@ public class AccountControllerBaseTest extends BaseControllerTest<Account, Long,
 
     @Mock
     private AccountTransactionService mockAccountTransactionService;
+
+    @Mock
+    private OwnerResponseCache mockOwnerResponseCache;
+
+    @Mock
+    private ResourceVersions mockResourceVersions;
     
     @Override
     protected AccountController createController() {
         setupServiceMocks();
-        return new AccountController(mockService, mockAccountTransactionService);
+        return new AccountController(mockService, mockAccountTransactionService, mockOwnerResponseCache,
+                mockResourceVersions, new ObjectMapper());
     }
 
     @Override
     protected Account createEntity() {
         Account account = new Account();
         account.setId(1L);
-        account.setOwnerId("user123");
+        account.setOwnerId(OWNER_ID);
         account.setAccountNumber("ACC123456");
         account.setAccountType("CHECKING");
         account.setBalance(new BigDecimal("1000.00"));
@@ -43,6 +57,15 @@ public class AccountControllerBaseTest extends BaseControllerTest<Account, Long,
         return 1L;
     }
 
+    @Override
+    protected void assertSummaryOf(Account entity, Object body) {
+        AccountDTO summary = (AccountDTO) body;
+        assertEquals(entity.getId(), summary.getId());
+        assertEquals(entity.getAccountNumber(), summary.getAccountNumber());
+        assertEquals(entity.getBalance(), summary.getBalance());
+        assertNull(summary.getRecentTransactions());
+    }
+
     @Override
     protected void setupServiceMocks() {
         // Create a proper mock of AccountService instead of relying on the generic mock
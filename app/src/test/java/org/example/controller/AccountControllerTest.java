@@ -1,31 +1,51 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.AccountDTO;
 import org.example.dto.AccountTransactionDTO;
+import org.example.dto.SpendingSummary;
 import org.example.model.Account;
 import org.example.model.AccountTransaction;
 import org.example.service.AccountService;
 import org.example.service.AccountTransactionService;
+import org.example.service.OwnerResponseCache;
+import org.example.service.ResourceVersions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AccountControllerTest {
@@ -36,6 +56,16 @@ public class AccountControllerTest {
     @Mock
     private AccountTransactionService accountTransactionService;
 
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+
+    @Spy
+    private ResourceVersions resourceVersions = new ResourceVersions(1000);
+
+    @Spy
+    private OwnerResponseCache ownerResponseCache =
+            new OwnerResponseCache(objectMapper, null, resourceVersions, true, 100, Duration.ofMinutes(10));
+
     @InjectMocks
     private AccountController accountController;
 
@@ -46,11 +76,19 @@ public class AccountControllerTest {
         mockMvc = MockMvcBuilders.standaloneSetup(accountController).build();
     }
 
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
     @Test
-    public void testGetAccountsByOwnerId_Success() {
+    public void testGetAccountsByOwnerId_Success() throws Exception {
         // Prepare test data
         String ownerId = "user123";
-        List<Account> accounts = new ArrayList<>();
+        List<AccountDTO> accounts = new ArrayList<>();
         
         Account account1 = new Account();
         account1.setId(1L);
@@ -68,38 +106,90 @@ public class AccountControllerTest {
         account2.setAccountNumber("ACC456");
         account2.setCreationDate(LocalDateTime.now());
         
-        accounts.add(account1);
-        accounts.add(account2);
+        accounts.add(new AccountDTO(account1));
+        accounts.add(new AccountDTO(account2));
 
         // Mock service behavior
-        when(accountService.getAccountsByOwnerId(ownerId)).thenReturn(accounts);
+        when(accountService.getAccountDTOsByOwnerId(ownerId)).thenReturn(accounts);
 
         // Execute the method to test
-        ResponseEntity<List<Account>> responseEntity = accountController.getAccountsByOwnerId(ownerId);
+        ResponseEntity<byte[]> responseEntity = accountController.getAccountsByOwnerId(ownerId, webRequest(null));
 
         // Verify the result
         assertEquals(200, responseEntity.getStatusCode().value());
-        assertEquals(2, responseEntity.getBody().size());
-        assertEquals(account1.getId(), responseEntity.getBody().get(0).getId());
-        assertEquals(account2.getId(), responseEntity.getBody().get(1).getId());
+        JsonNode body = objectMapper.readTree(responseEntity.getBody());
+        assertEquals(2, body.size());
+        assertEquals(account1.getId().longValue(), body.get(0).get("id").asLong());
+        assertEquals(account2.getId().longValue(), body.get(1).get("id").asLong());
+        assertFalse(body.get(0).has("transactions"));
+        assertFalse(body.get(0).has("recentTransactions"));
     }
 
     @Test
     public void testGetAccountsByOwnerId_NotFound() {
         // Prepare test data
         String ownerId = "nonexistent";
-        List<Account> emptyList = new ArrayList<>();
+        List<AccountDTO> emptyList = new ArrayList<>();
 
         // Mock service behavior
-        when(accountService.getAccountsByOwnerId(ownerId)).thenReturn(emptyList);
+        when(accountService.getAccountDTOsByOwnerId(ownerId)).thenReturn(emptyList);
 
         // Execute the method to test
-        ResponseEntity<List<Account>> responseEntity = accountController.getAccountsByOwnerId(ownerId);
+        ResponseEntity<byte[]> responseEntity = accountController.getAccountsByOwnerId(ownerId, webRequest(null));
 
         // Verify the result
         assertEquals(404, responseEntity.getStatusCode().value());
     }
 
+    @Test
+    public void testGetById_ReturnsSummaryWithoutTransactions() throws Exception {
+        // Prepare test data
+        Account account = new Account("ACC123", "CHECKING", new BigDecimal("1000.00"), "user123", LocalDateTime.now());
+        account.setId(1L);
+        account.addTransaction(new AccountTransaction(new Date(), new BigDecimal("10.00"), "Fee", "CHARGE", account));
+
+        // Mock service behavior
+        when(accountService.getById(1L)).thenReturn(Optional.of(account));
+
+        // Execute the method to test and verify the result
+        mockMvc.perform(get("/api/accounts/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("ACC123"))
+                .andExpect(jsonPath("$.transactions").doesNotExist())
+                .andExpect(jsonPath("$.recentTransactions").doesNotExist());
+        verifyNoInteractions(accountTransactionService);
+    }
+
+    @Test
+    public void testGetByIdWithIncludes_RecentTransactions() throws Exception {
+        // Prepare test data
+        Account account = new Account("ACC123", "CHECKING", new BigDecimal("1000.00"), "user123", LocalDateTime.now());
+        account.setId(1L);
+        List<AccountTransactionDTO> transactions = new ArrayList<>();
+        transactions.add(new AccountTransactionDTO(7L, new Date(), new BigDecimal("10.00"), "Fee", "CHARGE"));
+
+        // Mock service behavior
+        when(accountService.getById(1L)).thenReturn(Optional.of(account));
+        when(accountTransactionService.getLastTransactionDTOsByAccountId(1L, 3)).thenReturn(transactions);
+
+        // Execute the method to test and verify the result
+        mockMvc.perform(get("/api/accounts/1").param("include", "recentTransactions").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recentTransactions.length()").value(1))
+                .andExpect(jsonPath("$.recentTransactions[0].id").value(7));
+    }
+
+    @Test
+    public void testGetByIdWithIncludes_UnsupportedExpansion() {
+        // Execute the method to test
+        ResponseEntity<AccountDTO> responseEntity =
+                accountController.getByIdWithIncludes(1L, List.of("transactions"), 20);
+
+        // Verify the result
+        assertEquals(400, responseEntity.getStatusCode().value());
+        verifyNoInteractions(accountService, accountTransactionService);
+    }
+
     @Test
     public void testGetTransactionsByAccountId_Success() {
         // Prepare test data
@@ -173,11 +263,128 @@ public class AccountControllerTest {
         when(accountTransactionService.getLastTransactionDTOsByAccountId(accountId, count)).thenReturn(transactions);
 
         // Execute the method to test
-        ResponseEntity<List<AccountTransactionDTO>> responseEntity = accountController.getLastTransactionsByAccountId(accountId, count);
+        ResponseEntity<List<AccountTransactionDTO>> responseEntity = accountController.getLastTransactionsByAccountId(accountId, count, webRequest(null));
 
         // Verify the result
         assertEquals(200, responseEntity.getStatusCode().value());
         assertEquals(count, responseEntity.getBody().size());
+        assertEquals(resourceVersions.accountTag(accountId), responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetLastTransactionsByAccountId_NotModified() {
+        // Prepare test data
+        Long accountId = 1L;
+        ServletWebRequest request = webRequest(resourceVersions.accountTag(accountId));
+
+        // Execute the method to test
+        ResponseEntity<List<AccountTransactionDTO>> responseEntity =
+                accountController.getLastTransactionsByAccountId(accountId, 5, request);
+
+        // Verify the result: answered from the tag alone
+        assertNull(responseEntity);
+        assertEquals(304, request.getResponse().getStatus());
+        verifyNoInteractions(accountTransactionService);
+    }
+
+    @Test
+    public void testGetLastTransactionsByAccountId_ChangedAccountIsReloaded() {
+        // Prepare test data
+        Long accountId = 1L;
+        String staleEtag = resourceVersions.accountTag(accountId);
+        resourceVersions.accountChanged(accountId);
+        List<AccountTransactionDTO> transactions = new ArrayList<>();
+        transactions.add(new AccountTransactionDTO(1L, new Date(), new BigDecimal("100.00"), "Deposit", "CREDIT"));
+
+        // Mock service behavior
+        when(accountTransactionService.getLastTransactionDTOsByAccountId(accountId, 5)).thenReturn(transactions);
+
+        // Execute the method to test
+        ResponseEntity<List<AccountTransactionDTO>> responseEntity =
+                accountController.getLastTransactionsByAccountId(accountId, 5, webRequest(staleEtag));
+
+        // Verify the result
+        assertEquals(200, responseEntity.getStatusCode().value());
+        assertEquals(1, responseEntity.getBody().size());
+    }
+
+    @Test
+    public void testExportTransactionsByAccountId_Ndjson() throws Exception {
+        // Prepare test data
+        Long accountId = 1L;
+        Date startDate = new Date(0);
+        Date endDate = new Date();
+        List<AccountTransactionDTO> transactions = new ArrayList<>();
+        transactions.add(new AccountTransactionDTO(1L, new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT"));
+        transactions.add(new AccountTransactionDTO(2L, new Date(), new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Mock service behavior: rows are pushed to the consumer one by one
+        when(accountTransactionService.streamTransactionDTOsByAccountIdAndDateRange(eq(accountId), eq(startDate), eq(endDate), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<AccountTransactionDTO> consumer = invocation.getArgument(3);
+                    transactions.forEach(consumer);
+                    return (long) transactions.size();
+                });
+
+        // Execute the method to test
+        accountController.exportTransactionsByAccountId(accountId, startDate, endDate, "ndjson", response);
+
+        // Verify the result: one compact JSON object per line, despite the indenting mapper
+        assertEquals(200, response.getStatus());
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("ATM Withdrawal", objectMapper.readTree(lines[1]).get("description").asText());
+    }
+
+    @Test
+    public void testExportTransactionsByAccountId_NotFound() throws Exception {
+        // Prepare test data
+        Long accountId = 999L;
+        Date startDate = new Date(0);
+        Date endDate = new Date();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Mock service behavior
+        when(accountTransactionService.streamTransactionDTOsByAccountIdAndDateRange(eq(accountId), eq(startDate), eq(endDate), any()))
+                .thenReturn(0L);
+
+        // Execute the method to test
+        accountController.exportTransactionsByAccountId(accountId, startDate, endDate, "csv", response);
+
+        // Verify the result
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    public void testGetSpendingSummary_ByDay() throws Exception {
+        // Mock service behavior
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        LocalDate endDate = LocalDate.of(2023, 1, 31);
+        when(accountTransactionService.getSpendingSummaryByAccountId(1L, startDate, endDate, SpendingSummary.Period.DAY))
+                .thenReturn(List.of(new SpendingSummary("2023-01-12", "CHARGE", 1, new BigDecimal("150.00"))));
+
+        // Execute the method to test and verify the result
+        mockMvc.perform(get("/api/accounts/1/transactions/summary")
+                        .param("startDate", "2023-01-01")
+                        .param("endDate", "2023-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period").value("2023-01-12"))
+                .andExpect(jsonPath("$[0].type").value("CHARGE"))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].total").value(150.00));
+    }
+
+    @Test
+    public void testGetSpendingSummary_UnsupportedPeriod() throws Exception {
+        // Execute the method to test and verify the result
+        mockMvc.perform(get("/api/accounts/1/transactions/summary")
+                        .param("startDate", "2023-01-01")
+                        .param("endDate", "2023-01-31")
+                        .param("groupBy", "week"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(accountTransactionService);
     }
 
     @Test
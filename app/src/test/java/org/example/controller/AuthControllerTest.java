@@ -2,6 +2,7 @@ package org.example.controller;
 
 import org.example.dto.AuthRequest;
 import org.example.dto.AuthResponse;
+import org.example.dto.TokenStats;
 import org.example.model.User;
 import org.example.service.AuthService;
 import org.junit.Before;
@@ -120,4 +121,18 @@ public class AuthControllerTest {
         // Verify the result
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetTokenStats() {
+        // Mock service behavior
+        TokenStats stats = new TokenStats(5, 1, 2, 1, 3, 100_000, 0, 1800);
+        when(authService.getTokenStats()).thenReturn(stats);
+
+        // Execute the method to test
+        ResponseEntity<TokenStats> response = authController.getTokenStats();
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
+}
@@ -15,6 +15,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -22,7 +24,12 @@ import static org.mockito.Mockito.when;
  * This class provides abstract tests for the common CRUD operations in BaseController.
  */
 @RunWith(MockitoJUnitRunner.class)
-public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends BaseService<T, ID>, C extends BaseController<T, ID, S>> {
+public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends BaseService<T, ID>, C extends BaseController<T, ID, S, ?>> {
+
+    /**
+     * Owner of the entities returned by {@link #createEntity()}, and the authenticated caller.
+     */
+    protected static final String OWNER_ID = "user123";
 
     @Mock
     protected S mockService;
@@ -32,6 +39,11 @@ public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends Bas
     protected abstract ID createId();
     protected abstract void setupServiceMocks();
 
+    /**
+     * Check that a response body is the summary of the entity.
+     */
+    protected abstract void assertSummaryOf(T entity, Object body);
+
     @Test
     public void testGetById_Success() {
         // Setup
@@ -42,11 +54,11 @@ public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends Bas
         when(mockService.getById(id)).thenReturn(Optional.of(entity));
         
         // Execute
-        ResponseEntity<T> response = controller.getById(id);
+        ResponseEntity<?> response = controller.getById(id);
         
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(entity, response.getBody());
+        assertSummaryOf(entity, response.getBody());
     }
 
     @Test
@@ -58,7 +70,7 @@ public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends Bas
         when(mockService.getById(id)).thenReturn(Optional.empty());
         
         // Execute
-        ResponseEntity<T> response = controller.getById(id);
+        ResponseEntity<?> response = controller.getById(id);
         
         // Verify
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -74,11 +86,11 @@ public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends Bas
         when(mockService.save(any())).thenReturn(entity);
         
         // Execute
-        ResponseEntity<T> response = controller.create(entity);
+        ResponseEntity<?> response = controller.create(entity, OWNER_ID);
         
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(entity, response.getBody());
+        assertSummaryOf(entity, response.getBody());
     }
 
     @Test
@@ -91,11 +103,11 @@ public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends Bas
         when(mockService.update(eq(id), any())).thenReturn(Optional.of(entity));
         
         // Execute
-        ResponseEntity<T> response = controller.update(id, entity);
+        ResponseEntity<?> response = controller.update(id, entity, OWNER_ID);
         
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(entity, response.getBody());
+        assertSummaryOf(entity, response.getBody());
     }
 
     @Test
@@ -108,13 +120,42 @@ public abstract class BaseControllerTest<T extends BaseEntity, ID, S extends Bas
         when(mockService.update(eq(id), any())).thenReturn(Optional.empty());
         
         // Execute
-        ResponseEntity<T> response = controller.update(id, entity);
+        ResponseEntity<?> response = controller.update(id, entity, OWNER_ID);
         
         // Verify
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
 
+    @Test
+    public void testCreate_ForAnotherOwner() {
+        // Setup
+        C controller = createController();
+        T entity = createEntity();
+
+        // Execute
+        ResponseEntity<?> response = controller.create(entity, "someone-else");
+
+        // Verify
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(mockService, never()).save(any());
+    }
+
+    @Test
+    public void testUpdate_ToAnotherOwner() {
+        // Setup
+        C controller = createController();
+        T entity = createEntity();
+        ID id = createId();
+
+        // Execute
+        ResponseEntity<?> response = controller.update(id, entity, "someone-else");
+
+        // Verify
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(mockService, never()).update(any(), any());
+    }
+
     @Test
     public void testDelete_Success() {
         // Setup
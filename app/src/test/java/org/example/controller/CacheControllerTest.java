@@ -0,0 +1,42 @@
+package org.example.controller;
+
+import org.example.dto.CacheRegionStats;
+import org.example.service.CacheStatisticsService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheControllerTest {
+
+    @Mock
+    private CacheStatisticsService cacheStatisticsService;
+
+    @InjectMocks
+    private CacheController cacheController;
+
+    @Test
+    public void testGetCacheStats() {
+        // Mock service behavior
+        List<CacheRegionStats> stats = List.of(new CacheRegionStats("creditCards", 90, 10, 10, 10),
+                new CacheRegionStats("ownerCardLists", 3, 1, 1, 1));
+        when(cacheStatisticsService.getCacheStats()).thenReturn(stats);
+
+        // Execute the method to test
+        ResponseEntity<List<CacheRegionStats>> response = cacheController.getCacheStats();
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+        assertEquals(0.9, response.getBody().get(0).getHitRatio(), 0.0001);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.controller;
+
+import org.example.dto.ClientOverview;
+import org.example.dto.CreditCardDTO;
+import org.example.service.ClientOverviewService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientControllerTest {
+
+    private static final String CLIENT_ID = "user123";
+
+    @Mock
+    private ClientOverviewService clientOverviewService;
+
+    @InjectMocks
+    private ClientController clientController;
+
+    @Test
+    public void testGetOverview() {
+        // Mock service behavior
+        ClientOverview overview = new ClientOverview(CLIENT_ID);
+        overview.setCards(List.of(new CreditCardDTO()));
+        when(clientOverviewService.getOverview(CLIENT_ID, 5)).thenReturn(overview);
+
+        // Execute the method to test
+        ResponseEntity<ClientOverview> response = clientController.getOverview(CLIENT_ID, 5);
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(overview, response.getBody());
+    }
+
+    @Test
+    public void testGetOverview_PartialResultIsReturned() {
+        // Mock service behavior
+        ClientOverview overview = new ClientOverview(CLIENT_ID);
+        overview.getUnavailable().add("cards");
+        when(clientOverviewService.getOverview(CLIENT_ID, 5)).thenReturn(overview);
+
+        // Execute the method to test
+        ResponseEntity<ClientOverview> response = clientController.getOverview(CLIENT_ID, 5);
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().isComplete());
+    }
+
+    @Test
+    public void testGetOverview_NotFound() {
+        // Mock service behavior
+        when(clientOverviewService.getOverview(CLIENT_ID, 5)).thenReturn(new ClientOverview(CLIENT_ID));
+
+        // Execute the method to test
+        ResponseEntity<ClientOverview> response = clientController.getOverview(CLIENT_ID, 5);
+
+        // Verify the result
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
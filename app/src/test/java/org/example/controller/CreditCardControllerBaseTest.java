@@ -1,7 +1,10 @@
 package org.example.controller;
 
+import org.example.dto.CreditCardDTO;
 import org.example.model.CreditCard;
 import org.example.service.CreditCardService;
+import org.example.service.OwnerResponseCache;
+import org.example.service.ResourceVersions;
 import org.example.service.TransactionService;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -9,6 +12,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.math.BigDecimal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
 /**
  * Test class for the CreditCardController's base controller functionality.
  * This extends BaseControllerTest to test the CRUD operations inherited from BaseController.
@@ -18,18 +24,25 @@ public class CreditCardControllerBaseTest extends BaseControllerTest<CreditCard,
 
     @Mock
     private TransactionService mockTransactionService;
+
+    @Mock
+    private OwnerResponseCache mockOwnerResponseCache;
+
+    @Mock
+    private ResourceVersions mockResourceVersions;
     
     @Override
     protected CreditCardController createController() {
         setupServiceMocks();
-        return new CreditCardController(mockService, mockTransactionService);
+        return new CreditCardController(mockService, mockTransactionService, mockOwnerResponseCache,
+                mockResourceVersions);
     }
 
     @Override
     protected CreditCard createEntity() {
         CreditCard card = new CreditCard();
         card.setId(1L);
-        card.setOwnerId("user123");
+        card.setOwnerId(OWNER_ID);
         card.setLastFourDigits("3456");
         card.setCardName("John Doe");
         card.setValidUntil("12/25");
@@ -45,6 +58,15 @@ public class CreditCardControllerBaseTest extends BaseControllerTest<CreditCard,
         return 1L;
     }
 
+    @Override
+    protected void assertSummaryOf(CreditCard entity, Object body) {
+        CreditCardDTO summary = (CreditCardDTO) body;
+        assertEquals(entity.getId(), summary.getId());
+        assertEquals(entity.getLastFourDigits(), summary.getLastFourDigits());
+        assertEquals(entity.getBalance(), summary.getBalance());
+        assertNull(summary.getRecentTransactions());
+    }
+
     @Override
     protected void setupServiceMocks() {
         // Create a proper mock of CreditCardService instead of relying on the generic mock
@@ -1,25 +1,44 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dto.CreditCardDTO;
+import org.example.dto.TransactionDTO;
+import org.example.dto.TransactionPage;
 import org.example.model.CreditCard;
 import org.example.model.Transaction;
 import org.example.service.CreditCardService;
+import org.example.service.OwnerResponseCache;
+import org.example.service.ResourceVersions;
 import org.example.service.TransactionService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -31,6 +50,15 @@ public class CreditCardControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Spy
+    private ResourceVersions resourceVersions = new ResourceVersions(1000);
+
+    @Spy
+    private OwnerResponseCache ownerResponseCache =
+            new OwnerResponseCache(objectMapper, null, resourceVersions, true, 100, Duration.ofMinutes(10));
+
     @InjectMocks
     private CreditCardController creditCardController;
 
@@ -102,19 +130,114 @@ public class CreditCardControllerTest {
         transactionList.add(transaction2);
     }
 
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cards");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
     @Test
-    public void testGetCardsByOwnerId_Success() {
+    public void testGetByIdWithIncludes_RecentTransactions() {
+        // Mock service behavior
+        CreditCard card = new CreditCard();
+        card.setId(1L);
+        card.setBalance(new BigDecimal("1500.00"));
+        card.getTransactions().addAll(transactionList);
+        List<TransactionDTO> recent = List.of(new TransactionDTO(2L, new Date(), new BigDecimal("50.25"),
+                "Online Purchase", "CHARGE"));
+        when(creditCardService.getById(1L)).thenReturn(Optional.of(card));
+        when(transactionService.getTransactionPageByCreditCardId(1L, 1, null))
+                .thenReturn(new TransactionPage(recent, "next"));
+
+        // Execute the method to test
+        ResponseEntity<CreditCardDTO> response = creditCardController.getByIdWithIncludes(
+                1L, List.of(BaseController.INCLUDE_RECENT_TRANSACTIONS), 1);
+
+        // Verify the result
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1L, response.getBody().getId().longValue());
+        assertSame(recent, response.getBody().getRecentTransactions());
+    }
+
+    @Test
+    public void testGetByIdWithIncludes_UnsupportedExpansion() {
+        // Execute the method to test
+        ResponseEntity<CreditCardDTO> response = creditCardController.getByIdWithIncludes(
+                1L, List.of(BaseController.INCLUDE_RECENT_TRANSACTIONS, "statements"), 20);
+
+        // Verify the result
+        assertEquals(400, response.getStatusCode().value());
+        verify(creditCardService, never()).getById(any());
+    }
+
+    @Test
+    public void testGetById_SummaryOmitsTransactions() throws Exception {
+        // Mock service behavior
+        CreditCard card = new CreditCard();
+        card.setId(1L);
+        card.getTransactions().addAll(transactionList);
+        when(creditCardService.getById(1L)).thenReturn(Optional.of(card));
+
+        // Execute the method to test
+        ResponseEntity<CreditCardDTO> response = creditCardController.getById(1L);
+
+        // Verify the result
+        JsonNode body = objectMapper.readTree(objectMapper.writeValueAsBytes(response.getBody()));
+        assertEquals(1L, body.get("id").asLong());
+        assertFalse(body.has("transactions"));
+        assertFalse(body.has("recentTransactions"));
+    }
+
+    @Test
+    public void testGetCardsByOwnerId_Success() throws Exception {
         // Mock service behavior
         when(creditCardService.getCardDTOsByOwnerId("user123")).thenReturn(creditCardDTOList);
 
         // Execute the method to test
-        ResponseEntity<List<CreditCardDTO>> response = creditCardController.getCardsByOwnerId("user123");
+        ResponseEntity<byte[]> response = creditCardController.getCardsByOwnerId("user123", webRequest(null));
 
         // Verify the result
         assertEquals(200, response.getStatusCode().value());
-        assertEquals(2, response.getBody().size());
-        assertEquals(creditCardDTO1.getId(), response.getBody().get(0).getId());
-        assertEquals(creditCardDTO2.getId(), response.getBody().get(1).getId());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(2, body.size());
+        assertEquals(creditCardDTO1.getId().longValue(), body.get(0).get("id").asLong());
+        assertEquals(creditCardDTO2.getId().longValue(), body.get(1).get("id").asLong());
+    }
+
+    @Test
+    public void testGetCardsByOwnerId_ServedFromCache() {
+        // Mock service behavior
+        when(creditCardService.getCardDTOsByOwnerId("user123")).thenReturn(creditCardDTOList);
+
+        // Execute the method to test
+        ResponseEntity<byte[]> first = creditCardController.getCardsByOwnerId("user123", webRequest(null));
+        ResponseEntity<byte[]> second = creditCardController.getCardsByOwnerId("user123", webRequest(null));
+
+        // Verify the result
+        assertEquals(200, second.getStatusCode().value());
+        assertSame(first.getBody(), second.getBody());
+        verify(creditCardService, times(1)).getCardDTOsByOwnerId("user123");
+    }
+
+    @Test
+    public void testGetCardsByOwnerId_NotModifiedUntilCardsChange() {
+        // Mock service behavior
+        when(creditCardService.getCardDTOsByOwnerId("user123")).thenReturn(creditCardDTOList);
+        String etag = creditCardController.getCardsByOwnerId("user123", webRequest(null)).getHeaders().getETag();
+
+        // Execute the method to test
+        ServletWebRequest unchanged = webRequest(etag);
+        ResponseEntity<byte[]> notModified = creditCardController.getCardsByOwnerId("user123", unchanged);
+        ownerResponseCache.evictCards("user123");
+        ResponseEntity<byte[]> changed = creditCardController.getCardsByOwnerId("user123", webRequest(etag));
+
+        // Verify the result
+        assertNull(notModified);
+        assertEquals(304, unchanged.getResponse().getStatus());
+        assertEquals(200, changed.getStatusCode().value());
+        verify(creditCardService, times(2)).getCardDTOsByOwnerId("user123");
     }
 
     @Test
@@ -123,7 +246,7 @@ public class CreditCardControllerTest {
         when(creditCardService.getCardDTOsByOwnerId("nonexistent")).thenReturn(new ArrayList<>());
 
         // Execute the method to test
-        ResponseEntity<List<CreditCardDTO>> response = creditCardController.getCardsByOwnerId("nonexistent");
+        ResponseEntity<byte[]> response = creditCardController.getCardsByOwnerId("nonexistent", webRequest(null));
 
         // Verify the result
         assertEquals(404, response.getStatusCode().value());
@@ -135,12 +258,43 @@ public class CreditCardControllerTest {
         when(creditCardService.getCardDTOById(1L)).thenReturn(Optional.of(creditCardDTO1));
 
         // Execute the method to test
-        ResponseEntity<CreditCardDTO> response = creditCardController.getCardDTOById(1L);
+        ResponseEntity<CreditCardDTO> response = creditCardController.getCardDTOById(1L, webRequest(null));
 
         // Verify the result
         assertEquals(200, response.getStatusCode().value());
         assertEquals(creditCardDTO1.getId(), response.getBody().getId());
         assertEquals(creditCardDTO1.getLastFourDigits(), response.getBody().getLastFourDigits());
+        assertEquals(resourceVersions.cardTag(1L), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetCardDTOById_NotModified() {
+        // Mock service behavior
+        String etag = resourceVersions.cardTag(1L);
+        ServletWebRequest request = webRequest(etag);
+
+        // Execute the method to test
+        ResponseEntity<CreditCardDTO> response = creditCardController.getCardDTOById(1L, request);
+
+        // Verify the result: answered from the tag alone
+        assertNull(response);
+        assertEquals(304, request.getResponse().getStatus());
+        verify(creditCardService, never()).getCardDTOById(any());
+    }
+
+    @Test
+    public void testGetCardDTOById_ChangedCardIsReloaded() {
+        // Mock service behavior
+        String staleEtag = resourceVersions.cardTag(1L);
+        resourceVersions.cardChanged(1L);
+        when(creditCardService.getCardDTOById(1L)).thenReturn(Optional.of(creditCardDTO1));
+
+        // Execute the method to test
+        ResponseEntity<CreditCardDTO> response = creditCardController.getCardDTOById(1L, webRequest(staleEtag));
+
+        // Verify the result
+        assertEquals(200, response.getStatusCode().value());
+        assertNotEquals(staleEtag, response.getHeaders().getETag());
     }
 
     @Test
@@ -149,7 +303,7 @@ public class CreditCardControllerTest {
         when(creditCardService.getCardDTOById(999L)).thenReturn(Optional.empty());
 
         // Execute the method to test
-        ResponseEntity<CreditCardDTO> response = creditCardController.getCardDTOById(999L);
+        ResponseEntity<CreditCardDTO> response = creditCardController.getCardDTOById(999L, webRequest(null));
 
         // Verify the result
         assertEquals(404, response.getStatusCode().value());
@@ -0,0 +1,153 @@
+package org.example.controller;
+
+import org.example.dto.StatementDTO;
+import org.example.model.Statement;
+import org.example.model.StatementRun;
+import org.example.service.StatementClosingJob;
+import org.example.service.StatementService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementControllerTest {
+
+    private final Long testCardId = 1L;
+    private final YearMonth period = YearMonth.of(2023, 2);
+
+    @Mock
+    private StatementService statementService;
+
+    @Mock
+    private StatementClosingJob statementClosingJob;
+
+    @InjectMocks
+    private StatementController statementController;
+
+    private StatementDTO statement() {
+        return new StatementDTO(new Statement(testCardId, period.atDay(1), period.atEndOfMonth(), BigDecimal.TEN));
+    }
+
+    @Test
+    public void testGetStatements() {
+        // Mock service behavior
+        when(statementService.getStatements(testCardId)).thenReturn(List.of(statement()));
+
+        // Execute the method to test
+        ResponseEntity<List<StatementDTO>> response = statementController.getStatements(testCardId);
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    public void testGetStatements_NotFound() {
+        // Mock service behavior
+        when(statementService.getStatements(testCardId)).thenReturn(Collections.emptyList());
+
+        // Execute the method to test
+        ResponseEntity<List<StatementDTO>> response = statementController.getStatements(testCardId);
+
+        // Verify the result
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void testGetStatement() {
+        // Mock service behavior
+        when(statementService.getStatement(testCardId, period)).thenReturn(Optional.of(statement()));
+
+        // Execute the method to test
+        ResponseEntity<StatementDTO> response = statementController.getStatement(testCardId, period);
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(period, response.getBody().getPeriod());
+    }
+
+    @Test
+    public void testGetStatement_NotFound() {
+        // Mock service behavior
+        when(statementService.getStatement(testCardId, period)).thenReturn(Optional.empty());
+
+        // Execute the method to test
+        ResponseEntity<StatementDTO> response = statementController.getStatement(testCardId, period);
+
+        // Verify the result
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void testCloseStatements() {
+        // Execute the method to test
+        ResponseEntity<Void> response = statementController.closeStatements(period);
+
+        // Verify the result
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(URI.create("/api/statements/runs/2023-02"), response.getHeaders().getLocation());
+        verify(statementClosingJob).startClosing(period);
+    }
+
+    @Test
+    public void testCloseStatements_DefaultsToThePreviousMonth() {
+        // Execute the method to test
+        ResponseEntity<Void> response = statementController.closeStatements(null);
+
+        // Verify the result
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(statementClosingJob).startClosing(YearMonth.now().minusMonths(1));
+    }
+
+    @Test
+    public void testCloseStatements_CurrentMonthIsRejected() {
+        // Execute the method to test
+        ResponseEntity<Void> response = statementController.closeStatements(YearMonth.now());
+
+        // Verify the result
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(statementClosingJob, never()).startClosing(any());
+    }
+
+    @Test
+    public void testGetRun() {
+        // Mock service behavior
+        StatementRun run = new StatementRun(period.atDay(1), LocalDateTime.now());
+        when(statementClosingJob.getRun(period)).thenReturn(Optional.of(run));
+
+        // Execute the method to test
+        ResponseEntity<StatementRun> response = statementController.getRun(period);
+
+        // Verify the result
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(run, response.getBody());
+    }
+
+    @Test
+    public void testGetRun_NotFound() {
+        // Mock service behavior
+        when(statementClosingJob.getRun(period)).thenReturn(Optional.empty());
+
+        // Execute the method to test
+        ResponseEntity<StatementRun> response = statementController.getRun(period);
+
+        // Verify the result
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -1,23 +1,45 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.AuthenticationFilter;
+import org.example.dto.SpendingSummary;
+import org.example.dto.TransactionCursor;
 import org.example.dto.TransactionDTO;
+import org.example.dto.TransactionImportResult;
+import org.example.dto.TransactionImportRow;
+import org.example.dto.TransactionPage;
 import org.example.model.Transaction;
+import org.example.service.CardAuthorizationLedger;
+import org.example.service.ChargeDeclinedException;
+import org.example.service.TransactionImportService;
 import org.example.service.TransactionService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -26,6 +48,12 @@ public class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -100,57 +128,272 @@ public class TransactionControllerTest {
     @Test
     public void testGetTransactionsByCreditCardId_Success() {
         // Mock service behavior
-        when(transactionService.getTransactionsByCreditCardId(1L)).thenReturn(transactionList);
+        TransactionPage page = new TransactionPage(transactionDTOList, "next-cursor");
+        when(transactionService.getTransactionPageByCreditCardId(1L, 20, null)).thenReturn(page);
 
         // Execute the method to test
-        ResponseEntity<List<Transaction>> response = transactionController.getTransactionsByCreditCardId(1L);
+        ResponseEntity<TransactionPage> response = transactionController.getTransactionsByCreditCardId(1L, 20, null);
 
         // Verify the result
         assertEquals(200, response.getStatusCode().value());
-        assertEquals(2, response.getBody().size());
-        assertEquals(transaction1.getId(), response.getBody().get(0).getId());
-        assertEquals(transaction2.getId(), response.getBody().get(1).getId());
+        assertEquals(2, response.getBody().getTransactions().size());
+        assertEquals(transactionDTO1.getId(), response.getBody().getTransactions().get(0).getId());
+        assertEquals(transactionDTO2.getId(), response.getBody().getTransactions().get(1).getId());
+        assertEquals("next-cursor", response.getBody().getNextCursor());
+    }
+
+    @Test
+    public void testGetTransactionsByCreditCardId_WithCursor() {
+        // Mock service behavior
+        String after = new TransactionCursor(transactionDTO1.getDate(), transactionDTO1.getId()).encode();
+        when(transactionService.getTransactionPageByCreditCardId(eq(1L), eq(1), any(TransactionCursor.class)))
+                .thenReturn(new TransactionPage(Collections.singletonList(transactionDTO2), null));
+
+        // Execute the method to test
+        ResponseEntity<TransactionPage> response = transactionController.getTransactionsByCreditCardId(1L, 1, after);
+
+        // Verify the result
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, response.getBody().getTransactions().size());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    public void testGetTransactionsByCreditCardId_InvalidCursor() {
+        // Execute the method to test
+        ResponseEntity<TransactionPage> response = transactionController.getTransactionsByCreditCardId(1L, 20, "%%%");
+
+        // Verify the result
+        assertEquals(400, response.getStatusCode().value());
     }
 
     @Test
     public void testGetTransactionsByCreditCardId_NotFound() {
         // Mock service behavior
-        when(transactionService.getTransactionsByCreditCardId(999L)).thenReturn(new ArrayList<>());
+        when(transactionService.getTransactionPageByCreditCardId(999L, 20, null))
+                .thenReturn(new TransactionPage(new ArrayList<>(), null));
 
         // Execute the method to test
-        ResponseEntity<List<Transaction>> response = transactionController.getTransactionsByCreditCardId(999L);
+        ResponseEntity<TransactionPage> response = transactionController.getTransactionsByCreditCardId(999L, 20, null);
 
         // Verify the result
         assertEquals(404, response.getStatusCode().value());
     }
 
     @Test
-    public void testGetTransactionsByClientId_Success() {
+    public void testGetTransactionsByClientId_Success() throws Exception {
+        // Mock service behavior: rows are pushed to the consumer one by one
+        when(transactionService.streamTransactionsByClientId(eq("user123"), any())).thenAnswer(invocation -> {
+            Consumer<TransactionDTO> consumer = invocation.getArgument(1);
+            transactionDTOList.forEach(consumer);
+            return (long) transactionDTOList.size();
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Execute the method to test
+        transactionController.getTransactionsByClientId("user123", response);
+
+        // Verify the result
+        assertEquals(200, response.getStatus());
+        List<TransactionDTO> body = objectMapper.readValue(
+                response.getContentAsString(), new TypeReference<List<TransactionDTO>>() { });
+        assertEquals(2, body.size());
+        assertEquals(transactionDTO1.getId(), body.get(0).getId());
+        assertEquals(transactionDTO2.getId(), body.get(1).getId());
+    }
+
+    @Test
+    public void testGetTransactionsByClientId_NotFound() throws Exception {
+        // Mock service behavior
+        when(transactionService.streamTransactionsByClientId(eq("nonexistent"), any())).thenReturn(0L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Execute the method to test
+        transactionController.getTransactionsByClientId("nonexistent", response);
+
+        // Verify the result
+        assertEquals(404, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    public void testGetTransactionsByClientId_FailureLeavesArrayOpen() throws Exception {
+        // Mock service behavior: the query fails after the first row was written
+        when(transactionService.streamTransactionsByClientId(eq("user123"), any())).thenAnswer(invocation -> {
+            Consumer<TransactionDTO> consumer = invocation.getArgument(1);
+            consumer.accept(transactionDTO1);
+            throw new IllegalStateException("connection lost");
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Execute the method to test
+        try {
+            transactionController.getTransactionsByClientId("user123", response);
+            fail("Expected the failure to propagate");
+        } catch (IllegalStateException e) {
+            assertEquals("connection lost", e.getMessage());
+        }
+
+        // Verify the result: the body is not a complete, shorter array
+        assertFalse(response.getContentAsString().endsWith("]"));
+    }
+
+    @Test
+    public void testExportTransactionsByDateRange_Ndjson() throws Exception {
+        // Mock service behavior: rows are pushed to the consumer one by one
+        Date startDate = dateFormat.parse("2023-01-01");
+        Date endDate = dateFormat.parse("2023-01-31");
+        when(transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(eq(1L), eq(startDate), eq(endDate), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<TransactionDTO> consumer = invocation.getArgument(3);
+                    transactionDTOList.forEach(consumer);
+                    return (long) transactionDTOList.size();
+                });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Execute the method to test
+        transactionController.exportTransactionsByDateRange(1L, startDate, endDate, "ndjson", response);
+
+        // Verify the result: one compact JSON object per line
+        assertEquals(200, response.getStatus());
+        assertEquals(TransactionController.APPLICATION_NDJSON_VALUE, response.getContentType().split(";")[0]);
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(transactionDTO1.getId(), objectMapper.readValue(lines[0], TransactionDTO.class).getId());
+        assertEquals(transactionDTO2.getId(), objectMapper.readValue(lines[1], TransactionDTO.class).getId());
+        assertTrue(response.getContentAsString().endsWith("}\n"));
+    }
+
+    @Test
+    public void testExportTransactionsByDateRange_Csv() throws Exception {
         // Mock service behavior
-        when(transactionService.getTransactionsByClientId("user123")).thenReturn(transactionDTOList);
+        Date startDate = dateFormat.parse("2023-01-01");
+        Date endDate = dateFormat.parse("2023-01-31");
+        transactionDTO2.setDescription("Refund, \"partial\"");
+        when(transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(eq(1L), eq(startDate), eq(endDate), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<TransactionDTO> consumer = invocation.getArgument(3);
+                    transactionDTOList.forEach(consumer);
+                    return (long) transactionDTOList.size();
+                });
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Execute the method to test
-        ResponseEntity<List<TransactionDTO>> response = transactionController.getTransactionsByClientId("user123");
+        transactionController.exportTransactionsByDateRange(1L, startDate, endDate, "CSV", response);
+
+        // Verify the result
+        assertEquals(200, response.getStatus());
+        assertEquals("text/csv", response.getContentType().split(";")[0]);
+        assertTrue(response.getHeader("Content-Disposition").contains("card-1-transactions.csv"));
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,date,amount,description,type", lines[0]);
+        assertEquals("1," + transactionDTO1.getDate().toInstant() + ",100.50,Purchase at Store,CHARGE", lines[1]);
+        assertEquals("2," + transactionDTO2.getDate().toInstant() + ",50.25,\"Refund, \"\"partial\"\"\",CHARGE", lines[2]);
+    }
+
+    @Test
+    public void testExportTransactionsByDateRange_FailureIsNotEndedAsComplete() throws Exception {
+        // Mock service behavior: the query fails after the first row was written
+        Date startDate = dateFormat.parse("2023-01-01");
+        Date endDate = dateFormat.parse("2023-01-31");
+        when(transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(eq(1L), eq(startDate), eq(endDate), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<TransactionDTO> consumer = invocation.getArgument(3);
+                    consumer.accept(transactionDTO1);
+                    throw new IllegalStateException("connection lost");
+                });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Execute the method to test
+        try {
+            transactionController.exportTransactionsByDateRange(1L, startDate, endDate, "csv", response);
+            fail("Expected the failure to propagate");
+        } catch (IllegalStateException e) {
+            assertEquals("connection lost", e.getMessage());
+        }
+
+        // Verify the result: the buffered rows were not flushed as if the export had ended
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    public void testExportTransactionsByDateRange_NotFound() throws Exception {
+        // Mock service behavior
+        Date startDate = dateFormat.parse("2023-01-01");
+        Date endDate = dateFormat.parse("2023-01-31");
+        when(transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(eq(1L), eq(startDate), eq(endDate), any()))
+                .thenReturn(0L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Execute the method to test
+        transactionController.exportTransactionsByDateRange(1L, startDate, endDate, "csv", response);
+
+        // Verify the result
+        assertEquals(404, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    public void testExportTransactionsByDateRange_UnsupportedFormat() throws Exception {
+        // Execute the method to test
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        transactionController.exportTransactionsByDateRange(1L, new Date(), new Date(), "xml", response);
+
+        // Verify the result
+        assertEquals(400, response.getStatus());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    public void testGetSpendingSummary_ByMonth() {
+        // Mock service behavior
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        LocalDate endDate = LocalDate.of(2023, 12, 31);
+        List<SpendingSummary> summaries = List.of(
+                new SpendingSummary("2023-01", "CHARGE", 2, new BigDecimal("195.50")),
+                new SpendingSummary("2023-01", "CREDIT", 1, new BigDecimal("200.00")));
+        when(transactionService.getSpendingSummaryByCreditCardId(1L, startDate, endDate, SpendingSummary.Period.MONTH))
+                .thenReturn(summaries);
+
+        // Execute the method to test
+        ResponseEntity<List<SpendingSummary>> response = transactionController.getSpendingSummary(
+                1L, startDate, endDate, "Month");
 
         // Verify the result
         assertEquals(200, response.getStatusCode().value());
-        assertEquals(2, response.getBody().size());
-        assertEquals(transactionDTO1.getId(), response.getBody().get(0).getId());
-        assertEquals(transactionDTO2.getId(), response.getBody().get(1).getId());
+        assertEquals(summaries, response.getBody());
     }
 
     @Test
-    public void testGetTransactionsByClientId_NotFound() {
+    public void testGetSpendingSummary_NotFound() {
         // Mock service behavior
-        when(transactionService.getTransactionsByClientId("nonexistent")).thenReturn(new ArrayList<>());
+        LocalDate day = LocalDate.of(2022, 1, 1);
+        when(transactionService.getSpendingSummaryByCreditCardId(1L, day, day, SpendingSummary.Period.DAY))
+                .thenReturn(List.of());
 
         // Execute the method to test
-        ResponseEntity<List<TransactionDTO>> response = transactionController.getTransactionsByClientId("nonexistent");
+        ResponseEntity<List<SpendingSummary>> response = transactionController.getSpendingSummary(1L, day, day, "day");
 
         // Verify the result
         assertEquals(404, response.getStatusCode().value());
     }
 
+    @Test
+    public void testGetSpendingSummary_BadRequest() {
+        // Execute the method to test
+        LocalDate startDate = LocalDate.of(2023, 2, 1);
+        ResponseEntity<List<SpendingSummary>> unsupported = transactionController.getSpendingSummary(
+                1L, startDate, startDate, "week");
+        ResponseEntity<List<SpendingSummary>> reversed = transactionController.getSpendingSummary(
+                1L, startDate, startDate.minusDays(1), "day");
+
+        // Verify the result
+        assertEquals(400, unsupported.getStatusCode().value());
+        assertEquals(400, reversed.getStatusCode().value());
+        verifyNoInteractions(transactionService);
+    }
+
     @Test
     public void testGetTransactionsByDateRange_Success() throws Exception {
         // Setup dates
@@ -354,6 +597,26 @@ public class TransactionControllerTest {
         assertEquals(404, response.getStatusCode().value());
     }
 
+    @Test
+    public void testCreateTransaction_Declined() {
+        // Prepare a new transaction
+        Transaction newTransaction = new Transaction();
+        newTransaction.setAmount(new BigDecimal("75000.00"));
+        newTransaction.setDescription("New Purchase");
+        newTransaction.setType("CHARGE");
+        newTransaction.setTransactionDate(new Date());
+
+        // Mock service behavior
+        when(transactionService.saveTransaction(any(Transaction.class), eq(1L)))
+                .thenThrow(new ChargeDeclinedException(1L, CardAuthorizationLedger.Decision.DECLINED_INSUFFICIENT_CREDIT));
+
+        // Execute the method to test
+        ResponseEntity<Transaction> response = transactionController.createTransaction(1L, newTransaction);
+
+        // Verify the result
+        assertEquals(422, response.getStatusCode().value());
+    }
+
     @Test
     public void testDeleteTransaction_Success() {
         // Mock service behavior
@@ -377,4 +640,71 @@ public class TransactionControllerTest {
         // Verify the result
         assertEquals(404, response.getStatusCode().value());
     }
-}
\ No newline at end of file
+
+    private List<TransactionImportRow> importRows(String body, String contentType) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/bulk");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(AuthenticationFilter.OWNER_ID_ATTRIBUTE, "user123");
+        List<TransactionImportRow> received = new ArrayList<>();
+        when(transactionImportService.importTransactions(eq("user123"), any())).thenAnswer(invocation -> {
+            Iterator<TransactionImportRow> rows = invocation.getArgument(1);
+            rows.forEachRemaining(received::add);
+            TransactionImportResult result = new TransactionImportResult();
+            for (int i = 0; i < received.size(); i++) {
+                result.accept(i);
+            }
+            return result;
+        });
+
+        ResponseEntity<TransactionImportResult> response = transactionController.importTransactions(request);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(received.size(), response.getBody().getAccepted());
+        return received;
+    }
+
+    @Test
+    public void testImportTransactions_JsonArray() throws Exception {
+        // Execute the method to test
+        List<TransactionImportRow> rows = importRows(
+                "[{\"creditCardId\":1,\"transactionDate\":1673740800000,\"amount\":10.50,\"description\":\"Coffee\",\"type\":\"CHARGE\"},"
+                        + "{\"creditCardId\":2,\"transactionDate\":1673740800000,\"amount\":99.99,\"description\":\"Refund\",\"type\":\"CREDIT\"}]",
+                "application/json");
+
+        // Verify the result
+        assertEquals(2, rows.size());
+        assertEquals(Long.valueOf(1L), rows.get(0).getCreditCardId());
+        assertEquals(new BigDecimal("99.99"), rows.get(1).getAmount());
+        assertEquals("CREDIT", rows.get(1).getType());
+    }
+
+    @Test
+    public void testImportTransactions_Ndjson() throws Exception {
+        // Execute the method to test
+        List<TransactionImportRow> rows = importRows(
+                "{\"creditCardId\":1,\"transactionDate\":1673740800000,\"amount\":10.50,\"description\":\"Coffee\",\"type\":\"CHARGE\"}\n"
+                        + "{\"creditCardId\":3,\"transactionDate\":1673740800000,\"amount\":5.00,\"description\":\"Parking\",\"type\":\"CHARGE\"}\n",
+                TransactionController.APPLICATION_NDJSON_VALUE);
+
+        // Verify the result
+        assertEquals(2, rows.size());
+        assertEquals(Long.valueOf(3L), rows.get(1).getCreditCardId());
+        assertEquals("Parking", rows.get(1).getDescription());
+    }
+
+    @Test
+    public void testImportTransactions_Unauthenticated() throws Exception {
+        // Request that did not pass through AuthenticationFilter
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/bulk");
+        request.setContentType("application/json");
+        request.setContent("[]".getBytes(StandardCharsets.UTF_8));
+
+        // Execute the method to test
+        ResponseEntity<TransactionImportResult> response = transactionController.importTransactions(request);
+
+        // Verify the result
+        assertEquals(401, response.getStatusCode().value());
+        verifyNoInteractions(transactionImportService);
+    }
+}
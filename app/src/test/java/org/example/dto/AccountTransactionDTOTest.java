@@ -56,6 +56,16 @@ public class AccountTransactionDTOTest {
         assertEquals(testType, paramDto.getType());
     }
     
+    @Test
+    public void testConstructorWithRunningBalance() {
+        AccountTransactionDTO paramDto = new AccountTransactionDTO(
+            testId, testDate, testAmount, testDescription, testType, new BigDecimal("350.00"));
+        
+        assertEquals(testId, paramDto.getId());
+        assertEquals(testType, paramDto.getType());
+        assertEquals(new BigDecimal("350.00"), paramDto.getRunningBalance());
+    }
+    
     @Test
     public void testIdGetterSetter() {
         dto.setId(testId);
@@ -0,0 +1,77 @@
+package org.example.dto;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Unit tests for the TransactionCursor class
+ */
+public class TransactionCursorTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        Date testDate = new Date(1673791845123L);
+        TransactionCursor cursor = new TransactionCursor(testDate, 42L);
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        assertEquals(testDate, decoded.getTransactionDate());
+        assertEquals(Long.valueOf(42L), decoded.getId());
+    }
+
+    @Test
+    public void testEncodeDecodeKeepsMicroseconds() {
+        // Two rows stored in the same millisecond must still get distinct cursors
+        Timestamp earlier = Timestamp.from(Instant.parse("2023-01-15T14:10:45.123100Z"));
+        Timestamp later = Timestamp.from(Instant.parse("2023-01-15T14:10:45.123200Z"));
+
+        Date decodedEarlier = TransactionCursor.decode(new TransactionCursor(earlier, 1L).encode()).getTransactionDate();
+        Date decodedLater = TransactionCursor.decode(new TransactionCursor(later, 1L).encode()).getTransactionDate();
+
+        assertEquals(earlier.toInstant(), decodedEarlier.toInstant());
+        assertEquals(later.toInstant(), decodedLater.toInstant());
+        assertTrue(decodedEarlier.toInstant().isBefore(decodedLater.toInstant()));
+    }
+
+    @Test
+    public void testEncodedCursorIsUrlSafe() {
+        String token = new TransactionCursor(new Date(), Long.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    public void testAfterUsesLastRow() {
+        Date testDate = new Date();
+        TransactionDTO last = new TransactionDTO(7L, testDate, new BigDecimal("10.00"), "Coffee", "CHARGE");
+
+        TransactionCursor cursor = TransactionCursor.after(last);
+
+        assertEquals(testDate, cursor.getTransactionDate());
+        assertEquals(Long.valueOf(7L), cursor.getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeRejectsInvalidBase64() {
+        TransactionCursor.decode("%%%");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeRejectsMissingSeparator() {
+        TransactionCursor.decode("MTIzNDU");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeRejectsNanosOutOfRange() {
+        String raw = "1673791845:1000000000:42";
+        TransactionCursor.decode(Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
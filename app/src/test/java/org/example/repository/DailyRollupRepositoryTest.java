@@ -0,0 +1,162 @@
+package org.example.repository;
+
+import org.example.model.Account;
+import org.example.model.AccountTransaction;
+import org.example.model.CreditCard;
+import org.example.model.DailyRollup;
+import org.example.model.Transaction;
+import org.example.service.DailyRollupService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Integration tests for the daily rollup upsert and backfill statements.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class DailyRollupRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+    private final LocalDate january = LocalDate.of(2023, 1, 1);
+    private final LocalDate endOfFebruary = LocalDate.of(2023, 2, 28);
+    private Long cardId;
+    private Long accountId;
+
+    @Before
+    public void setUp() throws Exception {
+        CreditCard card = new CreditCard("4321", "John Doe", "12/25", "Credit", true,
+                new BigDecimal("5000.00"), new BigDecimal("3500.00"), "user123");
+        entityManager.persist(card);
+        entityManager.persist(new Transaction(dateFormat.parse("2023-01-05 09:15"), new BigDecimal("150.00"), "Restaurant Dinner", "CHARGE", card));
+        entityManager.persist(new Transaction(dateFormat.parse("2023-01-05 21:40"), new BigDecimal("45.50"), "Groceries", "CHARGE", card));
+        entityManager.persist(new Transaction(dateFormat.parse("2023-01-05 12:00"), new BigDecimal("200.00"), "Payment Received", "CREDIT", card));
+        entityManager.persist(new Transaction(dateFormat.parse("2023-02-15 08:00"), new BigDecimal("20.00"), "Coffee", "CHARGE", card));
+
+        Account account = new Account("1234567890", "Current", new BigDecimal("5000.00"), "user123",
+                LocalDateTime.of(2022, 1, 1, 9, 0));
+        entityManager.persist(account);
+        entityManager.persist(new AccountTransaction(dateFormat.parse("2023-01-12 10:00"), new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE", account));
+
+        entityManager.flush();
+        entityManager.clear();
+        cardId = card.getId();
+        accountId = account.getId();
+    }
+
+    @Test
+    public void testAddToRollup_CreatesThenAccumulates() {
+        // Act
+        dailyRollupRepository.addToRollup(cardId, DailyRollup.CARD, january, "CHARGE", 1, new BigDecimal("10.00"));
+        dailyRollupRepository.addToRollup(cardId, DailyRollup.CARD, january, "CHARGE", 2, new BigDecimal("5.50"));
+        dailyRollupRepository.addToRollup(cardId, DailyRollup.CARD, january, "CHARGE", -1, new BigDecimal("-10.00"));
+        entityManager.clear();
+
+        // Assert
+        List<DailyRollup> rollups = dailyRollupRepository.findByEntityAndDateRange(cardId, DailyRollup.CARD, january, january);
+        assertEquals(1, rollups.size());
+        assertEquals(2, rollups.get(0).getTransactionCount());
+        assertEquals(new BigDecimal("5.50"), rollups.get(0).getAmountSum());
+    }
+
+    @Test
+    public void testBackfill_GroupsByEntityDayAndType() {
+        // Act
+        dailyRollupRepository.backfillCardRollups();
+        dailyRollupRepository.backfillAccountRollups();
+        entityManager.clear();
+
+        // Assert
+        List<DailyRollup> cardRollups = dailyRollupRepository.findByEntityAndDateRange(cardId, DailyRollup.CARD,
+                january, endOfFebruary);
+        assertEquals(3, cardRollups.size());
+        assertEquals(LocalDate.of(2023, 1, 5), cardRollups.get(0).getRollupDate());
+        assertEquals("CHARGE", cardRollups.get(0).getType());
+        assertEquals(2, cardRollups.get(0).getTransactionCount());
+        assertEquals(new BigDecimal("195.50"), cardRollups.get(0).getAmountSum());
+        assertEquals("CREDIT", cardRollups.get(1).getType());
+        assertEquals(LocalDate.of(2023, 2, 15), cardRollups.get(2).getRollupDate());
+
+        List<DailyRollup> accountRollups = dailyRollupRepository.findByEntityAndDateRange(accountId,
+                DailyRollup.ACCOUNT, january, endOfFebruary);
+        assertEquals(1, accountRollups.size());
+        assertEquals(new BigDecimal("150.00"), accountRollups.get(0).getAmountSum());
+    }
+
+    @Test
+    public void testDeleteByEntityType_KeepsTheOtherType() {
+        // Arrange
+        dailyRollupRepository.backfillCardRollups();
+        dailyRollupRepository.backfillAccountRollups();
+
+        // Act
+        dailyRollupRepository.deleteByEntityType(DailyRollup.CARD);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(0, dailyRollupRepository.findByEntityAndDateRange(cardId, DailyRollup.CARD,
+                january, endOfFebruary).size());
+        assertEquals(1, dailyRollupRepository.findByEntityAndDateRange(accountId, DailyRollup.ACCOUNT,
+                january, endOfFebruary).size());
+    }
+
+    @Test
+    public void testBackfill_UsesTheDayOfIncrementalUpdates() throws Exception {
+        // Arrange: a charge in the last millisecond of a day
+        CreditCard card = entityManager.find(CreditCard.class, cardId);
+        Date lateCharge = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").parse("2023-01-20 23:59:59.999");
+        entityManager.persist(new Transaction(lateCharge, new BigDecimal("9.99"), "Late Purchase", "CHARGE", card));
+        entityManager.flush();
+
+        // Act
+        dailyRollupRepository.backfillCardRollups();
+        entityManager.clear();
+
+        // Assert
+        LocalDate day = DailyRollupService.dayOf(lateCharge);
+        List<DailyRollup> rollups = dailyRollupRepository.findByEntityAndDateRange(cardId, DailyRollup.CARD, day, day);
+        assertEquals(1, rollups.size());
+        assertEquals(new BigDecimal("9.99"), rollups.get(0).getAmountSum());
+    }
+
+    @Test
+    public void testDeleteByEntity_KeepsOtherEntities() {
+        // Arrange
+        dailyRollupRepository.backfillCardRollups();
+        dailyRollupRepository.backfillAccountRollups();
+
+        // Act
+        int deleted = dailyRollupRepository.deleteByEntity(cardId, DailyRollup.CARD);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, deleted);
+        assertEquals(0, dailyRollupRepository.findByEntityAndDateRange(cardId, DailyRollup.CARD,
+                january, endOfFebruary).size());
+        assertEquals(1, dailyRollupRepository.findByEntityAndDateRange(accountId, DailyRollup.ACCOUNT,
+                january, endOfFebruary).size());
+    }
+}
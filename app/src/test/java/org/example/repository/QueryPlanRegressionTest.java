@@ -0,0 +1,310 @@
+package org.example.repository;
+
+import org.example.model.Account;
+import org.example.model.AccountTransaction;
+import org.example.model.CreditCard;
+import org.example.model.DailyRollup;
+import org.example.model.StatementRun;
+import org.example.model.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Query-plan regression test for the repository layer.
+ * Runs every finder declared on the application repositories against an embedded
+ * database, captures the SQL Hibernate generates, and fails if EXPLAIN shows that
+ * any of those statements falls back to a full table scan.
+ * <p>
+ * H2 commits the open transaction on ANALYZE, so the test does not run inside the usual
+ * rolled-back test transaction: the sample rows are committed in setUp and deleted in tearDown.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.repository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class QueryPlanRegressionTest {
+
+    private static final String FULL_SCAN_MARKER = "tableScan";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private CreditCardRepository creditCardRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    private StatementRepository statementRepository;
+
+    @Autowired
+    private StatementRunRepository statementRunRepository;
+
+    @Before
+    public void setUp() throws SQLException {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> seed());
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.deleteAllInBatch();
+            accountTransactionRepository.deleteAllInBatch();
+            dailyRollupRepository.deleteAllInBatch();
+            statementRepository.deleteAllInBatch();
+            statementRunRepository.deleteAllInBatch();
+            creditCardRepository.deleteAllInBatch();
+            accountRepository.deleteAllInBatch();
+        });
+    }
+
+    private void seed() {
+        // Enough rows that the optimizer has a real choice between an index and a scan
+        for (int owner = 0; owner < 10; owner++) {
+            String ownerId = "owner-" + owner;
+            CreditCard card = new CreditCard(String.format("%04d", owner), "Owner " + owner, "12/30", "Credit", true,
+                    new BigDecimal("5000.00"), new BigDecimal("5000.00"), ownerId);
+            entityManager.persist(card);
+            Account account = new Account("ACC-" + owner, "Current", new BigDecimal("1000.00"), ownerId,
+                    LocalDateTime.of(2022, 1, 1, 9, 0));
+            entityManager.persist(account);
+            for (int i = 0; i < 30; i++) {
+                Date date = new Date(1672531200000L + i * 86_400_000L);
+                String type = i % 3 == 0 ? "CREDIT" : "CHARGE";
+                entityManager.persist(new Transaction(date, new BigDecimal("10.00"), "Purchase " + i, type, card));
+                entityManager.persist(new AccountTransaction(date, new BigDecimal("10.00"), "Movement " + i, type, account));
+                LocalDate day = LocalDate.of(2023, 1, 1).plusDays(i);
+                entityManager.persist(new DailyRollup(card.getId(), DailyRollup.CARD, day, type, 1, new BigDecimal("10.00")));
+                entityManager.persist(new DailyRollup(account.getId(), DailyRollup.ACCOUNT, day, type, 1, new BigDecimal("10.00")));
+            }
+            for (int month = 1; month <= 12; month++) {
+                LocalDate periodStart = LocalDate.of(2022, month, 1);
+                org.example.model.Statement closed = new org.example.model.Statement(card.getId(), periodStart,
+                        periodStart.plusMonths(1).minusDays(1), BigDecimal.ZERO);
+                closed.setClosedAt(periodStart.plusMonths(1).atTime(1, 0));
+                entityManager.persist(closed);
+            }
+        }
+        for (int month = 1; month <= 12; month++) {
+            StatementRun run = new StatementRun(LocalDate.of(2022, month, 1), LocalDateTime.of(2022, month, 1, 1, 0));
+            run.setStatus(StatementRun.COMPLETED);
+            entityManager.persist(run);
+        }
+    }
+
+    @Test
+    public void testRepositoryFindersDoNotUseFullTableScans() throws Exception {
+        Map<String, Object> repositories = new LinkedHashMap<>();
+        repositories.put(TransactionRepository.class.getName(), transactionRepository);
+        repositories.put(AccountTransactionRepository.class.getName(), accountTransactionRepository);
+        repositories.put(CreditCardRepository.class.getName(), creditCardRepository);
+        repositories.put(AccountRepository.class.getName(), accountRepository);
+        repositories.put(MessageRepository.class.getName(), messageRepository);
+        repositories.put(DailyRollupRepository.class.getName(), dailyRollupRepository);
+        repositories.put(StatementRepository.class.getName(), statementRepository);
+        repositories.put(StatementRunRepository.class.getName(), statementRunRepository);
+
+        List<String> failures = new ArrayList<>();
+        int checkedFinders = 0;
+        for (Map.Entry<String, Object> entry : repositories.entrySet()) {
+            Class<?> repositoryInterface = Class.forName(entry.getKey());
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())
+                        || method.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                checkedFinders++;
+                for (String sql : capturedSelects(entry.getValue(), method)) {
+                    String plan = explain(sql);
+                    if (plan.contains(FULL_SCAN_MARKER)) {
+                        failures.add(repositoryInterface.getSimpleName() + "." + method.getName() + ":\n  " + plan);
+                    }
+                }
+            }
+        }
+
+        assertTrue("No repository finders were checked", checkedFinders > 0);
+        assertTrue("Repository finders fall back to full table scans:\n" + String.join("\n", failures),
+                failures.isEmpty());
+    }
+
+    @Test
+    public void testExplainDetectsFullTableScan() throws Exception {
+        // Guards the harness itself: an unindexed predicate must be reported
+        String plan = explain("SELECT id FROM transactions WHERE description = ?");
+
+        assertTrue(plan, plan.contains(FULL_SCAN_MARKER));
+    }
+
+    @Test
+    public void testExplainAcceptsIndexedLookup() throws Exception {
+        String plan = explain("SELECT id FROM transactions WHERE credit_card_id = ? ORDER BY transaction_date DESC, id DESC");
+
+        assertFalse(plan, plan.contains(FULL_SCAN_MARKER));
+    }
+
+    /**
+     * Invoke a repository method with sample arguments and return the SELECT statements it issued.
+     */
+    private List<String> capturedSelects(Object repository, Method method) throws Exception {
+        RecordingStatementInspector.clear();
+        // Stream finders must be consumed inside a transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            Object result = invoke(repository, method);
+            if (result instanceof Stream) {
+                try (Stream<?> stream = (Stream<?>) result) {
+                    stream.count();
+                }
+            }
+        });
+
+        List<String> selects = new ArrayList<>();
+        for (String sql : RecordingStatementInspector.getStatements()) {
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                selects.add(sql);
+            }
+        }
+        return selects;
+    }
+
+    private Object invoke(Object repository, Method method) {
+        try {
+            return method.invoke(repository, sampleArguments(method));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not invoke " + method, e);
+        }
+    }
+
+    private Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = sampleValue(types[i], method);
+        }
+        return arguments;
+    }
+
+    private Object sampleValue(Class<?> type, Method method) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 10;
+        }
+        if (type == String.class) {
+            return "CHARGE";
+        }
+        if (type == Date.class) {
+            return new Date();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(1L);
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            // Finders without an ORDER BY of their own get the sort the services use
+            Query query = method.getAnnotation(Query.class);
+            return query != null && query.value().contains("ORDER BY")
+                    ? PageRequest.of(0, 10)
+                    : PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "transactionDate"));
+        }
+        throw new IllegalStateException("No sample value for parameter type " + type.getName()
+                + " of " + method + "; extend QueryPlanRegressionTest.sampleValue");
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = (int) sql.chars().filter(c -> c == '?').count();
+            for (int i = 1; i <= parameterCount; i++) {
+                // Plans are built without looking at parameter values
+                statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
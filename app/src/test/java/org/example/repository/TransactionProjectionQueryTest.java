@@ -0,0 +1,200 @@
+package org.example.repository;
+
+import org.example.dto.AccountTransactionDTO;
+import org.example.dto.TransactionCursor;
+import org.example.dto.TransactionDTO;
+import org.example.model.Account;
+import org.example.model.AccountTransaction;
+import org.example.model.CreditCard;
+import org.example.model.Transaction;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Integration tests for the DTO projection queries.
+ * Verifies against an embedded database that the projections never load
+ * a transaction entity or its parent card/account.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class TransactionProjectionQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    private Statistics statistics;
+    private Long cardId;
+    private Long accountId;
+
+    @Before
+    public void setUp() throws Exception {
+        CreditCard card = new CreditCard("4321", "John Doe", "12/25", "Credit", true,
+                new BigDecimal("5000.00"), new BigDecimal("3500.00"), "user123");
+        entityManager.persist(card);
+        entityManager.persist(new Transaction(dateFormat.parse("2023-01-05"), new BigDecimal("150.00"), "Restaurant Dinner", "CHARGE", card));
+        entityManager.persist(new Transaction(dateFormat.parse("2023-01-10"), new BigDecimal("200.00"), "Payment Received", "CREDIT", card));
+        entityManager.persist(new Transaction(dateFormat.parse("2023-02-15"), new BigDecimal("45.50"), "Groceries", "CHARGE", card));
+
+        Account account = new Account("1234567890", "Current", new BigDecimal("5000.00"), "user123",
+                LocalDateTime.of(2022, 1, 1, 9, 0));
+        entityManager.persist(account);
+        persistAccountTransaction(new AccountTransaction(dateFormat.parse("2023-01-10"), new BigDecimal("500.00"), "Salary Deposit", "CREDIT", account), "500.00");
+        persistAccountTransaction(new AccountTransaction(dateFormat.parse("2023-01-12"), new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE", account), "350.00");
+        persistAccountTransaction(new AccountTransaction(dateFormat.parse("2023-02-01"), new BigDecimal("75.50"), "Utility Bill", "CHARGE", account), "274.50");
+
+        cardId = card.getId();
+        accountId = account.getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private void persistAccountTransaction(AccountTransaction transaction, String runningBalance) {
+        transaction.setRunningBalance(new BigDecimal(runningBalance));
+        entityManager.persist(transaction);
+    }
+
+    private void assertNoEntityLoaded() {
+        assertEquals("entities loaded", 0, statistics.getEntityLoadCount());
+        assertEquals("entities fetched", 0, statistics.getEntityFetchCount());
+        assertEquals("entities in persistence context", 0,
+                entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    public void testFindDTOsByCreditCardId() {
+        List<TransactionDTO> result = transactionRepository.findDTOsByCreditCardId(cardId);
+
+        assertEquals(3, result.size());
+        assertNoEntityLoaded();
+    }
+
+    @Test
+    public void testFindDTOsByCreditCardIdAndTransactionDateBetween() throws Exception {
+        List<TransactionDTO> result = transactionRepository.findDTOsByCreditCardIdAndTransactionDateBetween(
+                cardId, dateFormat.parse("2023-01-01"), dateFormat.parse("2023-01-31"));
+
+        assertEquals(2, result.size());
+        assertNoEntityLoaded();
+    }
+
+    @Test
+    public void testFindDTOsByCreditCardIdAndType() {
+        List<TransactionDTO> result = transactionRepository.findDTOsByCreditCardIdAndType(cardId, "CHARGE");
+
+        assertEquals(2, result.size());
+        assertEquals("CHARGE", result.get(0).getType());
+        assertNoEntityLoaded();
+    }
+
+    @Test
+    public void testPageAfterCursorKeepsRowsOfTheSameMillisecond() {
+        // The later row gets the lower ID, so only the date tells the two apart
+        CreditCard card = entityManager.find(CreditCard.class, cardId);
+        entityManager.persist(new Transaction(Timestamp.from(Instant.parse("2024-03-01T10:00:00.000200Z")),
+                new BigDecimal("10.00"), "Later", "CHARGE", card));
+        entityManager.persist(new Transaction(Timestamp.from(Instant.parse("2024-03-01T10:00:00.000100Z")),
+                new BigDecimal("10.00"), "Earlier", "CHARGE", card));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TransactionDTO> first = transactionRepository.findPageByCreditCardId(cardId, PageRequest.of(0, 1));
+        TransactionCursor cursor = TransactionCursor.decode(TransactionCursor.after(first.get(0)).encode());
+        List<TransactionDTO> next = transactionRepository.findPageByCreditCardIdAfter(
+                cardId, cursor.getTransactionDate(), cursor.getId(), PageRequest.of(0, 1));
+
+        assertEquals("Later", first.get(0).getDescription());
+        assertEquals(1, next.size());
+        assertEquals("Earlier", next.get(0).getDescription());
+    }
+
+    @Test
+    public void testFindDTOsByAccountId() {
+        List<AccountTransactionDTO> result = accountTransactionRepository.findDTOsByAccountId(accountId);
+
+        assertEquals(3, result.size());
+        assertNoEntityLoaded();
+    }
+
+    @Test
+    public void testFindLastDTOsByAccountId() {
+        List<AccountTransactionDTO> result = accountTransactionRepository.findLastDTOsByAccountId(
+                accountId, PageRequest.of(0, 2));
+
+        assertEquals(2, result.size());
+        assertEquals("Utility Bill", result.get(0).getDescription());
+        assertEquals("ATM Withdrawal", result.get(1).getDescription());
+        assertEquals(new BigDecimal("274.50"), result.get(0).getRunningBalance());
+        assertEquals(new BigDecimal("350.00"), result.get(1).getRunningBalance());
+        assertNoEntityLoaded();
+    }
+
+    @Test
+    public void testRunningBalancesOfABackdatedTransaction() throws Exception {
+        Date backdated = dateFormat.parse("2023-01-11");
+
+        List<BigDecimal> previous = accountTransactionRepository.findRunningBalancesUpTo(
+                accountId, backdated, PageRequest.of(0, 1));
+        int updated = accountTransactionRepository.addToRunningBalancesAfter(
+                accountId, backdated, Long.MAX_VALUE, new BigDecimal("-20.00"));
+        List<AccountTransactionDTO> result = accountTransactionRepository.findLastDTOsByAccountId(
+                accountId, PageRequest.of(0, 3));
+
+        assertEquals(List.of(new BigDecimal("500.00")), previous);
+        assertEquals(2, updated);
+        assertEquals(new BigDecimal("254.50"), result.get(0).getRunningBalance());
+        assertEquals(new BigDecimal("330.00"), result.get(1).getRunningBalance());
+        assertEquals(new BigDecimal("500.00"), result.get(2).getRunningBalance());
+    }
+
+    @Test
+    public void testFindDTOsByAccountIdAndTransactionDateBetween() throws Exception {
+        List<AccountTransactionDTO> result = accountTransactionRepository.findDTOsByAccountIdAndTransactionDateBetween(
+                accountId, dateFormat.parse("2023-01-01"), dateFormat.parse("2023-01-31"));
+
+        assertEquals(2, result.size());
+        assertNoEntityLoaded();
+    }
+
+    @Test
+    public void testFindDTOsByAccountIdAndType() {
+        List<AccountTransactionDTO> result = accountTransactionRepository.findDTOsByAccountIdAndType(accountId, "CREDIT");
+
+        assertEquals(1, result.size());
+        assertEquals("Salary Deposit", result.get(0).getDescription());
+        assertNoEntityLoaded();
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.service;
 
+import org.example.dto.AccountDTO;
 import org.example.model.Account;
+import org.example.model.DailyRollup;
 import org.example.repository.AccountRepository;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,6 +26,18 @@ public class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private OwnershipService ownershipService;
+
+    @Mock
+    private OwnerResponseCache ownerResponseCache;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -60,6 +74,22 @@ public class AccountServiceTest {
         verify(accountRepository).findByOwnerId(testOwnerId);
     }
 
+    @Test
+    public void testGetAccountDTOsByOwnerId() {
+        // Arrange
+        when(accountRepository.findByOwnerId(testOwnerId)).thenReturn(Arrays.asList(testAccount));
+
+        // Act
+        List<AccountDTO> result = accountService.getAccountDTOsByOwnerId(testOwnerId);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(testId, result.get(0).getId());
+        assertEquals(testAccountNumber, result.get(0).getAccountNumber());
+        assertEquals(testBalance, result.get(0).getBalance());
+        assertEquals(testCreationDate, result.get(0).getCreationDate());
+    }
+
     @Test
     public void testGetAccountById_WhenAccountExists() {
         // Arrange
@@ -98,6 +128,8 @@ public class AccountServiceTest {
         // Assert
         assertEquals(testAccount, result);
         verify(accountRepository).save(testAccount);
+        verify(resourceVersions).accountChanged(testId);
+        verify(ownerResponseCache).evictAccounts(testOwnerId);
     }
 
     @Test
@@ -110,6 +142,7 @@ public class AccountServiceTest {
         updatedAccount.setBalance(new BigDecimal("2000.00"));
         updatedAccount.setCreationDate(testCreationDate);
 
+        when(ownershipService.getAccountOwner(testId)).thenReturn(Optional.of("PREVIOUS456"));
         when(accountRepository.existsById(testId)).thenReturn(true);
         when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
             Account savedAccount = invocation.getArgument(0);
@@ -127,6 +160,10 @@ public class AccountServiceTest {
         assertEquals(new BigDecimal("2000.00"), result.get().getBalance());
         verify(accountRepository).existsById(testId);
         verify(accountRepository).save(any(Account.class));
+        verify(ownershipService).evictAccount(testId);
+        verify(resourceVersions).accountChanged(testId);
+        verify(ownerResponseCache).evictAccounts("PREVIOUS456");
+        verify(ownerResponseCache).evictAccounts(testOwnerId);
     }
 
     @Test
@@ -142,11 +179,14 @@ public class AccountServiceTest {
         assertFalse(result.isPresent());
         verify(accountRepository).existsById(testId);
         verify(accountRepository, never()).save(any(Account.class));
+        verify(ownershipService, never()).evictAccount(any());
+        verifyNoInteractions(ownerResponseCache, resourceVersions, dailyRollupService);
     }
 
     @Test
     public void testDeleteAccount_WhenAccountExists() {
         // Arrange
+        when(ownershipService.getAccountOwner(testId)).thenReturn(Optional.of(testOwnerId));
         when(accountRepository.existsById(testId)).thenReturn(true);
         doNothing().when(accountRepository).deleteById(testId);
 
@@ -157,6 +197,10 @@ public class AccountServiceTest {
         assertTrue(result);
         verify(accountRepository).existsById(testId);
         verify(accountRepository).deleteById(testId);
+        verify(ownershipService).evictAccount(testId);
+        verify(resourceVersions).accountChanged(testId);
+        verify(dailyRollupService).entityDeleted(DailyRollup.ACCOUNT, testId);
+        verify(ownerResponseCache).evictAccounts(testOwnerId);
     }
 
     @Test
@@ -171,5 +215,7 @@ public class AccountServiceTest {
         assertFalse(result);
         verify(accountRepository).existsById(testId);
         verify(accountRepository, never()).deleteById(any());
+        verify(ownershipService, never()).evictAccount(any());
+        verifyNoInteractions(ownerResponseCache, resourceVersions, dailyRollupService);
     }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package org.example.service;
+
+import org.example.dto.AccountTransactionDTO;
+import org.example.model.Account;
+import org.example.model.AccountTransaction;
+import org.example.model.DailyRollup;
+import org.example.repository.AccountRepository;
+import org.example.repository.AccountTransactionRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AccountTransactionServiceTest {
+
+    @Mock
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private OwnershipService ownershipService;
+
+    @Mock
+    private OwnerResponseCache ownerResponseCache;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @InjectMocks
+    private AccountTransactionService accountTransactionService;
+
+    private final Long testAccountId = 1L;
+
+    @Test
+    public void testSaveTransaction_PersistsOnlyTheNewRow() {
+        // Arrange
+        Account accountReference = new Account();
+        accountReference.setId(testAccountId);
+        AccountTransaction transaction = new AccountTransaction(
+                new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT", null);
+        when(accountRepository.lockById(testAccountId)).thenReturn(Optional.of(testAccountId));
+        when(accountRepository.getReferenceById(testAccountId)).thenReturn(accountReference);
+        when(accountTransactionRepository.save(transaction)).thenReturn(transaction);
+        when(ownershipService.getAccountOwner(testAccountId)).thenReturn(Optional.of("user123"));
+
+        // Act
+        Optional<AccountTransaction> result = accountTransactionService.saveTransaction(transaction, testAccountId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertSame(accountReference, result.get().getAccount());
+        verify(accountTransactionRepository).save(transaction);
+        verify(accountRepository, never()).findById(any());
+        verify(accountRepository, never()).save(any());
+        verify(resourceVersions).accountChanged(testAccountId);
+        verify(ownerResponseCache).evictAccounts("user123");
+        verify(dailyRollupService).transactionAdded(DailyRollup.ACCOUNT, testAccountId, transaction);
+    }
+
+    @Test
+    public void testSaveTransaction_RunningBalanceFollowsThePreviousTransaction() {
+        // Arrange
+        Date date = new Date();
+        AccountTransaction transaction = new AccountTransaction(
+                date, new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE", null);
+        when(accountRepository.lockById(testAccountId)).thenReturn(Optional.of(testAccountId));
+        when(accountTransactionRepository.findRunningBalancesUpTo(testAccountId, date, PageRequest.of(0, 1)))
+                .thenReturn(List.of(new BigDecimal("500.00")));
+        when(accountTransactionRepository.save(transaction)).thenAnswer(invocation -> {
+            transaction.setId(9L);
+            return transaction;
+        });
+
+        // Act
+        Optional<AccountTransaction> result = accountTransactionService.saveTransaction(transaction, testAccountId);
+
+        // Assert
+        assertEquals(new BigDecimal("350.00"), result.get().getRunningBalance());
+        // A backdated transaction moves the balances after it
+        verify(accountTransactionRepository).addToRunningBalancesAfter(testAccountId, date, 9L, new BigDecimal("-150.00"));
+    }
+
+    @Test
+    public void testSaveTransaction_FirstTransactionStartsFromZero() {
+        // Arrange
+        AccountTransaction transaction = new AccountTransaction(
+                new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT", null);
+        when(accountRepository.lockById(testAccountId)).thenReturn(Optional.of(testAccountId));
+        when(accountTransactionRepository.save(transaction)).thenReturn(transaction);
+
+        // Act
+        Optional<AccountTransaction> result = accountTransactionService.saveTransaction(transaction, testAccountId);
+
+        // Assert
+        assertEquals(new BigDecimal("500.00"), result.get().getRunningBalance());
+    }
+
+    @Test
+    public void testSaveTransaction_VersionIsBumpedAfterCommit() {
+        // Arrange
+        AccountTransaction transaction = new AccountTransaction(
+                new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT", null);
+        when(accountRepository.lockById(testAccountId)).thenReturn(Optional.of(testAccountId));
+        when(accountTransactionRepository.save(transaction)).thenReturn(transaction);
+        when(ownershipService.getAccountOwner(testAccountId)).thenReturn(Optional.of("user123"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            accountTransactionService.saveTransaction(transaction, testAccountId);
+
+            // Assert: nothing is published while the insert may still roll back
+            verifyNoInteractions(resourceVersions, ownerResponseCache);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(resourceVersions).accountChanged(testAccountId);
+            verify(ownerResponseCache).evictAccounts("user123");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testSaveTransaction_AccountNotFound() {
+        // Arrange
+        AccountTransaction transaction = new AccountTransaction(
+                new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT", null);
+        when(accountRepository.lockById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<AccountTransaction> result = accountTransactionService.saveTransaction(transaction, 999L);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(accountTransactionRepository, never()).save(any());
+        verifyNoInteractions(ownerResponseCache, resourceVersions);
+    }
+
+    @Test
+    public void testDeleteTransaction_EvictsOwnerAccountList() {
+        // Arrange
+        Account accountReference = new Account();
+        accountReference.setId(testAccountId);
+        AccountTransaction transaction = new AccountTransaction(
+                new Date(), new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE", accountReference);
+        when(accountTransactionRepository.findById(5L)).thenReturn(Optional.of(transaction));
+        when(ownershipService.getAccountOwner(testAccountId)).thenReturn(Optional.of("user123"));
+
+        // Act
+        boolean result = accountTransactionService.deleteTransaction(5L);
+
+        // Assert
+        assertTrue(result);
+        verify(accountTransactionRepository).delete(transaction);
+        verify(accountRepository).lockById(testAccountId);
+        verify(accountTransactionRepository).addToRunningBalancesAfter(testAccountId, transaction.getTransactionDate(), 5L,
+                new BigDecimal("150.00"));
+        verify(dailyRollupService).transactionRemoved(DailyRollup.ACCOUNT, testAccountId, transaction);
+        verify(resourceVersions).accountChanged(testAccountId);
+        verify(ownerResponseCache).evictAccounts("user123");
+    }
+
+    @Test
+    public void testDeleteTransaction_NotExists() {
+        // Arrange
+        when(accountTransactionRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = accountTransactionService.deleteTransaction(999L);
+
+        // Assert
+        assertFalse(result);
+        verify(accountTransactionRepository, never()).delete(any());
+        verifyNoInteractions(ownerResponseCache, resourceVersions, dailyRollupService);
+    }
+
+    @Test
+    public void testStreamTransactionDTOsByAccountIdAndDateRange() {
+        // Arrange
+        Date startDate = new Date(0);
+        Date endDate = new Date();
+        List<AccountTransactionDTO> rows = Arrays.asList(
+                new AccountTransactionDTO(1L, new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT"),
+                new AccountTransactionDTO(2L, new Date(), new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE"));
+        boolean[] closed = {false};
+        when(accountTransactionRepository.streamDTOsByAccountIdAndTransactionDateBetween(testAccountId, startDate, endDate))
+                .thenReturn(rows.stream().onClose(() -> closed[0] = true));
+        List<AccountTransactionDTO> received = new ArrayList<>();
+
+        // Act
+        long count = accountTransactionService.streamTransactionDTOsByAccountIdAndDateRange(
+                testAccountId, startDate, endDate, received::add);
+
+        // Assert
+        assertEquals(2L, count);
+        assertEquals(rows, received);
+        assertTrue("the database cursor must be released", closed[0]);
+    }
+
+    @Test
+    public void testGetLastTransactionDTOsByAccountId() {
+        // Arrange
+        List<AccountTransactionDTO> rows = Arrays.asList(
+                new AccountTransactionDTO(2L, new Date(), new BigDecimal("150.00"), "ATM Withdrawal", "CHARGE"),
+                new AccountTransactionDTO(1L, new Date(), new BigDecimal("500.00"), "Salary Deposit", "CREDIT"));
+        when(accountTransactionRepository.findLastDTOsByAccountId(testAccountId, PageRequest.of(0, 2))).thenReturn(rows);
+
+        // Act
+        List<AccountTransactionDTO> result = accountTransactionService.getLastTransactionDTOsByAccountId(testAccountId, 2);
+
+        // Assert
+        assertEquals(rows, result);
+        verify(accountTransactionRepository, never()).findByAccountId(any(), any());
+    }
+}
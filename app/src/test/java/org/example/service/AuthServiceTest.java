@@ -1,24 +1,30 @@
 package org.example.service;
 
+import org.example.dto.TokenStats;
 import org.example.model.User;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import java.lang.reflect.Field;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
 
 import static org.junit.Assert.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AuthServiceTest {
 
-    @InjectMocks
-    private AuthService authService;
+    // Same secret on every node, so a token issued by one validates on another
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "0123456789abcdef0123456789abcdef".getBytes());
+
+    private final ManualClock clock = new ManualClock();
+    private final AuthService authService = new AuthService(SECRET, Duration.ofMinutes(30), clock);
 
     private final String validUsername = "15.413.217-1";
     private final String validPassword = "AiPuedaexeeb0ei";
@@ -75,16 +81,9 @@ public class AuthServiceTest {
     }
     
     @Test
-    public void testValidateToken_WithValidToken() throws Exception {
+    public void testValidateToken_WithValidToken() {
         // Arrange
-        String testToken = "test-token";
-        
-        // Access the private activeTokens field using reflection
-        Field activeTokensField = AuthService.class.getDeclaredField("activeTokens");
-        activeTokensField.setAccessible(true);
-        
-        Map<String, String> activeTokens = (Map<String, String>) activeTokensField.get(authService);
-        activeTokens.put(testToken, validOwnerId);
+        String testToken = authService.generateToken(testUser);
         
         // Act
         String result = authService.validateToken(testToken);
@@ -103,16 +102,9 @@ public class AuthServiceTest {
     }
     
     @Test
-    public void testInvalidateToken() throws Exception {
+    public void testInvalidateToken() {
         // Arrange
-        String testToken = "test-token";
-        
-        // Access the private activeTokens field using reflection
-        Field activeTokensField = AuthService.class.getDeclaredField("activeTokens");
-        activeTokensField.setAccessible(true);
-        
-        Map<String, String> activeTokens = (Map<String, String>) activeTokensField.get(authService);
-        activeTokens.put(testToken, validOwnerId);
+        String testToken = authService.generateToken(testUser);
         
         // Verify token is initially valid
         assertEquals(validOwnerId, authService.validateToken(testToken));
@@ -144,4 +136,221 @@ public class AuthServiceTest {
         // Step 5: Verify the token is no longer valid
         assertNull(authService.validateToken(token));
     }
+
+    @Test
+    public void testValidateToken_OnAnotherNodeWithTheSameSecret() {
+        // Arrange
+        AuthService otherNode = new AuthService(SECRET, Duration.ofMinutes(30), clock);
+        String token = authService.generateToken(testUser);
+
+        // Act
+        String result = otherNode.validateToken(token);
+
+        // Assert
+        assertEquals(validOwnerId, result);
+    }
+
+    @Test
+    public void testGenerateToken_WithStripedTokenIds() {
+        // Arrange
+        AuthService striped = new AuthService(SECRET, Duration.ofMinutes(30), TokenIdGenerator.striped(4), clock);
+
+        // Act
+        String token = striped.generateToken(testUser);
+
+        // Assert: the token ID source does not change the token format
+        assertEquals(validOwnerId, authService.validateToken(token));
+        assertNotEquals(token, striped.generateToken(testUser));
+    }
+
+    @Test
+    public void testValidateToken_SignedWithAnotherSecret() {
+        // Arrange
+        String otherSecret = Base64.getEncoder().encodeToString("fedcba9876543210fedcba9876543210".getBytes());
+        AuthService otherNode = new AuthService(otherSecret, Duration.ofMinutes(30), clock);
+        String token = otherNode.generateToken(testUser);
+
+        // Act
+        String result = authService.validateToken(token);
+
+        // Assert
+        assertNull(result);
+    }
+
+    @Test
+    public void testValidateToken_TamperedOwnerId() {
+        // Arrange: swap in another owner but keep the original signature
+        String token = authService.generateToken(testUser);
+        String otherOwner = Base64.getUrlEncoder().withoutPadding().encodeToString("87654321".getBytes());
+        String tampered = otherOwner + token.substring(token.indexOf('.'));
+
+        // Act
+        String result = authService.validateToken(tampered);
+
+        // Assert
+        assertNull(result);
+        assertEquals(1, authService.getTokenStats().getRejectedCount());
+    }
+
+    @Test
+    public void testValidateToken_NonAsciiCharacterWithTheSameLowByte() {
+        // Arrange: U+0141 and 'A' share their low byte
+        String token = authService.generateToken(testUser);
+        String tampered = (char) (token.charAt(0) + 0x100) + token.substring(1);
+
+        // Act
+        String result = authService.validateToken(tampered);
+
+        // Assert
+        assertNull(result);
+        assertEquals(1, authService.getTokenStats().getRejectedCount());
+    }
+
+    @Test
+    public void testInvalidateToken_RevokedTokenCannotBeRetriedWithAnotherTokenId() {
+        // Arrange
+        String token = authService.generateToken(testUser);
+        authService.invalidateToken(token);
+        int tokenIdStart = token.indexOf('.', token.indexOf('.') + 1) + 1;
+        String retried = token.substring(0, tokenIdStart) + (char) (token.charAt(tokenIdStart) + 0x100)
+                + token.substring(tokenIdStart + 1);
+
+        // Act & Assert
+        assertNull(authService.validateToken(token));
+        assertNull(authService.validateToken(retried));
+    }
+
+    @Test
+    public void testValidateToken_Malformed() {
+        // Act & Assert
+        assertNull(authService.validateToken(null));
+        assertNull(authService.validateToken(""));
+        assertNull(authService.validateToken("a.b.c.d"));
+        assertNull(authService.validateToken("...."));
+        assertNull(authService.validateToken(java.util.UUID.randomUUID().toString()));
+        assertEquals(5, authService.getTokenStats().getRejectedCount());
+    }
+
+    @Test
+    public void testValidateToken_ExpiresAfterTtl() {
+        // Arrange
+        String token = authService.generateToken(testUser);
+
+        // Act
+        clock.advance(Duration.ofMinutes(29));
+        String beforeExpiry = authService.validateToken(token);
+        clock.advance(Duration.ofMinutes(2));
+        String afterExpiry = authService.validateToken(token);
+
+        // Assert
+        assertEquals(validOwnerId, beforeExpiry);
+        assertNull(afterExpiry);
+        assertEquals(1, authService.getTokenStats().getExpiredCount());
+    }
+
+    @Test
+    public void testInvalidateToken_DenyListOnlyHoldsUnexpiredTokens() {
+        // Arrange
+        String revoked = authService.generateToken(testUser);
+        String stillValid = authService.generateToken(testUser);
+
+        // Act
+        authService.invalidateToken(revoked);
+        authService.invalidateToken("not-a-token");
+
+        // Assert
+        assertNull(authService.validateToken(revoked));
+        assertEquals(validOwnerId, authService.validateToken(stillValid));
+        TokenStats stats = authService.getTokenStats();
+        assertEquals(1, stats.getDenyListSize());
+        assertEquals(1, stats.getRevokedCount());
+
+        // Once the token would have expired anyway its deny-list entry is dropped
+        clock.advance(Duration.ofMinutes(31));
+        assertEquals(0, authService.getTokenStats().getDenyListSize());
+        assertNull(authService.validateToken(revoked));
+    }
+
+    @Test
+    public void testInvalidateToken_FullDenyListDropsTheOldestRevocation() {
+        // Arrange
+        AuthService capped = new AuthService(SECRET, Duration.ofMinutes(30), TokenIdGenerator.shared(), 2, clock);
+        String first = capped.generateToken(testUser);
+        String second = capped.generateToken(testUser);
+        String third = capped.generateToken(testUser);
+
+        // Act
+        capped.invalidateToken(first);
+        capped.invalidateToken(second);
+        capped.invalidateToken(third);
+
+        // Assert: the deny-list stays at its cap and the dropped revocation is counted
+        TokenStats stats = capped.getTokenStats();
+        assertEquals(2, stats.getDenyListSize());
+        assertEquals(2, stats.getMaxDenyListSize());
+        assertEquals(1, stats.getDenyListEvictedCount());
+        assertEquals(validOwnerId, capped.validateToken(first));
+        assertNull(capped.validateToken(second));
+        assertNull(capped.validateToken(third));
+    }
+
+    @Test
+    public void testGetTokenStats_CountsAcceptedTokens() {
+        // Arrange
+        String token = authService.generateToken(testUser);
+
+        // Act
+        authService.validateToken(token);
+        authService.validateToken(token);
+
+        // Assert
+        TokenStats stats = authService.getTokenStats();
+        assertEquals(2, stats.getAcceptedCount());
+        assertEquals(0, stats.getRejectedCount());
+        assertEquals(1800, stats.getTtlSeconds());
+    }
+
+    @Test
+    public void testDefaultConstructor_UsesRandomSecret() {
+        // Arrange
+        AuthService standalone = new AuthService();
+
+        // Act
+        String token = standalone.generateToken(testUser);
+
+        // Assert
+        assertEquals(validOwnerId, standalone.validateToken(token));
+        assertNull(authService.validateToken(token));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsShortSecret() {
+        new AuthService(Base64.getEncoder().encodeToString("too-short".getBytes()), Duration.ofMinutes(30));
+    }
+
+    /**
+     * Clock moved by hand, so expiry can be tested without waiting.
+     */
+    private static class ManualClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package org.example.service;
+
+import org.example.config.SecondLevelCacheConfig;
+import org.example.dto.CacheRegionStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheStatisticsServiceTest {
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private OwnerResponseCache ownerResponseCache;
+
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Before
+    public void setUp() {
+        // SessionFactory is itself an EntityManagerFactory, so one mock serves as both
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        cacheStatisticsService = new CacheStatisticsService(sessionFactory, ownerResponseCache);
+    }
+
+    private CacheRegionStatistics regionStatistics(long hits, long misses, long puts, long elements) {
+        CacheRegionStatistics regionStatistics = mock(CacheRegionStatistics.class);
+        when(regionStatistics.getHitCount()).thenReturn(hits);
+        when(regionStatistics.getMissCount()).thenReturn(misses);
+        when(regionStatistics.getPutCount()).thenReturn(puts);
+        when(regionStatistics.getElementCountInMemory()).thenReturn(elements);
+        return regionStatistics;
+    }
+
+    @Test
+    public void testGetSecondLevelCacheStats() {
+        // Arrange: the account query region has not been used yet
+        CacheRegionStatistics cards = regionStatistics(75, 25, 25, 20);
+        CacheRegionStatistics accounts = regionStatistics(0, 4, 4, Long.MIN_VALUE);
+        CacheRegionStatistics cardQueries = regionStatistics(9, 1, 1, 1);
+        when(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CREDIT_CARD_REGION)).thenReturn(cards);
+        when(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.ACCOUNT_REGION)).thenReturn(accounts);
+        when(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.CREDIT_CARDS_BY_OWNER_REGION)).thenReturn(cardQueries);
+        when(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.ACCOUNTS_BY_OWNER_REGION)).thenReturn(null);
+
+        // Act
+        List<CacheRegionStats> stats = cacheStatisticsService.getSecondLevelCacheStats();
+
+        // Assert
+        assertEquals(4, stats.size());
+        assertEquals(SecondLevelCacheConfig.CREDIT_CARD_REGION, stats.get(0).getRegion());
+        assertEquals(75, stats.get(0).getHitCount());
+        assertEquals(0.75, stats.get(0).getHitRatio(), 0.0001);
+        assertEquals(20, stats.get(0).getElementCount());
+        assertEquals("element count not supported", -1, stats.get(1).getElementCount());
+        assertEquals(0.9, stats.get(2).getHitRatio(), 0.0001);
+        assertEquals(SecondLevelCacheConfig.ACCOUNTS_BY_OWNER_REGION, stats.get(3).getRegion());
+        assertEquals(0, stats.get(3).getHitCount());
+        assertEquals(0.0, stats.get(3).getHitRatio(), 0.0);
+        verifyNoInteractions(ownerResponseCache);
+    }
+
+    @Test
+    public void testGetCacheStats_AppendsOwnerResponseCache() {
+        // Arrange
+        CacheRegionStats cardLists = new CacheRegionStats(OwnerResponseCache.CARD_LISTS, 8, 2, 2, 2);
+        CacheRegionStats accountLists = new CacheRegionStats(OwnerResponseCache.ACCOUNT_LISTS, 0, 0, 0, 0);
+        when(ownerResponseCache.getStats()).thenReturn(List.of(cardLists, accountLists));
+
+        // Act
+        List<CacheRegionStats> stats = cacheStatisticsService.getCacheStats();
+
+        // Assert
+        assertEquals(6, stats.size());
+        assertEquals(SecondLevelCacheConfig.CREDIT_CARD_REGION, stats.get(0).getRegion());
+        assertSame(cardLists, stats.get(4));
+        assertSame(accountLists, stats.get(5));
+    }
+}
@@ -0,0 +1,331 @@
+package org.example.service;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.model.CreditCard;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CardAuthorizationLedgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CardAuthorizationLedger ledger;
+
+    // Sum of every balance delta written back, in cents
+    private final AtomicLong writtenBack = new AtomicLong();
+
+    @Before
+    public void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        ledger = new CardAuthorizationLedger(jdbcTemplate, entityManagerFactory, eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenCard(long id, String balance, boolean active) {
+        when(jdbcTemplate.query(eq(CardAuthorizationLedger.SELECT_CARD_SQL), any(RowMapper.class), eq(id)))
+                .thenReturn(List.of(new CardAuthorizationLedger.CardSnapshot(id, new BigDecimal(balance), active)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordWriteBacks() {
+        when(jdbcTemplate.batchUpdate(eq(CardAuthorizationLedger.UPDATE_BALANCE_SQL), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                writtenBack.addAndGet(((BigDecimal) row[0]).movePointRight(2).longValueExact());
+            }
+            return new int[rows.size()];
+        });
+    }
+
+    @Test
+    public void testAuthorize_ChargeWithinAvailableCredit() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+
+        // Act
+        CardAuthorizationLedger.Decision decision = ledger.authorize(1L, "CHARGE", new BigDecimal("60.00"));
+
+        // Assert
+        assertEquals(CardAuthorizationLedger.Decision.APPROVED, decision);
+        assertEquals(Optional.of(new BigDecimal("40.00")), ledger.getAvailableCredit(1L));
+    }
+
+    @Test
+    public void testAuthorize_ChargeOverAvailableCreditIsDeclined() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+        ledger.authorize(1L, "CHARGE", new BigDecimal("60.00"));
+
+        // Act
+        CardAuthorizationLedger.Decision decision = ledger.authorize(1L, "CHARGE", new BigDecimal("40.01"));
+
+        // Assert
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_INSUFFICIENT_CREDIT, decision);
+        assertEquals(Optional.of(new BigDecimal("40.00")), ledger.getAvailableCredit(1L));
+    }
+
+    @Test
+    public void testAuthorize_CreditRestoresAvailableCredit() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+        ledger.authorize(1L, "CHARGE", new BigDecimal("100.00"));
+
+        // Act
+        CardAuthorizationLedger.Decision decision = ledger.authorize(1L, "CREDIT", new BigDecimal("25.50"));
+
+        // Assert
+        assertEquals(CardAuthorizationLedger.Decision.APPROVED, decision);
+        assertEquals(Optional.of(new BigDecimal("25.50")), ledger.getAvailableCredit(1L));
+    }
+
+    @Test
+    public void testAuthorize_InactiveCardDeclinesCharges() {
+        // Arrange
+        givenCard(1L, "100.00", false);
+
+        // Act
+        CardAuthorizationLedger.Decision decision = ledger.authorize(1L, "CHARGE", new BigDecimal("1.00"));
+
+        // Assert
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_CARD_INACTIVE, decision);
+    }
+
+    @Test
+    public void testAuthorize_InvalidRequests() {
+        // Act & Assert: rejected before the card is even looked up
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_INVALID_AMOUNT,
+                ledger.authorize(1L, "CHARGE", new BigDecimal("-5.00")));
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_INVALID_AMOUNT,
+                ledger.authorize(1L, "CHARGE", new BigDecimal("0.001")));
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_INVALID_AMOUNT,
+                ledger.authorize(1L, "CHARGE", null));
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_INVALID_TYPE,
+                ledger.authorize(1L, "REFUND", new BigDecimal("5.00")));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testAuthorize_UnknownCard() {
+        // Arrange
+        when(jdbcTemplate.query(eq(CardAuthorizationLedger.SELECT_CARD_SQL), any(RowMapper.class), eq(999L)))
+                .thenReturn(List.of());
+
+        // Act
+        CardAuthorizationLedger.Decision decision = ledger.authorize(999L, "CHARGE", new BigDecimal("1.00"));
+
+        // Assert
+        assertEquals(CardAuthorizationLedger.Decision.CARD_NOT_FOUND, decision);
+    }
+
+    @Test
+    public void testAuthorize_CardIsLoadedOnce() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+
+        // Act
+        ledger.authorize(1L, "CHARGE", new BigDecimal("1.00"));
+        ledger.authorize(1L, "CHARGE", new BigDecimal("1.00"));
+        ledger.authorize(1L, "CREDIT", new BigDecimal("1.00"));
+
+        // Assert
+        verify(jdbcTemplate, times(1)).query(eq(CardAuthorizationLedger.SELECT_CARD_SQL), any(RowMapper.class), eq(1L));
+    }
+
+    @Test
+    public void testReverse_UndoesAnApprovedCharge() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+        ledger.authorize(1L, "CHARGE", new BigDecimal("30.00"));
+
+        // Act
+        ledger.reverse(1L, "CHARGE", new BigDecimal("30.00"));
+
+        // Assert
+        assertEquals(Optional.of(new BigDecimal("100.00")), ledger.getAvailableCredit(1L));
+    }
+
+    @Test
+    public void testReverse_LoadsAnUnknownCard() {
+        // Arrange: a charge made before startup is deleted before the card was used
+        givenCard(1L, "70.00", true);
+        recordWriteBacks();
+
+        // Act
+        ledger.reverse(1L, "CHARGE", new BigDecimal("30.00"));
+
+        // Assert
+        assertEquals(Optional.of(new BigDecimal("100.00")), ledger.getAvailableCredit(1L));
+        assertEquals(1, ledger.flush());
+        assertEquals(3000L, writtenBack.get());
+    }
+
+    @Test
+    public void testFlush_WritesNetDeltaPerCardInOneBatch() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+        givenCard(2L, "50.00", true);
+        recordWriteBacks();
+        ledger.authorize(1L, "CHARGE", new BigDecimal("30.00"));
+        ledger.authorize(1L, "CREDIT", new BigDecimal("10.00"));
+        ledger.authorize(2L, "CHARGE", new BigDecimal("5.25"));
+
+        // Act
+        int written = ledger.flush();
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(-2525L, writtenBack.get());
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(CardAuthorizationLedger.UPDATE_BALANCE_SQL), anyList());
+        verify(secondLevelCache).evict(CreditCard.class, 1L);
+        verify(secondLevelCache).evict(CreditCard.class, 2L);
+        ArgumentCaptor<CardBalancesWrittenEvent> event = ArgumentCaptor.forClass(CardBalancesWrittenEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(event.getValue().cardIds()));
+        assertEquals("nothing left to write", 0, ledger.flush());
+    }
+
+    @Test
+    public void testFlush_FailedWriteIsRetried() {
+        // Arrange
+        givenCard(1L, "100.00", true);
+        ledger.authorize(1L, "CHARGE", new BigDecimal("30.00"));
+        when(jdbcTemplate.batchUpdate(eq(CardAuthorizationLedger.UPDATE_BALANCE_SQL), anyList()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"))
+                .thenReturn(new int[]{1});
+
+        // Act
+        int firstAttempt = ledger.flush();
+        int secondAttempt = ledger.flush();
+
+        // Assert
+        assertEquals(0, firstAttempt);
+        assertEquals(1, secondAttempt);
+        verify(eventPublisher, times(1)).publishEvent(any(CardBalancesWrittenEvent.class));
+        verify(secondLevelCache, times(1)).evict(CreditCard.class, 1L);
+        assertEquals(Optional.of(new BigDecimal("70.00")), ledger.getAvailableCredit(1L));
+    }
+
+    @Test
+    public void testRefresh_KeepsChangesNotYetWrittenBack() {
+        // Arrange: a charge is approved, then the card row is updated through the API
+        givenCard(1L, "100.00", true);
+        ledger.authorize(1L, "CHARGE", new BigDecimal("30.00"));
+        givenCard(1L, "500.00", true);
+
+        // Act
+        ledger.refresh(1L);
+
+        // Assert
+        assertEquals(Optional.of(new BigDecimal("470.00")), ledger.getAvailableCredit(1L));
+    }
+
+    @Test
+    public void testRebuild_LoadsAllCards() {
+        // Arrange
+        when(jdbcTemplate.queryForStream(eq(CardAuthorizationLedger.SELECT_ALL_SQL), any(RowMapper.class)))
+                .thenReturn(Stream.of(
+                        new CardAuthorizationLedger.CardSnapshot(1L, new BigDecimal("100.00"), true),
+                        new CardAuthorizationLedger.CardSnapshot(2L, new BigDecimal("0.00"), true)));
+
+        // Act
+        ledger.rebuild();
+
+        // Assert
+        assertEquals(CardAuthorizationLedger.Decision.APPROVED, ledger.authorize(1L, "CHARGE", new BigDecimal("100.00")));
+        assertEquals(CardAuthorizationLedger.Decision.DECLINED_INSUFFICIENT_CREDIT,
+                ledger.authorize(2L, "CHARGE", new BigDecimal("0.01")));
+        verify(jdbcTemplate, never()).query(eq(CardAuthorizationLedger.SELECT_CARD_SQL), any(RowMapper.class), any());
+    }
+
+    @Test
+    public void testConcurrentChargesNeverExceedTheLimit() throws Exception {
+        // Arrange: one card with 1000.00 available, hammered by many threads at once
+        givenCard(1L, "1000.00", true);
+        recordWriteBacks();
+        int threads = 32;
+        int chargesPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // Write-backs keep running while charges come in
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            while (running.get()) {
+                ledger.flush();
+            }
+            return null;
+        });
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < chargesPerThread; i++) {
+                    if (ledger.authorize(1L, "CHARGE", new BigDecimal("1.00")) == CardAuthorizationLedger.Decision.APPROVED) {
+                        approved.incrementAndGet();
+                    }
+                    BigDecimal available = ledger.getAvailableCredit(1L).orElseThrow();
+                    assertTrue("available credit went negative: " + available, available.signum() >= 0);
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        ledger.flush();
+        executor.shutdown();
+
+        // Assert: exactly the limit was approved, and exactly that was written back
+        assertEquals(1000, approved.get());
+        assertEquals(Optional.of(new BigDecimal("0.00")), ledger.getAvailableCredit(1L));
+        assertEquals(-100_000L, writtenBack.get());
+    }
+}
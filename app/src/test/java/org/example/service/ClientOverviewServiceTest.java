@@ -0,0 +1,180 @@
+package org.example.service;
+
+import org.example.dto.AccountDTO;
+import org.example.dto.AccountTransactionDTO;
+import org.example.dto.ClientOverview;
+import org.example.dto.CreditCardDTO;
+import org.example.dto.TransactionDTO;
+import org.example.dto.TransactionPage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientOverviewServiceTest {
+
+    private static final String OWNER_ID = "user123";
+
+    @Mock
+    private CreditCardService creditCardService;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountTransactionService accountTransactionService;
+
+    private ClientOverviewService clientOverviewService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private CreditCardDTO card;
+    private AccountDTO account;
+    private List<TransactionDTO> cardTransactions;
+    private List<AccountTransactionDTO> accountTransactions;
+
+    @Before
+    public void setUp() {
+        clientOverviewService = new ClientOverviewService(creditCardService, accountService, transactionService,
+                accountTransactionService, 4, 16, Duration.ofMillis(300));
+
+        card = new CreditCardDTO();
+        card.setId(1L);
+        card.setBalance(new BigDecimal("100.00"));
+        account = new AccountDTO();
+        account.setId(2L);
+        account.setBalance(new BigDecimal("50.25"));
+        cardTransactions = List.of(new TransactionDTO(10L, new Date(), new BigDecimal("5.00"), "Coffee", "CHARGE"));
+        accountTransactions = List.of(new AccountTransactionDTO(20L, new Date(), new BigDecimal("7.00"), "Fee", "CHARGE"));
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        clientOverviewService.shutdown();
+    }
+
+    @Test
+    public void testGetOverview_AllPartsLoaded() {
+        // Arrange
+        when(creditCardService.getCardDTOsByOwnerId(OWNER_ID)).thenReturn(List.of(card));
+        when(accountService.getAccountDTOsByOwnerId(OWNER_ID)).thenReturn(List.of(account));
+        when(transactionService.getTransactionPageByCreditCardId(1L, 5, null))
+                .thenReturn(new TransactionPage(cardTransactions, null));
+        when(accountTransactionService.getLastTransactionDTOsByAccountId(2L, 5)).thenReturn(accountTransactions);
+
+        // Act
+        ClientOverview overview = clientOverviewService.getOverview(OWNER_ID, 5);
+
+        // Assert
+        assertTrue(overview.isComplete());
+        assertEquals(OWNER_ID, overview.getOwnerId());
+        assertEquals(List.of(card), overview.getCards());
+        assertEquals(List.of(account), overview.getAccounts());
+        assertEquals(new BigDecimal("100.00"), overview.getTotalCardBalance());
+        assertEquals(new BigDecimal("50.25"), overview.getTotalAccountBalance());
+        assertEquals(cardTransactions, overview.getCardTransactions().get(1L));
+        assertEquals(accountTransactions, overview.getAccountTransactions().get(2L));
+    }
+
+    @Test
+    public void testGetOverview_SlowPartIsLeftOutAtDeadline() {
+        // Arrange
+        when(creditCardService.getCardDTOsByOwnerId(OWNER_ID)).thenReturn(List.of(card));
+        when(accountService.getAccountDTOsByOwnerId(OWNER_ID)).thenAnswer(invocation -> {
+            release.await();
+            return List.of(account);
+        });
+        when(transactionService.getTransactionPageByCreditCardId(1L, 5, null))
+                .thenReturn(new TransactionPage(cardTransactions, null));
+
+        // Act
+        long start = System.nanoTime();
+        ClientOverview overview = clientOverviewService.getOverview(OWNER_ID, 5);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertFalse(overview.isComplete());
+        assertEquals(List.of("accounts"), overview.getUnavailable());
+        assertEquals(List.of(card), overview.getCards());
+        assertEquals(cardTransactions, overview.getCardTransactions().get(1L));
+        assertTrue(overview.getAccounts().isEmpty());
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 2000);
+        verifyNoInteractions(accountTransactionService);
+    }
+
+    @Test
+    public void testGetOverview_SlowPartIsCancelledAtDeadline() throws Exception {
+        // Arrange: the account query blocks until it is interrupted
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(creditCardService.getCardDTOsByOwnerId(OWNER_ID)).thenReturn(List.of());
+        when(accountService.getAccountDTOsByOwnerId(OWNER_ID)).thenAnswer(invocation -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of(account);
+        });
+
+        // Act
+        ClientOverview overview = clientOverviewService.getOverview(OWNER_ID, 5);
+
+        // Assert
+        assertEquals(List.of("accounts"), overview.getUnavailable());
+        assertTrue("the slow query was not interrupted", interrupted.await(5, TimeUnit.SECONDS));
+        verifyNoInteractions(accountTransactionService);
+    }
+
+    @Test
+    public void testGetOverview_FailedPartIsReported() {
+        // Arrange
+        when(creditCardService.getCardDTOsByOwnerId(OWNER_ID)).thenReturn(List.of(card));
+        when(accountService.getAccountDTOsByOwnerId(OWNER_ID)).thenReturn(List.of(account));
+        when(transactionService.getTransactionPageByCreditCardId(1L, 5, null))
+                .thenThrow(new IllegalStateException("connection reset"));
+        when(accountTransactionService.getLastTransactionDTOsByAccountId(2L, 5)).thenReturn(accountTransactions);
+
+        // Act
+        ClientOverview overview = clientOverviewService.getOverview(OWNER_ID, 5);
+
+        // Assert
+        assertEquals(List.of("card:1"), overview.getUnavailable());
+        assertEquals(List.of(card), overview.getCards());
+        assertFalse(overview.getCardTransactions().containsKey(1L));
+        assertEquals(accountTransactions, overview.getAccountTransactions().get(2L));
+    }
+
+    @Test
+    public void testGetOverview_CountIsClamped() {
+        // Arrange
+        when(creditCardService.getCardDTOsByOwnerId(OWNER_ID)).thenReturn(List.of(card));
+        when(accountService.getAccountDTOsByOwnerId(OWNER_ID)).thenReturn(List.of());
+        when(transactionService.getTransactionPageByCreditCardId(1L, TransactionService.MAX_PAGE_SIZE, null))
+                .thenReturn(new TransactionPage(cardTransactions, null));
+
+        // Act
+        ClientOverview overview = clientOverviewService.getOverview(OWNER_ID, 10_000);
+
+        // Assert
+        assertTrue(overview.isComplete());
+        assertEquals(BigDecimal.ZERO, overview.getTotalAccountBalance());
+        verify(transactionService).getTransactionPageByCreditCardId(1L, TransactionService.MAX_PAGE_SIZE, null);
+    }
+}
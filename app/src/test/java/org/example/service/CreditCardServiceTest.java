@@ -2,6 +2,7 @@ package org.example.service;
 
 import org.example.dto.CreditCardDTO;
 import org.example.model.CreditCard;
+import org.example.model.DailyRollup;
 import org.example.repository.CreditCardRepository;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,6 +25,24 @@ public class CreditCardServiceTest {
     @Mock
     private CreditCardRepository creditCardRepository;
 
+    @Mock
+    private CardAuthorizationLedger authorizationLedger;
+
+    @Mock
+    private OwnershipService ownershipService;
+
+    @Mock
+    private OwnerResponseCache ownerResponseCache;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private StatementService statementService;
+
     @InjectMocks
     private CreditCardService creditCardService;
 
@@ -104,6 +123,8 @@ public class CreditCardServiceTest {
         // Assert
         assertEquals(testCard, result);
         verify(creditCardRepository).save(testCard);
+        verify(resourceVersions).cardChanged(testId);
+        verify(ownerResponseCache).evictCards(testOwnerId);
     }
 
     @Test
@@ -119,6 +140,7 @@ public class CreditCardServiceTest {
         updatedCard.setLimit(new BigDecimal("10000.00"));
         updatedCard.setBalance(new BigDecimal("2000.00"));
 
+        when(ownershipService.getCardOwner(testId)).thenReturn(Optional.of("PREVIOUS456"));
         when(creditCardRepository.existsById(testId)).thenReturn(true);
         when(creditCardRepository.save(any(CreditCard.class))).thenAnswer(invocation -> {
             CreditCard savedCard = invocation.getArgument(0);
@@ -136,6 +158,11 @@ public class CreditCardServiceTest {
         assertEquals(new BigDecimal("10000.00"), result.get().getLimit());
         verify(creditCardRepository).existsById(testId);
         verify(creditCardRepository).save(any(CreditCard.class));
+        verify(authorizationLedger).refresh(testId);
+        verify(ownershipService).evictCard(testId);
+        verify(resourceVersions).cardChanged(testId);
+        verify(ownerResponseCache).evictCards("PREVIOUS456");
+        verify(ownerResponseCache).evictCards(testOwnerId);
     }
 
     @Test
@@ -151,11 +178,14 @@ public class CreditCardServiceTest {
         assertFalse(result.isPresent());
         verify(creditCardRepository).existsById(testId);
         verify(creditCardRepository, never()).save(any(CreditCard.class));
+        verifyNoInteractions(authorizationLedger, ownerResponseCache, resourceVersions, dailyRollupService,
+                statementService);
     }
 
     @Test
     public void testDeleteCard_WhenCardExists() {
         // Arrange
+        when(ownershipService.getCardOwner(testId)).thenReturn(Optional.of(testOwnerId));
         when(creditCardRepository.existsById(testId)).thenReturn(true);
         doNothing().when(creditCardRepository).deleteById(testId);
 
@@ -166,6 +196,12 @@ public class CreditCardServiceTest {
         assertTrue(result);
         verify(creditCardRepository).existsById(testId);
         verify(creditCardRepository).deleteById(testId);
+        verify(authorizationLedger).evict(testId);
+        verify(ownershipService).evictCard(testId);
+        verify(resourceVersions).cardChanged(testId);
+        verify(ownerResponseCache).evictCards(testOwnerId);
+        verify(dailyRollupService).entityDeleted(DailyRollup.CARD, testId);
+        verify(statementService).cardDeleted(testId);
     }
 
     @Test
@@ -180,6 +216,8 @@ public class CreditCardServiceTest {
         assertFalse(result);
         verify(creditCardRepository).existsById(testId);
         verify(creditCardRepository, never()).deleteById(any());
+        verifyNoInteractions(authorizationLedger, ownerResponseCache, resourceVersions, dailyRollupService,
+                statementService);
     }
 
     @Test
@@ -0,0 +1,141 @@
+package org.example.service;
+
+import org.example.dto.SpendingSummary;
+import org.example.model.DailyRollup;
+import org.example.model.Transaction;
+import org.example.repository.DailyRollupRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DailyRollupServiceTest {
+
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
+
+    private DailyRollupService dailyRollupService;
+
+    private final Long testCardId = 1L;
+    private final LocalDate start = LocalDate.of(2023, 1, 1);
+    private final LocalDate end = LocalDate.of(2023, 2, 28);
+
+    @Before
+    public void setUp() {
+        dailyRollupService = new DailyRollupService(dailyRollupRepository, true);
+    }
+
+    private DailyRollup rollup(String date, String type, long count, String amount) {
+        return new DailyRollup(testCardId, DailyRollup.CARD, LocalDate.parse(date), type, count, new BigDecimal(amount));
+    }
+
+    @Test
+    public void testTransactionAdded_AddsToTheRollupOfItsDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2023, 1, 5);
+        Date date = Date.from(day.atTime(23, 30).atZone(ZoneId.systemDefault()).toInstant());
+        Transaction transaction = new Transaction(date, new BigDecimal("150.00"), "Restaurant Dinner", "CHARGE", null);
+
+        // Act
+        dailyRollupService.transactionAdded(DailyRollup.CARD, testCardId, transaction);
+
+        // Assert
+        verify(dailyRollupRepository).addToRollup(testCardId, DailyRollup.CARD, day, "CHARGE", 1,
+                new BigDecimal("150.00"));
+    }
+
+    @Test
+    public void testTransactionRemoved_SubtractsFromTheRollupOfItsDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2023, 1, 5);
+        Date date = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Transaction transaction = new Transaction(date, new BigDecimal("150.00"), "Restaurant Dinner", "CHARGE", null);
+
+        // Act
+        dailyRollupService.transactionRemoved(DailyRollup.CARD, testCardId, transaction);
+
+        // Assert
+        verify(dailyRollupRepository).addToRollup(testCardId, DailyRollup.CARD, day, "CHARGE", -1,
+                new BigDecimal("-150.00"));
+    }
+
+    @Test
+    public void testGetSummary_ByDay() {
+        // Arrange
+        when(dailyRollupRepository.findByEntityAndDateRange(testCardId, DailyRollup.CARD, start, end)).thenReturn(List.of(
+                rollup("2023-01-05", "CHARGE", 2, "195.50"),
+                rollup("2023-01-05", "CREDIT", 1, "200.00"),
+                rollup("2023-01-10", "CHARGE", 1, "20.00")));
+
+        // Act
+        List<SpendingSummary> result = dailyRollupService.getSummary(DailyRollup.CARD, testCardId, start, end,
+                SpendingSummary.Period.DAY);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("2023-01-05", result.get(0).getPeriod());
+        assertEquals("CHARGE", result.get(0).getType());
+        assertEquals(2, result.get(0).getCount());
+        assertEquals(new BigDecimal("195.50"), result.get(0).getTotal());
+        assertEquals("CREDIT", result.get(1).getType());
+        assertEquals("2023-01-10", result.get(2).getPeriod());
+    }
+
+    @Test
+    public void testGetSummary_ByMonthSumsTheDaysAndSkipsEmptyRollups() {
+        // Arrange
+        when(dailyRollupRepository.findByEntityAndDateRange(testCardId, DailyRollup.CARD, start, end)).thenReturn(List.of(
+                rollup("2023-01-05", "CREDIT", 1, "200.00"),
+                rollup("2023-01-10", "CHARGE", 2, "195.50"),
+                rollup("2023-01-20", "CHARGE", 1, "4.50"),
+                rollup("2023-02-15", "CHARGE", 0, "0.00")));
+
+        // Act
+        List<SpendingSummary> result = dailyRollupService.getSummary(DailyRollup.CARD, testCardId, start, end,
+                SpendingSummary.Period.MONTH);
+
+        // Assert: ordered by period and type, the emptied February rollup is left out
+        assertEquals(2, result.size());
+        assertEquals("2023-01", result.get(0).getPeriod());
+        assertEquals("CHARGE", result.get(0).getType());
+        assertEquals(3, result.get(0).getCount());
+        assertEquals(new BigDecimal("200.00"), result.get(0).getTotal());
+        assertEquals("CREDIT", result.get(1).getType());
+        assertEquals(new BigDecimal("200.00"), result.get(1).getTotal());
+    }
+
+    @Test
+    public void testBackfill_RebuildsBothEntityTypes() {
+        // Act
+        dailyRollupService.backfillOnStartup();
+
+        // Assert
+        verify(dailyRollupRepository).deleteByEntityType(DailyRollup.CARD);
+        verify(dailyRollupRepository).backfillCardRollups();
+        verify(dailyRollupRepository).deleteByEntityType(DailyRollup.ACCOUNT);
+        verify(dailyRollupRepository).backfillAccountRollups();
+    }
+
+    @Test
+    public void testBackfillOnStartup_Disabled() {
+        // Arrange
+        dailyRollupService = new DailyRollupService(dailyRollupRepository, false);
+
+        // Act
+        dailyRollupService.backfillOnStartup();
+
+        // Assert
+        verifyNoInteractions(dailyRollupRepository);
+    }
+}
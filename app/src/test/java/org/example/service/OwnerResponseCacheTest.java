@@ -0,0 +1,190 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.CacheRegionStats;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OwnerResponseCacheTest {
+
+    private static final String OWNER_ID = "user123";
+
+    @Mock
+    private OwnershipService ownershipService;
+
+    // Real counters, so a write during a load is visible to the cache
+    @Spy
+    private ResourceVersions resourceVersions = new ResourceVersions(100);
+
+    private OwnerResponseCache ownerResponseCache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        ownerResponseCache = new OwnerResponseCache(new ObjectMapper(), ownershipService, resourceVersions,
+                true, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<List<String>> loader(List<String> rows) {
+        return () -> {
+            loads.incrementAndGet();
+            return rows;
+        };
+    }
+
+    private static String json(Optional<byte[]> body) {
+        return new String(body.orElseThrow(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testGetCardList_IsSerializedOnce() {
+        // Act
+        Optional<byte[]> first = ownerResponseCache.getCardList(OWNER_ID, loader(List.of("a", "b")));
+        Optional<byte[]> second = ownerResponseCache.getCardList(OWNER_ID, loader(List.of("a", "b")));
+
+        // Assert
+        assertEquals("[\"a\",\"b\"]", json(first));
+        assertSame(first.get(), second.get());
+        assertEquals(1, loads.get());
+        CacheRegionStats stats = ownerResponseCache.getStats().get(0);
+        assertEquals(OwnerResponseCache.CARD_LISTS, stats.getRegion());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getElementCount());
+    }
+
+    @Test
+    public void testGetCardList_EmptyListIsCachedAsNotFound() {
+        // Act
+        Optional<byte[]> first = ownerResponseCache.getCardList(OWNER_ID, loader(List.of()));
+        Optional<byte[]> second = ownerResponseCache.getCardList(OWNER_ID, loader(List.of()));
+
+        // Assert
+        assertFalse(first.isPresent());
+        assertFalse(second.isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testEvictCards_ReloadsOnlyCardLists() {
+        // Arrange
+        ownerResponseCache.getCardList(OWNER_ID, loader(List.of("old")));
+        ownerResponseCache.getAccountList(OWNER_ID, loader(List.of("account")));
+
+        // Act
+        ownerResponseCache.evictCards(OWNER_ID);
+        Optional<byte[]> cards = ownerResponseCache.getCardList(OWNER_ID, loader(List.of("new")));
+        ownerResponseCache.getAccountList(OWNER_ID, loader(List.of("account")));
+
+        // Assert
+        assertEquals("[\"new\"]", json(cards));
+        assertEquals(3, loads.get());
+        assertEquals(1, ownerResponseCache.getStats().get(1).getHitCount());
+        verify(resourceVersions).ownerCardsChanged(OWNER_ID);
+    }
+
+    @Test
+    public void testEvictAccounts_BumpsOwnerListVersion() {
+        // Arrange
+        ownerResponseCache.getAccountList(OWNER_ID, loader(List.of("old")));
+
+        // Act
+        ownerResponseCache.evictAccounts(OWNER_ID);
+        Optional<byte[]> accounts = ownerResponseCache.getAccountList(OWNER_ID, loader(List.of("new")));
+
+        // Assert
+        assertEquals("[\"new\"]", json(accounts));
+        verify(resourceVersions).ownerAccountsChanged(OWNER_ID);
+        verify(resourceVersions, never()).ownerCardsChanged(any());
+    }
+
+    @Test
+    public void testOnCardBalancesWritten_EvictsCardOwners() {
+        // Arrange
+        when(ownershipService.getCardOwner(1L)).thenReturn(Optional.of(OWNER_ID));
+        when(ownershipService.getCardOwner(2L)).thenReturn(Optional.empty());
+        ownerResponseCache.getCardList(OWNER_ID, loader(List.of("old")));
+
+        // Act
+        ownerResponseCache.onCardBalancesWritten(new CardBalancesWrittenEvent(List.of(1L, 2L)));
+        Optional<byte[]> cards = ownerResponseCache.getCardList(OWNER_ID, loader(List.of("new")));
+
+        // Assert
+        assertEquals("[\"new\"]", json(cards));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testWriteDuringLoadIsNotCached() throws Exception {
+        // Arrange: the owner's cards change on another thread while the stale list is being loaded
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Supplier<List<String>> blockedLoader = () -> {
+            loading.countDown();
+            try {
+                assertTrue(written.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return List.of("stale");
+        };
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Future<Optional<byte[]>> first = reader.submit(() -> ownerResponseCache.getCardList(OWNER_ID, blockedLoader));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            ownerResponseCache.evictCards(OWNER_ID);
+            written.countDown();
+            Optional<byte[]> stale = first.get(10, TimeUnit.SECONDS);
+            long putsAfterStaleLoad = ownerResponseCache.getStats().get(0).getPutCount();
+            Optional<byte[]> second = ownerResponseCache.getCardList(OWNER_ID, loader(List.of("fresh")));
+
+            // Assert
+            assertEquals("[\"stale\"]", json(stale));
+            assertEquals("[\"fresh\"]", json(second));
+            assertEquals(0, putsAfterStaleLoad);
+            assertEquals(1, loads.get());
+            assertEquals(1, ownerResponseCache.getStats().get(0).getPutCount());
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDisabledCacheLoadsEveryTime() {
+        // Arrange
+        ownerResponseCache = new OwnerResponseCache(new ObjectMapper(), ownershipService, resourceVersions,
+                false, 100, Duration.ofMinutes(10));
+
+        // Act
+        ownerResponseCache.getCardList(OWNER_ID, loader(List.of("a")));
+        Optional<byte[]> second = ownerResponseCache.getCardList(OWNER_ID, loader(List.of("a")));
+
+        // Assert
+        assertEquals("[\"a\"]", json(second));
+        assertEquals(2, loads.get());
+        assertEquals(0, ownerResponseCache.getStats().get(0).getMissCount());
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.repository.AccountRepository;
+import org.example.repository.CreditCardRepository;
+import org.example.repository.TransactionRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OwnershipServiceTest {
+
+    @Mock
+    private CreditCardRepository creditCardRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private OwnershipService ownershipService;
+
+    @Test
+    public void testGetCardOwner_IsLoadedOnce() {
+        // Arrange
+        when(creditCardRepository.findOwnerIdById(1L)).thenReturn(Optional.of("user123"));
+
+        // Act
+        Optional<String> first = ownershipService.getCardOwner(1L);
+        Optional<String> second = ownershipService.getCardOwner(1L);
+
+        // Assert
+        assertEquals(Optional.of("user123"), first);
+        assertEquals(Optional.of("user123"), second);
+        verify(creditCardRepository, times(1)).findOwnerIdById(1L);
+    }
+
+    @Test
+    public void testGetCardOwner_UnknownCardIsNotCached() {
+        // Arrange: the card is created after the first lookup
+        when(creditCardRepository.findOwnerIdById(5L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of("user123"));
+
+        // Act
+        Optional<String> beforeCreation = ownershipService.getCardOwner(5L);
+        Optional<String> afterCreation = ownershipService.getCardOwner(5L);
+
+        // Assert
+        assertFalse(beforeCreation.isPresent());
+        assertEquals(Optional.of("user123"), afterCreation);
+    }
+
+    @Test
+    public void testEvictCard_ReloadsOwner() {
+        // Arrange
+        when(creditCardRepository.findOwnerIdById(1L))
+                .thenReturn(Optional.of("user123"))
+                .thenReturn(Optional.of("user456"));
+        ownershipService.getCardOwner(1L);
+
+        // Act
+        ownershipService.evictCard(1L);
+        Optional<String> result = ownershipService.getCardOwner(1L);
+
+        // Assert
+        assertEquals(Optional.of("user456"), result);
+        verify(creditCardRepository, times(2)).findOwnerIdById(1L);
+    }
+
+    @Test
+    public void testGetAccountOwner_IsLoadedOnceUntilEvicted() {
+        // Arrange
+        when(accountRepository.findOwnerIdById(2L)).thenReturn(Optional.of("user123"));
+
+        // Act
+        ownershipService.getAccountOwner(2L);
+        Optional<String> cached = ownershipService.getAccountOwner(2L);
+        ownershipService.evictAccount(2L);
+        ownershipService.getAccountOwner(2L);
+
+        // Assert
+        assertEquals(Optional.of("user123"), cached);
+        verify(accountRepository, times(2)).findOwnerIdById(2L);
+        verifyNoInteractions(creditCardRepository);
+    }
+
+    @Test
+    public void testGetTransactionOwner() {
+        // Arrange
+        when(transactionRepository.findOwnerIdById(10L)).thenReturn(Optional.of("user123"));
+        when(transactionRepository.findOwnerIdById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(Optional.of("user123"), ownershipService.getTransactionOwner(10L));
+        assertFalse(ownershipService.getTransactionOwner(999L).isPresent());
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResourceVersionsTest {
+
+    private final ResourceVersions resourceVersions = new ResourceVersions(100);
+
+    @Test
+    public void testTagIsStableUntilChanged() {
+        // Act
+        String first = resourceVersions.cardTag(1L);
+        String second = resourceVersions.cardTag(1L);
+        resourceVersions.cardChanged(1L);
+        String changed = resourceVersions.cardTag(1L);
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, changed);
+        assertTrue(changed.startsWith("\"") && changed.endsWith("\""));
+    }
+
+    @Test
+    public void testChangeOnlyAffectsItsResource() {
+        // Arrange
+        String card = resourceVersions.cardTag(1L);
+        String otherCard = resourceVersions.cardTag(2L);
+        String account = resourceVersions.accountTag(1L);
+        String ownerCards = resourceVersions.ownerCardsTag("user123");
+        String ownerAccounts = resourceVersions.ownerAccountsTag("user123");
+
+        // Act
+        resourceVersions.cardChanged(1L);
+
+        // Assert
+        assertNotEquals(card, resourceVersions.cardTag(1L));
+        assertEquals(otherCard, resourceVersions.cardTag(2L));
+        assertEquals(account, resourceVersions.accountTag(1L));
+        assertEquals(ownerCards, resourceVersions.ownerCardsTag("user123"));
+        assertEquals(ownerAccounts, resourceVersions.ownerAccountsTag("user123"));
+    }
+
+    @Test
+    public void testEvictedCounterNeverReissuesAStaleTag() {
+        // Arrange: room for a single counter
+        ResourceVersions small = new ResourceVersions(1);
+        String stale = small.accountTag(1L);
+        small.accountChanged(1L);
+
+        // Act: touching other resources pushes the account's counter out
+        for (long id = 2; id < 50; id++) {
+            small.accountTag(id);
+        }
+        String reloaded = small.accountTag(1L);
+
+        // Assert
+        assertNotEquals(stale, reloaded);
+    }
+
+    @Test
+    public void testOnCardBalancesWritten_ChangesEveryCard() {
+        // Arrange
+        String first = resourceVersions.cardTag(1L);
+        String second = resourceVersions.cardTag(2L);
+
+        // Act
+        resourceVersions.onCardBalancesWritten(new CardBalancesWrittenEvent(List.of(1L, 2L)));
+
+        // Assert
+        assertNotEquals(first, resourceVersions.cardTag(1L));
+        assertNotEquals(second, resourceVersions.cardTag(2L));
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.service;
+
+import org.example.model.StatementRun;
+import org.example.repository.CreditCardRepository;
+import org.example.repository.StatementRunRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementClosingJobTest {
+
+    @Mock
+    private StatementService statementService;
+
+    @Mock
+    private StatementRunRepository runRepository;
+
+    @Mock
+    private CreditCardRepository creditCardRepository;
+
+    private StatementClosingJob statementClosingJob;
+
+    private final YearMonth period = YearMonth.of(2023, 2);
+    private final LocalDate periodStart = LocalDate.of(2023, 2, 1);
+
+    @Before
+    public void setUp() {
+        statementClosingJob = new StatementClosingJob(statementService, runRepository, creditCardRepository, 2, 2);
+        lenient().when(runRepository.save(any(StatementRun.class))).thenAnswer(returnsFirstArg());
+    }
+
+    @After
+    public void tearDown() {
+        statementClosingJob.shutdown();
+    }
+
+    @Test
+    public void testClosePeriod_ClosesEveryChunk() {
+        // Arrange
+        when(runRepository.findByPeriodStart(periodStart)).thenReturn(Optional.empty());
+        when(creditCardRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(creditCardRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(creditCardRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(statementService.closeStatement(any(), eq(period))).thenReturn(true);
+        when(statementService.closeStatement(2L, period)).thenReturn(false);
+
+        // Act
+        StatementRun run = statementClosingJob.closePeriod(period);
+
+        // Assert
+        assertEquals(StatementRun.COMPLETED, run.getStatus());
+        assertEquals(periodStart, run.getPeriodStart());
+        assertEquals(3L, run.getLastCardId());
+        assertEquals(2, run.getCardsClosed());
+        assertEquals(1, run.getCardsSkipped());
+        assertNotNull(run.getFinishedAt());
+        verify(statementService, times(3)).closeStatement(any(), eq(period));
+    }
+
+    @Test
+    public void testClosePeriod_ResumesAfterTheLastChunk() {
+        // Arrange
+        StatementRun interrupted = new StatementRun(periodStart, LocalDateTime.now());
+        interrupted.setLastCardId(2L);
+        interrupted.setCardsClosed(2);
+        when(runRepository.findByPeriodStart(periodStart)).thenReturn(Optional.of(interrupted));
+        when(creditCardRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(creditCardRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(statementService.closeStatement(3L, period)).thenReturn(true);
+
+        // Act
+        StatementRun run = statementClosingJob.closePeriod(period);
+
+        // Assert
+        assertEquals(StatementRun.COMPLETED, run.getStatus());
+        assertEquals(3, run.getCardsClosed());
+        verify(creditCardRepository, never()).findIdsAfter(eq(0L), any(Pageable.class));
+        verify(statementService, times(1)).closeStatement(any(), any());
+    }
+
+    @Test
+    public void testClosePeriod_FailedCardStopsTheRun() {
+        // Arrange
+        when(runRepository.findByPeriodStart(periodStart)).thenReturn(Optional.empty());
+        when(creditCardRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(statementService.closeStatement(1L, period)).thenReturn(true);
+        when(statementService.closeStatement(2L, period)).thenThrow(new IllegalStateException("Database down"));
+
+        // Act
+        StatementRun run = statementClosingJob.closePeriod(period);
+
+        // Assert
+        assertEquals(StatementRun.FAILED, run.getStatus());
+        assertEquals(0L, run.getLastCardId());
+        assertEquals(0, run.getCardsClosed());
+        verify(creditCardRepository, times(1)).findIdsAfter(any(), any(Pageable.class));
+    }
+
+    @Test
+    public void testClosePeriod_CompletedRunIsNotRepeated() {
+        // Arrange
+        StatementRun completed = new StatementRun(periodStart, LocalDateTime.now());
+        completed.setStatus(StatementRun.COMPLETED);
+        when(runRepository.findByPeriodStart(periodStart)).thenReturn(Optional.of(completed));
+
+        // Act
+        StatementRun run = statementClosingJob.closePeriod(period);
+
+        // Assert
+        assertSame(completed, run);
+        verify(runRepository, never()).save(any());
+        verifyNoInteractions(creditCardRepository, statementService);
+    }
+
+    @Test
+    public void testResumeInterruptedRuns() throws Exception {
+        // Arrange
+        StatementRun interrupted = new StatementRun(periodStart, LocalDateTime.now());
+        interrupted.setLastCardId(5L);
+        when(runRepository.findByStatus(StatementRun.RUNNING)).thenReturn(List.of(interrupted));
+        when(runRepository.findByPeriodStart(periodStart)).thenReturn(Optional.of(interrupted));
+        when(creditCardRepository.findIdsAfter(eq(5L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        statementClosingJob.resumeInterruptedRuns();
+        StatementRun run = statementClosingJob.startClosing(period).get();
+
+        // Assert
+        assertEquals(StatementRun.COMPLETED, run.getStatus());
+        // The resumed run finished first, so the second start found it completed
+        verify(creditCardRepository, times(1)).findIdsAfter(eq(5L), any(Pageable.class));
+    }
+}
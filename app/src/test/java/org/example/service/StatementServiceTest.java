@@ -0,0 +1,147 @@
+package org.example.service;
+
+import org.example.dto.StatementDTO;
+import org.example.model.DailyRollup;
+import org.example.model.Statement;
+import org.example.repository.DailyRollupRepository;
+import org.example.repository.StatementRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementServiceTest {
+
+    @Mock
+    private StatementRepository statementRepository;
+
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
+
+    @InjectMocks
+    private StatementService statementService;
+
+    private final Long testCardId = 1L;
+    private final YearMonth february = YearMonth.of(2023, 2);
+    private final LocalDate februaryStart = LocalDate.of(2023, 2, 1);
+    private final LocalDate februaryEnd = LocalDate.of(2023, 2, 28);
+
+    private DailyRollup rollup(String date, String type, long count, String amount) {
+        return new DailyRollup(testCardId, DailyRollup.CARD, LocalDate.parse(date), type, count, new BigDecimal(amount));
+    }
+
+    private Statement statement(YearMonth period, String closingBalance) {
+        Statement statement = new Statement(testCardId, period.atDay(1), period.atEndOfMonth(), BigDecimal.ZERO);
+        statement.setClosingBalance(new BigDecimal(closingBalance));
+        return statement;
+    }
+
+    private Statement savedStatement() {
+        ArgumentCaptor<Statement> saved = ArgumentCaptor.forClass(Statement.class);
+        verify(statementRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    @Test
+    public void testCloseStatement_OpensWithThePreviousClosingBalance() {
+        // Arrange
+        when(statementRepository.findFirstByCreditCardIdAndPeriodStartLessThanOrderByPeriodStartDesc(testCardId, februaryStart))
+                .thenReturn(Optional.of(statement(YearMonth.of(2023, 1), "100.00")));
+        when(dailyRollupRepository.findByEntityAndDateRange(testCardId, DailyRollup.CARD, februaryStart, februaryEnd))
+                .thenReturn(List.of(
+                        rollup("2023-02-03", "CHARGE", 2, "60.00"),
+                        rollup("2023-02-10", "CREDIT", 1, "100.00"),
+                        rollup("2023-02-15", "CHARGE", 1, "20.00")));
+
+        // Act
+        boolean closed = statementService.closeStatement(testCardId, february);
+
+        // Assert
+        assertTrue(closed);
+        Statement statement = savedStatement();
+        assertEquals(februaryStart, statement.getPeriodStart());
+        assertEquals(februaryEnd, statement.getPeriodEnd());
+        assertEquals(new BigDecimal("100.00"), statement.getOpeningBalance());
+        assertEquals(3, statement.getChargeCount());
+        assertEquals(new BigDecimal("80.00"), statement.getTotalCharges());
+        assertEquals(1, statement.getCreditCount());
+        assertEquals(new BigDecimal("100.00"), statement.getTotalCredits());
+        assertEquals(new BigDecimal("80.00"), statement.getClosingBalance());
+        assertNotNull(statement.getClosedAt());
+        // Only the month itself is read
+        verify(dailyRollupRepository, times(1)).findByEntityAndDateRange(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testCloseStatement_FirstStatementCarriesEarlierActivity() {
+        // Arrange
+        when(statementRepository.findFirstByCreditCardIdAndPeriodStartLessThanOrderByPeriodStartDesc(testCardId, februaryStart))
+                .thenReturn(Optional.empty());
+        when(dailyRollupRepository.findByEntityAndDateRange(testCardId, DailyRollup.CARD, StatementService.FIRST_DAY,
+                LocalDate.of(2023, 1, 31)))
+                .thenReturn(List.of(rollup("2023-01-05", "CHARGE", 1, "150.00"), rollup("2023-01-10", "CREDIT", 1, "50.00")));
+        when(dailyRollupRepository.findByEntityAndDateRange(testCardId, DailyRollup.CARD, februaryStart, februaryEnd))
+                .thenReturn(List.of(rollup("2023-02-15", "CHARGE", 1, "45.50")));
+
+        // Act
+        statementService.closeStatement(testCardId, february);
+
+        // Assert
+        Statement statement = savedStatement();
+        assertEquals(new BigDecimal("100.00"), statement.getOpeningBalance());
+        assertEquals(1, statement.getChargeCount());
+        assertEquals(new BigDecimal("145.50"), statement.getClosingBalance());
+    }
+
+    @Test
+    public void testCloseStatement_AlreadyClosedIsSkipped() {
+        // Arrange
+        when(statementRepository.existsByCreditCardIdAndPeriodStart(testCardId, februaryStart)).thenReturn(true);
+
+        // Act
+        boolean closed = statementService.closeStatement(testCardId, february);
+
+        // Assert
+        assertFalse(closed);
+        verify(statementRepository, never()).save(any());
+        verifyNoInteractions(dailyRollupRepository);
+    }
+
+    @Test
+    public void testGetStatement() {
+        // Arrange
+        when(statementRepository.findByCreditCardIdAndPeriodStart(testCardId, februaryStart))
+                .thenReturn(Optional.of(statement(february, "80.00")));
+
+        // Act
+        Optional<StatementDTO> result = statementService.getStatement(testCardId, february);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(february, result.get().getPeriod());
+        assertEquals(new BigDecimal("80.00"), result.get().getClosingBalance());
+    }
+
+    @Test
+    public void testCardDeleted_DeletesTheCardsStatements() {
+        // Act
+        statementService.cardDeleted(testCardId);
+
+        // Assert
+        verify(statementRepository).deleteByCreditCardId(testCardId);
+        verifyNoInteractions(dailyRollupRepository);
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SyntheticDataGeneratorTest {
+
+    private static final int BATCH_SIZE = 30;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    private SyntheticDataGenerator generator;
+
+    // Rows written per statement, copied because the generator reuses its batch lists
+    private final Map<String, List<Object[]>> written = new ConcurrentHashMap<>();
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        generator = new SyntheticDataGenerator(jdbcTemplate, dailyRollupService,
+                new SyntheticDataGenerator.Settings(5, 1, 1, 100, 50, 12, 1.0, 2, BATCH_SIZE, 42));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(MAX(id), 0)"), eq(Long.class))).thenReturn(0L);
+        when(jdbcTemplate.queryForList(eq("SELECT id FROM credit_cards WHERE id > ? ORDER BY id"), eq(Long.class), eq(0L)))
+                .thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(jdbcTemplate.queryForList(eq("SELECT id FROM accounts WHERE id > ? ORDER BY id"), eq(Long.class), eq(0L)))
+                .thenReturn(List.of(11L, 12L, 13L, 14L, 15L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batchSizes.add(rows.size());
+            written.computeIfAbsent(invocation.getArgument(0), sql -> Collections.synchronizedList(new ArrayList<>()))
+                    .addAll(rows);
+            return new int[rows.size()];
+        });
+    }
+
+    @Test
+    public void testGenerate_WritesEveryRowInBatches() {
+        // Act
+        SyntheticDataGenerator.Result result = generator.generate();
+
+        // Assert
+        assertEquals(5, result.cards());
+        assertEquals(5, result.accounts());
+        assertEquals(100, result.cardTransactions());
+        assertEquals(50, result.accountTransactions());
+        assertEquals(5, written.get(SyntheticDataGenerator.INSERT_CARD_SQL).size());
+        assertEquals(5, written.get(SyntheticDataGenerator.INSERT_ACCOUNT_SQL).size());
+        assertEquals(100, written.get(TransactionImportService.INSERT_SQL).size());
+        assertEquals(50, written.get(SyntheticDataGenerator.INSERT_ACCOUNT_TRANSACTION_SQL).size());
+        assertTrue(batchSizes.stream().allMatch(size -> size > 0 && size <= BATCH_SIZE));
+        verify(dailyRollupService).backfill();
+    }
+
+    @Test
+    public void testGenerate_CardTransactionsAreValidRows() {
+        // Act
+        generator.generate();
+
+        // Assert
+        for (Object[] row : written.get(TransactionImportService.INSERT_SQL)) {
+            assertTrue(List.of(1L, 2L, 3L, 4L, 5L).contains(row[0]));
+            assertTrue(((BigDecimal) row[2]).signum() > 0);
+            assertEquals(2, ((BigDecimal) row[2]).scale());
+            assertTrue(List.of("CHARGE", "CREDIT").contains(row[4]));
+        }
+    }
+
+    @Test
+    public void testGenerate_AccountRunningBalancesFollowTheRows() {
+        // Act
+        generator.generate();
+
+        // Assert: each account's rows are written in date order with the balance after each one
+        Map<Object, BigDecimal> balances = new ConcurrentHashMap<>();
+        Map<Object, Long> lastDates = new ConcurrentHashMap<>();
+        for (Object[] row : written.get(SyntheticDataGenerator.INSERT_ACCOUNT_TRANSACTION_SQL)) {
+            long date = ((java.sql.Timestamp) row[1]).getTime();
+            assertTrue(date >= lastDates.getOrDefault(row[0], Long.MIN_VALUE));
+            lastDates.put(row[0], date);
+            BigDecimal amount = (BigDecimal) row[2];
+            BigDecimal balance = balances.getOrDefault(row[0], BigDecimal.ZERO)
+                    .add("CREDIT".equals(row[4]) ? amount : amount.negate());
+            assertEquals(balance, row[5]);
+            balances.put(row[0], balance);
+        }
+    }
+
+    @Test
+    public void testTransactionCounts_AreSkewedAndSumToTheTotal() {
+        // Act
+        long[] counts = SyntheticDataGenerator.transactionCounts(1000, 100_000, 1.0, new SplittableRandom(1));
+
+        // Assert
+        assertEquals(100_000, Arrays.stream(counts).sum());
+        long[] sorted = counts.clone();
+        Arrays.sort(sorted);
+        assertTrue("hottest card should dwarf the median", sorted[sorted.length - 1] > 50 * sorted[sorted.length / 2]);
+    }
+
+    @Test
+    public void testTransactionCounts_WithoutSkewAreEven() {
+        // Act
+        long[] counts = SyntheticDataGenerator.transactionCounts(10, 1000, 0, new SplittableRandom(1));
+
+        // Assert
+        assertTrue(Arrays.stream(counts).allMatch(count -> count == 100));
+    }
+
+    @Test
+    public void testTransactionDates_AreSortedWithinTheRange() {
+        // Arrange
+        long end = System.currentTimeMillis();
+        long start = end - Duration.ofDays(365).toMillis();
+
+        // Act
+        long[] dates = SyntheticDataGenerator.transactionDates(new SplittableRandom(1), 5000, start, end);
+
+        // Assert
+        assertEquals(5000, dates.length);
+        for (int i = 0; i < dates.length; i++) {
+            assertTrue(dates[i] >= start && dates[i] <= end);
+            assertTrue(i == 0 || dates[i - 1] <= dates[i]);
+        }
+        // Activity grows towards the present
+        long middle = start + (end - start) / 2;
+        assertTrue(Arrays.stream(dates).filter(date -> date > middle).count() > 2500);
+    }
+
+    @Test
+    public void testRowsOfOwner() {
+        SplittableRandom random = new SplittableRandom(1);
+
+        assertEquals(1, SyntheticDataGenerator.rowsOfOwner(random, 1));
+        for (int i = 0; i < 1000; i++) {
+            long rows = SyntheticDataGenerator.rowsOfOwner(random, 1.5);
+            assertTrue(rows >= 1 && rows <= 10);
+        }
+    }
+}
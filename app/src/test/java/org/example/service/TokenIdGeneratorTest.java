@@ -0,0 +1,65 @@
+package org.example.service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class TokenIdGeneratorTest {
+
+    @Test
+    public void testForName() {
+        assertNotNull(TokenIdGenerator.forName("shared"));
+        assertNotNull(TokenIdGenerator.forName(" striped "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForName_UnknownName() {
+        TokenIdGenerator.forName("thread-local");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStriped_StripesMustBeAPowerOfTwo() {
+        TokenIdGenerator.striped(6);
+    }
+
+    @Test
+    public void testStriped_IdsAreUniqueAcrossThreads() throws Exception {
+        // Arrange
+        TokenIdGenerator generator = TokenIdGenerator.striped(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Set<String>>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    Set<String> ids = new HashSet<>();
+                    for (int i = 0; i < 1000; i++) {
+                        byte[] id = new byte[9];
+                        generator.nextBytes(id);
+                        ids.add(Arrays.toString(id));
+                    }
+                    return ids;
+                }));
+            }
+            Set<String> all = new HashSet<>();
+            for (Future<Set<String>> result : results) {
+                all.addAll(result.get());
+            }
+
+            // Assert
+            assertEquals(8000, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.service;
+
+import org.example.dto.TransactionImportResult;
+import org.example.dto.TransactionImportRow;
+import org.example.model.DailyRollup;
+import org.example.repository.CreditCardRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionImportServiceTest {
+
+    private static final String OWNER_ID = "15.413.217-1";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CreditCardRepository creditCardRepository;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private CardAuthorizationLedger authorizationLedger;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private OwnerResponseCache ownerResponseCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TransactionImportService transactionImportService;
+
+    private TransactionImportRow row(Long cardId, String amount, String type) {
+        return new TransactionImportRow(cardId, new Date(), amount == null ? null : new BigDecimal(amount),
+                "Purchase", type);
+    }
+
+    private void approveAll() {
+        when(authorizationLedger.authorize(any(), any(), any())).thenReturn(CardAuthorizationLedger.Decision.APPROVED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<TransactionImportRow>> capturedBatches() {
+        ArgumentCaptor<Collection<TransactionImportRow>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(TransactionImportService.INSERT_SQL), batches.capture(),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        List<List<TransactionImportRow>> result = new ArrayList<>();
+        batches.getAllValues().forEach(batch -> result.add(new ArrayList<>(batch)));
+        return result;
+    }
+
+    @Test
+    public void testImportTransactions_AcceptsAndRejectsPerRow() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L, 2L));
+        approveAll();
+        List<TransactionImportRow> rows = List.of(
+                row(1L, "10.00", "CHARGE"),
+                row(2L, "-5.00", "CHARGE"),
+                row(99L, "20.00", "CHARGE"),
+                row(2L, "30.00", "REFUND"),
+                row(2L, "40.00", "CREDIT"));
+
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID, rows.iterator());
+
+        // Assert
+        assertEquals(2, result.getAccepted());
+        assertEquals(3, result.getRejected());
+        assertEquals(5, result.getRows().size());
+        assertTrue(result.getRows().get(0).isAccepted());
+        assertEquals("amount must be greater than zero", result.getRows().get(1).getReason());
+        assertEquals("Credit card not found: 99", result.getRows().get(2).getReason());
+        assertEquals("type must be CHARGE or CREDIT", result.getRows().get(3).getReason());
+        assertTrue(result.getRows().get(4).isAccepted());
+        assertEquals(List.of(List.of(rows.get(0), rows.get(4))), capturedBatches());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportTransactions_SplitsIntoBatchesAndResolvesCardsOnce() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L));
+        approveAll();
+        List<TransactionImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < TransactionImportService.BATCH_SIZE * 2 + 1; i++) {
+            rows.add(row(1L, "10.00", "CHARGE"));
+        }
+
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID, rows.iterator());
+
+        // Assert
+        assertEquals(rows.size(), result.getAccepted());
+        assertEquals(0, result.getRejected());
+        List<List<TransactionImportRow>> batches = capturedBatches();
+        assertEquals(3, batches.size());
+        assertEquals(TransactionImportService.BATCH_SIZE, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+        // The card is looked up once, not per row or per batch
+        ArgumentCaptor<Collection<Long>> lookups = ArgumentCaptor.forClass(Collection.class);
+        verify(creditCardRepository, times(1)).findOwnedIds(eq(OWNER_ID), lookups.capture());
+        assertEquals(Set.of(1L), Set.copyOf(lookups.getValue()));
+    }
+
+    @Test
+    public void testImportTransactions_FailedBatchRejectsItsRows() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L));
+        approveAll();
+        when(jdbcTemplate.batchUpdate(eq(TransactionImportService.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID,
+                List.of(row(1L, "10.00", "CHARGE"), row(1L, "12.00", "CHARGE")).iterator());
+
+        // Assert
+        assertEquals(0, result.getAccepted());
+        assertEquals(2, result.getRejected());
+        assertTrue(result.getRows().get(1).getReason().startsWith("Batch insert failed"));
+        verify(transactionManager).rollback(any());
+        verify(dailyRollupService, never()).add(any(), any(), any(), any(), anyLong(), any());
+        // The authorizations of the rolled back rows are given back, and nothing was changed
+        verify(authorizationLedger).reverse(1L, "CHARGE", new BigDecimal("10.00"));
+        verify(authorizationLedger).reverse(1L, "CHARGE", new BigDecimal("12.00"));
+        verifyNoInteractions(resourceVersions, ownerResponseCache);
+    }
+
+    @Test
+    public void testImportTransactions_DeclinedRowIsRejected() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L));
+        when(authorizationLedger.authorize(1L, "CHARGE", new BigDecimal("10.00")))
+                .thenReturn(CardAuthorizationLedger.Decision.APPROVED);
+        when(authorizationLedger.authorize(1L, "CHARGE", new BigDecimal("9000.00")))
+                .thenReturn(CardAuthorizationLedger.Decision.DECLINED_INSUFFICIENT_CREDIT);
+        List<TransactionImportRow> rows = List.of(row(1L, "10.00", "CHARGE"), row(1L, "9000.00", "CHARGE"));
+
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID, rows.iterator());
+
+        // Assert
+        assertEquals(1, result.getAccepted());
+        assertEquals("Declined: DECLINED_INSUFFICIENT_CREDIT", result.getRows().get(1).getReason());
+        assertEquals(List.of(List.of(rows.get(0))), capturedBatches());
+        verify(authorizationLedger, never()).reverse(any(), any(), any());
+    }
+
+    @Test
+    public void testImportTransactions_BumpsCardVersionsAfterCommit() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L, 2L));
+        approveAll();
+        List<TransactionImportRow> rows = List.of(
+                row(1L, "10.00", "CHARGE"),
+                row(2L, "5.00", "CREDIT"),
+                row(1L, "12.50", "CHARGE"));
+
+        // Act
+        transactionImportService.importTransactions(OWNER_ID, rows.iterator());
+
+        // Assert
+        InOrder inOrder = inOrder(transactionManager, resourceVersions, ownerResponseCache);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(resourceVersions).cardChanged(1L);
+        inOrder.verify(resourceVersions).cardChanged(2L);
+        inOrder.verify(ownerResponseCache).evictCards(OWNER_ID);
+        verifyNoMoreInteractions(resourceVersions, ownerResponseCache);
+    }
+
+    @Test
+    public void testImportTransactions_RollsUpEachBatchPerCardDayAndType() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L, 2L));
+        approveAll();
+        List<TransactionImportRow> rows = List.of(
+                row(1L, "10.00", "CHARGE"),
+                row(2L, "5.00", "CREDIT"),
+                row(1L, "12.50", "CHARGE"),
+                row(1L, "3.00", "CREDIT"));
+        LocalDate day = DailyRollupService.dayOf(rows.get(0).getTransactionDate());
+
+        // Act
+        transactionImportService.importTransactions(OWNER_ID, rows.iterator());
+
+        // Assert
+        verify(dailyRollupService).add(DailyRollup.CARD, 1L, day, "CHARGE", 2, new BigDecimal("22.50"));
+        verify(dailyRollupService).add(DailyRollup.CARD, 1L, day, "CREDIT", 1, new BigDecimal("3.00"));
+        verify(dailyRollupService).add(DailyRollup.CARD, 2L, day, "CREDIT", 1, new BigDecimal("5.00"));
+        verifyNoMoreInteractions(dailyRollupService);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    public void testImportTransactions_MalformedRowIsRejected() {
+        // Arrange: the second row cannot be parsed, the iterator moves on to the third
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L));
+        approveAll();
+        Iterator<TransactionImportRow> rows = new Iterator<>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < 3;
+            }
+
+            @Override
+            public TransactionImportRow next() {
+                if (position++ == 1) {
+                    throw new IllegalArgumentException("Cannot deserialize value of type `java.math.BigDecimal`");
+                }
+                return row(1L, "10.00", "CHARGE");
+            }
+        };
+
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID, rows);
+
+        // Assert
+        assertEquals(2, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertFalse(result.getRows().get(1).isAccepted());
+        assertTrue(result.getRows().get(1).getReason().startsWith("Malformed row"));
+    }
+
+    @Test
+    public void testImportTransactions_UnreadableInputKeepsParsedRows() {
+        // Arrange
+        when(creditCardRepository.findOwnedIds(eq(OWNER_ID), anyCollection())).thenReturn(List.of(1L));
+        approveAll();
+        Iterator<TransactionImportRow> rows = new Iterator<>() {
+            private boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                if (first) {
+                    return true;
+                }
+                throw new IllegalStateException("Unexpected end-of-input");
+            }
+
+            @Override
+            public TransactionImportRow next() {
+                if (!first) {
+                    throw new NoSuchElementException();
+                }
+                first = false;
+                return row(1L, "10.00", "CHARGE");
+            }
+        };
+
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID, rows);
+
+        // Assert
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getRows().get(1).getReason().startsWith("Malformed input"));
+    }
+
+    @Test
+    public void testImportTransactions_Empty() {
+        // Act
+        TransactionImportResult result = transactionImportService.importTransactions(OWNER_ID, new ArrayList<TransactionImportRow>().iterator());
+
+        // Assert
+        assertEquals(0, result.getAccepted());
+        assertEquals(0, result.getRejected());
+        verifyNoInteractions(jdbcTemplate, creditCardRepository, dailyRollupService, authorizationLedger);
+    }
+}
@@ -0,0 +1,358 @@
+package org.example.service;
+
+import org.example.dto.SpendingSummary;
+import org.example.dto.TransactionCursor;
+import org.example.dto.TransactionDTO;
+import org.example.dto.TransactionPage;
+import org.example.model.CreditCard;
+import org.example.model.DailyRollup;
+import org.example.model.Transaction;
+import org.example.repository.CreditCardRepository;
+import org.example.repository.TransactionRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CreditCardRepository creditCardRepository;
+
+    @Mock
+    private CardAuthorizationLedger authorizationLedger;
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private OwnershipService ownershipService;
+
+    @Mock
+    private OwnerResponseCache ownerResponseCache;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    private final Long testCardId = 1L;
+
+    private List<TransactionDTO> createRows(int count) {
+        List<TransactionDTO> rows = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            rows.add(new TransactionDTO((long) (count - i), new Date(now - i * 1000L),
+                    new BigDecimal("10.00"), "Transaction " + i, "CHARGE"));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testGetTransactionPage_FirstPageWithMoreRows() {
+        // Arrange: the repository is asked for one extra row to detect the next page
+        List<TransactionDTO> rows = createRows(3);
+        when(transactionRepository.findPageByCreditCardId(testCardId, PageRequest.of(0, 3))).thenReturn(rows);
+
+        // Act
+        TransactionPage page = transactionService.getTransactionPageByCreditCardId(testCardId, 2, null);
+
+        // Assert
+        assertEquals(2, page.getTransactions().size());
+        assertNotNull(page.getNextCursor());
+        TransactionCursor next = TransactionCursor.decode(page.getNextCursor());
+        assertEquals(rows.get(1).getId(), next.getId());
+        assertEquals(rows.get(1).getDate(), next.getTransactionDate());
+    }
+
+    @Test
+    public void testGetTransactionPage_LastPage() {
+        // Arrange
+        List<TransactionDTO> rows = createRows(2);
+        TransactionCursor cursor = new TransactionCursor(new Date(), 10L);
+        when(transactionRepository.findPageByCreditCardIdAfter(
+                testCardId, cursor.getTransactionDate(), cursor.getId(), PageRequest.of(0, 3))).thenReturn(rows);
+
+        // Act
+        TransactionPage page = transactionService.getTransactionPageByCreditCardId(testCardId, 2, cursor);
+
+        // Assert
+        assertEquals(2, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+        verify(transactionRepository, never()).findPageByCreditCardId(any(), any());
+    }
+
+    @Test
+    public void testGetTransactionPage_LimitIsClamped() {
+        // Arrange
+        when(transactionRepository.findPageByCreditCardId(
+                testCardId, PageRequest.of(0, TransactionService.MAX_PAGE_SIZE + 1))).thenReturn(new ArrayList<>());
+
+        // Act
+        TransactionPage page = transactionService.getTransactionPageByCreditCardId(testCardId, 10_000, null);
+
+        // Assert
+        assertTrue(page.getTransactions().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testGetTransactionsByClientId_UsesSingleJoinedQuery() {
+        // Arrange
+        List<TransactionDTO> rows = createRows(4);
+        when(transactionRepository.findDTOsByOwnerId("user123")).thenReturn(rows);
+
+        // Act
+        List<TransactionDTO> result = transactionService.getTransactionsByClientId("user123");
+
+        // Assert
+        assertEquals(rows, result);
+        verifyNoInteractions(creditCardRepository);
+        verify(transactionRepository, never()).findByCreditCardId(any());
+    }
+
+    @Test
+    public void testStreamTransactionsByClientId() {
+        // Arrange
+        List<TransactionDTO> rows = createRows(3);
+        boolean[] closed = {false};
+        when(transactionRepository.streamDTOsByOwnerId("user123"))
+                .thenReturn(rows.stream().onClose(() -> closed[0] = true));
+        List<TransactionDTO> received = new ArrayList<>();
+
+        // Act
+        long count = transactionService.streamTransactionsByClientId("user123", received::add);
+
+        // Assert
+        assertEquals(3L, count);
+        assertEquals(rows, received);
+        assertTrue("the database cursor must be released", closed[0]);
+        verifyNoInteractions(creditCardRepository);
+    }
+
+    @Test
+    public void testStreamTransactionsByClientId_NoTransactions() {
+        // Arrange
+        when(transactionRepository.streamDTOsByOwnerId("nonexistent")).thenReturn(Stream.empty());
+
+        // Act
+        long count = transactionService.streamTransactionsByClientId("nonexistent", row -> fail("no rows expected"));
+
+        // Assert
+        assertEquals(0L, count);
+    }
+
+    @Test
+    public void testStreamTransactionDTOsByCreditCardIdAndDateRange() {
+        // Arrange
+        Date startDate = new Date(0);
+        Date endDate = new Date();
+        List<TransactionDTO> rows = createRows(2);
+        boolean[] closed = {false};
+        when(transactionRepository.streamDTOsByCreditCardIdAndTransactionDateBetween(1L, startDate, endDate))
+                .thenReturn(rows.stream().onClose(() -> closed[0] = true));
+        List<TransactionDTO> received = new ArrayList<>();
+
+        // Act
+        long count = transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(1L, startDate, endDate, received::add);
+
+        // Assert
+        assertEquals(2L, count);
+        assertEquals(rows, received);
+        assertTrue("the database cursor must be released", closed[0]);
+        verify(transactionRepository, never()).findDTOsByCreditCardIdAndTransactionDateBetween(any(), any(), any());
+    }
+
+    @Test
+    public void testStreamTransactionDTOsByCreditCardIdAndDateRange_ConsumerFails() {
+        // Arrange: the client went away while the export was being written
+        boolean[] closed = {false};
+        when(transactionRepository.streamDTOsByCreditCardIdAndTransactionDateBetween(eq(1L), any(), any()))
+                .thenReturn(createRows(2).stream().onClose(() -> closed[0] = true));
+
+        // Act
+        try {
+            transactionService.streamTransactionDTOsByCreditCardIdAndDateRange(1L, new Date(0), new Date(), row -> {
+                throw new UncheckedIOException(new IOException("Broken pipe"));
+            });
+            fail("the write failure must propagate");
+        } catch (UncheckedIOException expected) {
+            // Assert
+            assertTrue("the database cursor must be released", closed[0]);
+        }
+    }
+
+    @Test
+    public void testSaveTransaction_PersistsOnlyTheNewRow() {
+        // Arrange
+        CreditCard cardReference = new CreditCard();
+        cardReference.setId(testCardId);
+        Transaction transaction = new Transaction(new Date(), new BigDecimal("25.00"), "Coffee Shop", "CHARGE", null);
+        when(authorizationLedger.authorize(testCardId, "CHARGE", new BigDecimal("25.00")))
+                .thenReturn(CardAuthorizationLedger.Decision.APPROVED);
+        when(creditCardRepository.getReferenceById(testCardId)).thenReturn(cardReference);
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        // Act
+        Optional<Transaction> result = transactionService.saveTransaction(transaction, testCardId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertSame(cardReference, result.get().getCreditCard());
+        verify(transactionRepository).save(transaction);
+        verify(creditCardRepository, never()).findById(any());
+        verify(creditCardRepository, never()).save(any());
+        verify(authorizationLedger, never()).reverse(any(), any(), any());
+        verify(dailyRollupService).transactionAdded(DailyRollup.CARD, testCardId, transaction);
+    }
+
+    @Test
+    public void testSaveTransaction_CardNotFound() {
+        // Arrange
+        Transaction transaction = new Transaction(new Date(), new BigDecimal("25.00"), "Coffee Shop", "CHARGE", null);
+        when(authorizationLedger.authorize(999L, "CHARGE", new BigDecimal("25.00")))
+                .thenReturn(CardAuthorizationLedger.Decision.CARD_NOT_FOUND);
+
+        // Act
+        Optional<Transaction> result = transactionService.saveTransaction(transaction, 999L);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    public void testSaveTransaction_DeclinedChargeIsNotInserted() {
+        // Arrange
+        Transaction transaction = new Transaction(new Date(), new BigDecimal("9000.00"), "Television", "CHARGE", null);
+        when(authorizationLedger.authorize(testCardId, "CHARGE", new BigDecimal("9000.00")))
+                .thenReturn(CardAuthorizationLedger.Decision.DECLINED_INSUFFICIENT_CREDIT);
+
+        // Act
+        try {
+            transactionService.saveTransaction(transaction, testCardId);
+            fail("Expected the charge to be declined");
+        } catch (ChargeDeclinedException e) {
+            // Assert
+            assertEquals(CardAuthorizationLedger.Decision.DECLINED_INSUFFICIENT_CREDIT, e.getDecision());
+        }
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    public void testSaveTransaction_FailedInsertReversesAuthorization() {
+        // Arrange
+        Transaction transaction = new Transaction(new Date(), new BigDecimal("25.00"), "Coffee Shop", "CHARGE", null);
+        when(authorizationLedger.authorize(testCardId, "CHARGE", new BigDecimal("25.00")))
+                .thenReturn(CardAuthorizationLedger.Decision.APPROVED);
+        when(transactionRepository.save(transaction)).thenThrow(new IllegalStateException("insert failed"));
+
+        // Act
+        try {
+            transactionService.saveTransaction(transaction, testCardId);
+            fail("Expected the insert failure to propagate");
+        } catch (IllegalStateException e) {
+            // Assert
+            verify(authorizationLedger).reverse(testCardId, "CHARGE", new BigDecimal("25.00"));
+            verifyNoInteractions(dailyRollupService);
+        }
+    }
+
+    @Test
+    public void testDeleteTransaction_RemovesItFromTheRollup() {
+        // Arrange
+        CreditCard cardReference = new CreditCard();
+        cardReference.setId(testCardId);
+        Transaction transaction = new Transaction(new Date(), new BigDecimal("25.00"), "Coffee Shop", "CHARGE",
+                cardReference);
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(transaction));
+
+        // Act
+        boolean result = transactionService.deleteTransaction(5L);
+
+        // Assert
+        assertTrue(result);
+        verify(transactionRepository).delete(transaction);
+        verify(dailyRollupService).transactionRemoved(DailyRollup.CARD, testCardId, transaction);
+    }
+
+    @Test
+    public void testDeleteTransaction_GivesTheAmountBackAfterCommit() {
+        // Arrange
+        CreditCard cardReference = new CreditCard();
+        cardReference.setId(testCardId);
+        Transaction transaction = new Transaction(new Date(), new BigDecimal("25.00"), "Coffee Shop", "CHARGE",
+                cardReference);
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(transaction));
+        when(ownershipService.getCardOwner(testCardId)).thenReturn(Optional.of("user123"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            transactionService.deleteTransaction(5L);
+
+            // Assert: nothing is given back or published while the delete may still roll back
+            verifyNoInteractions(authorizationLedger, resourceVersions, ownerResponseCache);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(authorizationLedger).reverse(testCardId, "CHARGE", new BigDecimal("25.00"));
+            verify(resourceVersions).cardChanged(testCardId);
+            verify(ownerResponseCache).evictCards("user123");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testDeleteTransaction_NotExists() {
+        // Arrange
+        when(transactionRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = transactionService.deleteTransaction(999L);
+
+        // Assert
+        assertFalse(result);
+        verify(transactionRepository, never()).delete(any());
+        verifyNoInteractions(dailyRollupService, authorizationLedger);
+    }
+
+    @Test
+    public void testGetSpendingSummaryByCreditCardId_ReadsTheCardRollups() {
+        // Arrange
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        LocalDate end = LocalDate.of(2023, 3, 31);
+        List<SpendingSummary> summaries = List.of(
+                new SpendingSummary("2023-01", "CHARGE", 2, new BigDecimal("195.50")));
+        when(dailyRollupService.getSummary(DailyRollup.CARD, testCardId, start, end, SpendingSummary.Period.MONTH))
+                .thenReturn(summaries);
+
+        // Act
+        List<SpendingSummary> result = transactionService.getSpendingSummaryByCreditCardId(testCardId, start, end,
+                SpendingSummary.Period.MONTH);
+
+        // Assert
+        assertSame(summaries, result);
+        verifyNoInteractions(transactionRepository);
+    }
+}